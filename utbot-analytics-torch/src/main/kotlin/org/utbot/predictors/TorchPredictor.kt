@@ -4,6 +4,7 @@ import ai.djl.Model
 import ai.djl.inference.Predictor
 import ai.djl.ndarray.NDArray
 import ai.djl.ndarray.NDList
+import ai.djl.ndarray.types.Shape
 import ai.djl.translate.Translator
 import ai.djl.translate.TranslatorContext
 import org.utbot.analytics.MLPredictor
@@ -28,6 +29,35 @@ class TorchPredictor : MLPredictor, Closeable {
         override fun processOutput(ctx: TranslatorContext, list: NDList): Float = list[0].getFloat()
     })
 
+    /**
+     * Passes the whole batch to the model as one `states x features` array.
+     */
+    private val batchPredictor: Predictor<Array<DoubleArray>, DoubleArray> =
+        model.newPredictor(object : Translator<Array<DoubleArray>, DoubleArray> {
+            override fun processInput(ctx: TranslatorContext, input: Array<DoubleArray>): NDList {
+                val featuresCount = input[0].size
+                val data = FloatArray(input.size * featuresCount)
+                input.forEachIndexed { state, features ->
+                    require(features.size == featuresCount) { "States of the batch have different numbers of features" }
+                    features.forEachIndexed { i, feature -> data[state * featuresCount + i] = feature.toFloat() }
+                }
+                val array: NDArray = ctx.ndManager.create(data, Shape(input.size.toLong(), featuresCount.toLong()))
+                return NDList(array)
+            }
+
+            override fun processOutput(ctx: TranslatorContext, list: NDList): DoubleArray =
+                list[0].toFloatArray().let { rewards -> DoubleArray(rewards.size) { rewards[it].toDouble() } }
+        })
+
+    override fun predict(features: Array<DoubleArray>): DoubleArray {
+        if (features.isEmpty()) {
+            return DoubleArray(0)
+        }
+        val rewards = batchPredictor.predict(features)
+        check(rewards.size == features.size) { "Model returned ${rewards.size} rewards for ${features.size} states" }
+        return rewards
+    }
+
     override fun predict(input: List<Double>): Double {
         val reward: Float = predictor.predict(input.map { it.toFloat() }.toList())
         return reward.toDouble()
@@ -35,5 +65,6 @@ class TorchPredictor : MLPredictor, Closeable {
 
     override fun close() {
         predictor.close()
+        batchPredictor.close()
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.utbot.analytics.FeatureExtractor
 import org.utbot.engine.state.ExecutionState
 import org.utbot.engine.InterProceduralUnitGraph
 import org.utbot.engine.selectors.strategies.StatementsStatistics
+import org.utbot.engine.selectors.strategies.StrategyObserver
 import org.utbot.engine.selectors.strategies.SubpathStatistics
 
 /**
@@ -47,4 +48,12 @@ class FeatureExtractorImpl(private val graph: InterProceduralUnitGraph) : Featur
             }
         }
     }
+
+    override fun featureKeys(executionState: ExecutionState): Collection<Any> =
+        statementStatistics.statisticsKeys(executionState) + subpathStatistics.map { it.subpath(executionState) }
+
+    override fun subscribe(observer: StrategyObserver) {
+        statementStatistics.subscribe(observer)
+        subpathStatistics.forEach { it.subscribe(observer) }
+    }
 }
\ No newline at end of file
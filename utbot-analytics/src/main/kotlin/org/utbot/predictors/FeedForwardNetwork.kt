@@ -1,37 +1,104 @@
 package org.utbot.predictors
 
 import org.utbot.predictors.util.ModelBuildingException
-import smile.math.matrix.Matrix
 import kotlin.math.max
 
 private object ActivationFunctions {
     const val ReLU = "reLU"
 }
 
-data class FeedForwardNetwork(val operations: List<(DoubleArray) -> DoubleArray>)
+/**
+ * Linear layer `output = weights * input + bias`, followed by reLU if [reLU] is set.
+ * The [weights] are stored row by row.
+ */
+internal class DenseLayer(
+    val inputSize: Int,
+    val outputSize: Int,
+    private val weights: DoubleArray,
+    private val bias: DoubleArray,
+    private val reLU: Boolean
+) {
+    fun compute(input: DoubleArray, output: DoubleArray) {
+        for (row in 0 until outputSize) {
+            var sum = bias[row]
+            val offset = row * inputSize
+            for (column in 0 until inputSize) {
+                sum += weights[offset + column] * input[column]
+            }
+            output[row] = if (reLU) max(0.0, sum) else sum
+        }
+    }
+}
+
+/**
+ * Network of [layers] computed on primitive arrays.
+ *
+ * Every thread computes the layers in its own pair of buffers, which are allocated once,
+ * so the network can be shared by several traversals without allocations per prediction.
+ */
+class FeedForwardNetwork internal constructor(private val layers: List<DenseLayer>) {
+    val inputSize: Int = layers.first().inputSize
 
-private fun reLU(input: DoubleArray): DoubleArray {
-    return input.map { max(0.0, it) }.toDoubleArray()
+    private val bufferSize = layers.maxOf { max(it.inputSize, it.outputSize) }
+
+    private val buffers = ThreadLocal.withInitial { Array(2) { DoubleArray(bufferSize) } }
+
+    /**
+     * Returns the input buffer of the current thread, the caller fills its first [inputSize] elements
+     * and calls [compute].
+     */
+    fun inputBuffer(): DoubleArray = buffers.get()[0]
+
+    /**
+     * Computes the network on the [inputBuffer] of the current thread and returns its single output.
+     */
+    fun compute(): Double {
+        var (input, output) = buffers.get()
+        layers.forEach {
+            it.compute(input, output)
+            val swap = input
+            input = output
+            output = swap
+        }
+        return input[0]
+    }
 }
 
 internal fun buildModel(nnJson: NNJson): FeedForwardNetwork {
-    val weights = nnJson.linearLayers.map { Matrix(it) }
-    val biases = nnJson.biases.map { Matrix(it) }
-    val operations = mutableListOf<(DoubleArray) -> DoubleArray>()
+    val linearLayers = nnJson.linearLayers
+    if (linearLayers.isEmpty()) {
+        throw ModelBuildingException("There are no layers")
+    }
+    if (nnJson.biases.size != linearLayers.size || nnJson.activationLayers.size < linearLayers.lastIndex) {
+        throw ModelBuildingException("Numbers of layers, biases and activations do not match")
+    }
 
-    nnJson.linearLayers.indices.forEach { i ->
-        operations.add {
-            weights[i].mm(Matrix(it)).add(biases[i]).col(0)
+    val layers = linearLayers.indices.map { i ->
+        val weights = linearLayers[i]
+        val outputSize = weights.size
+        val inputSize = weights.firstOrNull()?.size ?: 0
+        if (weights.any { it.size != inputSize } || nnJson.biases[i].size != outputSize) {
+            throw ModelBuildingException("Wrong sizes of layer $i")
         }
-        if (i != nnJson.linearLayers.lastIndex) {
-            operations.add {
-                when (nnJson.activationLayers[i]) {
-                    ActivationFunctions.ReLU -> reLU(it)
-                    else -> throw ModelBuildingException("Unsupported activation")
-                }
+        if (i > 0 && inputSize != linearLayers[i - 1].size) {
+            throw ModelBuildingException("Layer $i does not match the previous one")
+        }
+
+        val reLU = if (i != linearLayers.lastIndex) {
+            when (nnJson.activationLayers[i]) {
+                ActivationFunctions.ReLU -> true
+                else -> throw ModelBuildingException("Unsupported activation")
             }
+        } else {
+            false
         }
+
+        DenseLayer(inputSize, outputSize, weights.flatMap { it.asIterable() }.toDoubleArray(), nnJson.biases[i], reLU)
+    }
+
+    if (layers.last().outputSize != 1) {
+        throw ModelBuildingException("Neural network have several outputs")
     }
 
-    return FeedForwardNetwork(operations)
-}
\ No newline at end of file
+    return FeedForwardNetwork(layers)
+}
@@ -5,7 +5,6 @@ import org.utbot.analytics.MLPredictor
 import org.utbot.framework.PathSelectorType
 import org.utbot.framework.UtSettings
 import org.utbot.predictors.util.PredictorLoadingException
-import smile.math.matrix.Matrix
 
 private const val DEFAULT_MODEL_PATH = "nn.json"
 
@@ -16,12 +15,15 @@ private fun getModel(path: String) = buildModel(loadModel(path))
 class MultilayerPerceptronPredictor(modelPath: String = DEFAULT_MODEL_PATH, scalerPath: String = DEFAULT_SCALER_PATH) :
     MLPredictor {
     private lateinit var nn: FeedForwardNetwork
-    private lateinit var scaler: StandardScaler
+    private lateinit var mean: DoubleArray
+    private lateinit var variance: DoubleArray
 
     init {
         try {
             nn = getModel(modelPath)
-            scaler = loadScaler(scalerPath)
+            val scaler = loadScaler(scalerPath)
+            mean = scaler.mean?.col(0) ?: DoubleArray(nn.inputSize)
+            variance = scaler.variance?.col(0) ?: DoubleArray(nn.inputSize) { 1.0 }
         } catch (e: PredictorLoadingException) {
             logger.info(e) {
                 "Error while initialization of MultilayerPerceptronPredictor. Changing pathSelectorType on INHERITORS_SELECTOR"
@@ -31,14 +33,30 @@ class MultilayerPerceptronPredictor(modelPath: String = DEFAULT_MODEL_PATH, scal
     }
 
     override fun predict(input: List<Double>): Double {
-        var inputArray = input.toDoubleArray()
-        inputArray = Matrix(inputArray).sub(scaler.mean).div(scaler.variance).col(0)
+        val inputBuffer = prepareInput(input.size)
+        input.forEachIndexed { i, feature -> inputBuffer[i] = scale(i, feature) }
+        return nn.compute()
+    }
 
-        nn.operations.forEach {
-            inputArray = it(inputArray)
+    /**
+     * Computes the network for every state of the batch in the same buffers without intermediate matrices.
+     */
+    override fun predict(features: Array<DoubleArray>): DoubleArray =
+        DoubleArray(features.size) { state ->
+            val stateFeatures = features[state]
+            val inputBuffer = prepareInput(stateFeatures.size)
+            for (i in stateFeatures.indices) {
+                inputBuffer[i] = scale(i, stateFeatures[i])
+            }
+            nn.compute()
         }
 
-        check(inputArray.size == 1) { "Neural network have several outputs" }
-        return inputArray[0]
+    private fun prepareInput(featuresCount: Int): DoubleArray {
+        check(featuresCount == nn.inputSize) {
+            "Neural network expects ${nn.inputSize} features, but got $featuresCount"
+        }
+        return nn.inputBuffer()
     }
+
+    private fun scale(i: Int, feature: Double): Double = (feature - mean[i]) / variance[i]
 }
@@ -1,5 +1,6 @@
 package org.utbot.predictors
 
+import org.junit.jupiter.api.Assertions.assertArrayEquals
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Disabled
 import org.junit.jupiter.api.Test
@@ -22,6 +23,19 @@ class MultilayerPerceptronPredictorTest {
         }
     }
 
+    @Test
+    fun batchTest() {
+        withModelPath("src/test/resources") {
+            val pred = MultilayerPerceptronPredictor()
+
+            val features = arrayOf(doubleArrayOf(0.0, 0.0), doubleArrayOf(1.0, -2.0), doubleArrayOf(2.0, 1.0))
+
+            val expected = features.map { pred.predict(it.asList()) }.toDoubleArray()
+            assertArrayEquals(doubleArrayOf(5.0, 5.0, 8.0), expected)
+            assertArrayEquals(expected, pred.predict(features))
+        }
+    }
+
     @Disabled("Just to see the performance of predictors")
     @Test
     fun performanceTest() {
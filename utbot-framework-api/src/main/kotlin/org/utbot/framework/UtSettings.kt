@@ -48,12 +48,43 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
      */
     var checkSolverTimeoutMillis: Int by getIntProperty(1000, 0, Int.MAX_VALUE)
 
+    /**
+     * Maximum number of z3 solvers that are reused with push/pop scopes by symbolic states of one method.
+     *
+     * More solvers keep more path prefixes asserted at the cost of memory.
+     */
+    var z3SolverPoolSize by getIntProperty(1, 1, 64)
+
+    /**
+     * Maximum number of UNSAT verdicts of SMT queries kept in memory by the solver query cache of a method.
+     *
+     * Verdicts are kept for the current method only, no more than 256 SAT verdicts are kept as they hold models.
+     * Zero disables the cache.
+     */
+    var smtQueryCacheSize by getIntProperty(0, 0, Int.MAX_VALUE)
+
+    /**
+     * Path to the file that keeps UNSAT verdicts of the solver query cache between methods and runs.
+     *
+     * Verdicts are keyed by a hash of z3 representation of queries. If empty, verdicts are kept in memory only.
+     * Used only if [smtQueryCacheSize] is positive.
+     */
+    var smtQueryCachePath by getStringProperty("")
+
     /**
      * Timeout for symbolic execution
      *
      */
     var utBotGenerationTimeoutInMillis by getLongProperty(60000L, 1000L, Int.MAX_VALUE.toLong())
 
+    /**
+     * Number of top-level methods that are traversed concurrently during test generation for a class.
+     *
+     * Each concurrently traversed method gets its own thread, solver context and instrumented process.
+     * Set it to 1 to traverse all the methods in one thread switching between them by time slots.
+     */
+    var parallelMethodsTraversalNumber by getIntProperty(1, 1, Int.MAX_VALUE)
+
     /**
      * Random seed in path selector.
      *
@@ -115,6 +146,13 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
      */
     var useExpressionSimplification by getBooleanProperty(true)
 
+    /**
+     * Give structurally equal UtExpressions built by the expression builders one canonical instance.
+     *
+     * Set it to false to disable interning of UtExpressions. It is read once, when the first expression is built.
+     */
+    var useExpressionInterning by getBooleanProperty(true)
+
     /**
      * Enable the Summarization module to generate summaries for methods under test.
      *
@@ -123,6 +161,13 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
      */
     var summaryGenerationType by getEnumProperty(SummariesGenerationType.FULL)
 
+    /**
+     * Number of test sets that are summarized concurrently.
+     *
+     * Parsed source files are shared between all the test sets in any case.
+     */
+    var summarizationThreadsCount by getIntProperty(1, 1, Int.MAX_VALUE)
+
     /**
      * If True test comments will be generated.
      */
@@ -236,6 +281,12 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
      */
     var fuzzingTimeoutInMillis: Long by getLongProperty(3_000L, 0, Long.MAX_VALUE)
 
+    /**
+     * Maximum number of fuzzed values executed at once while the fuzzer generates the next ones.
+     * The instrumented process runs them one by one, so values are generated during the execution of previous ones.
+     */
+    var fuzzingMaxExecutionsInFlight: Int by getIntProperty(1, 1, 64)
+
     /**
      * Find implementations of interfaces and abstract classes to fuzz.
      */
@@ -275,6 +326,14 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
         DEFAULT_EXECUTION_TIMEOUT_IN_INSTRUMENTED_PROCESS_MS
     )
 
+    /**
+     * Maximum number of instrumented processes started by one concrete executor.
+     *
+     * Concrete executions are dispatched to the least loaded process, and a new process is started
+     * only if all the running ones are busy. Debugging the instrumented process always uses one process.
+     */
+    var instrumentedProcessesPerConcreteExecutor by getIntProperty(1, 1, Int.MAX_VALUE)
+
     /**
      * Enable taint analysis or not.
      */
@@ -407,6 +466,19 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
      */
     var enableUnsatCoreCalculationForHardConstraints by getBooleanProperty(false)
 
+    /**
+     * Calculate unsat cores of unsatisfiable hard constraints and reuse them to prove unsatisfiability
+     * of other paths without the solver: any set of constraints containing a known core is unsatisfiable.
+     *
+     * Calculation of a core requires an additional solver call for every unsatisfiable path condition.
+     */
+    var useUnsatCoreSubsumption by getBooleanProperty(false)
+
+    /**
+     * Maximum number of unsat cores kept when [useUnsatCoreSubsumption] is enabled.
+     */
+    var unsatCoreIndexSize by getIntProperty(10000, 1, Int.MAX_VALUE)
+
     /**
      * Enable it to process states with unknown solver status
      * from the queue to concrete execution.
@@ -486,11 +558,33 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
      */
     var useBytecodeTransformation by getBooleanProperty(false)
 
+    /**
+     * Collect per-instruction hit counts in the instrumented process instead of the ordered trace.
+     *
+     * If true, instrumented code updates a hit counter of every executed instruction inline instead of calling
+     * the trace storage, and fuzzing considers executions covering the same instructions with close numbers of hits
+     * (see [org.utbot.framework.plugin.api.CoverageHitCounts]) to be equivalent. Covered instructions are reported
+     * once each, in the order of their classes and bytecode with the last executed instruction at the end,
+     * so SARIF code flows that follow the order of execution are less precise.
+     *
+     * If false, the ordered trace of executed instructions is collected.
+     */
+    var useCoverageHitCountInstrumentation by getBooleanProperty(false)
+
     /**
      * Limit for number of generated tests per method (in each region)
      */
     var maxTestsPerMethodInRegion by getIntProperty(50, 1, Integer.MAX_VALUE)
 
+    /**
+     * Number of test sets of a test class whose test methods are constructed concurrently during code generation.
+     *
+     * Each concurrently processed test set gets its own copy of the code generation context, and the results
+     * are merged in the order of test sets, so the generated code does not depend on this number.
+     * Set it to 1 to construct all the test methods in one thread.
+     */
+    var parallelCodegenTestSetsNumber by getIntProperty(1, 1, Int.MAX_VALUE)
+
     /**
      * Max file length for generated test file
      */
@@ -527,6 +621,22 @@ object UtSettings : AbstractSettings(logger, defaultKeyForSettingsPath, defaultS
      */
     var removeUtBotClassesFromHierarchy by getBooleanProperty(true)
 
+    /**
+     * If true, Soot is not reinitialized when a reload is forced but the analysed classes are not changed
+     * since the previous initialization: the same build directories, classpath and JDK are used,
+     * and class files in directories and jar files have the same content.
+     */
+    var reuseSootSceneForUnchangedClasspath by getBooleanProperty(true)
+
+    /**
+     * If true, Soot resolves only hierarchy of the analysed classes and the classes on the classpath during
+     * initialization, Jimple bodies are built when a method is entered for the first time.
+     *
+     * It makes initialization faster and takes less memory on big classpaths. JDK classes that are not referenced
+     * by the hierarchy of the resolved classes are met later, so fewer of them can be considered as inheritors.
+     */
+    var lazySootBodyResolution by getBooleanProperty(false)
+
     /**
      * Use this option to enable calculation and logging of MD5 for dropped states by statistics.
      * Example of such logging:
@@ -19,18 +19,101 @@ open class Instruction(
     val className: String get() = internalName.replace('/', '.')
 }
 
+/**
+ * List of covered instructions packed into arrays to reduce allocations when coverage is collected and transferred
+ * between processes.
+ *
+ * Class names and method signatures are stored once per method in [methodOwners] and [methodSignatures],
+ * [Instruction] objects are created only when they are accessed.
+ *
+ * @param ids ids of the instructions.
+ * @param lineNumbers line numbers of the instructions.
+ * @param methodIndices indices of methods of the instructions in [methodOwners] and [methodSignatures].
+ */
+class PackedInstructions(
+    val ids: LongArray,
+    private val lineNumbers: IntArray,
+    private val methodIndices: IntArray,
+    private val methodOwners: Array<String>,
+    private val methodSignatures: Array<String>,
+) : AbstractList<Instruction>(), RandomAccess {
+
+    // decoded instructions are cached to return the same object for the same index
+    @Transient
+    private var decoded: Array<Instruction?>? = null
+
+    override val size: Int
+        get() = ids.size
+
+    override fun get(index: Int): Instruction {
+        val cache = decoded ?: arrayOfNulls<Instruction>(size).also { decoded = it }
+        return cache[index] ?: methodIndices[index].let { method ->
+            Instruction(methodOwners[method], methodSignatures[method], lineNumbers[index], ids[index])
+        }.also { cache[index] = it }
+    }
+}
+
+/**
+ * Returns ids of the covered instructions without decoding of [PackedInstructions].
+ */
+val Coverage.coveredInstructionIds: LongArray
+    get() = (coveredInstructions as? PackedInstructions)?.ids ?: LongArray(coveredInstructions.size) { coveredInstructions[it].id }
+
 /**
  * Represents coverage information. Some other
  *
  * Some other useful information (e.g., covered branches, etc.) may be added in the future.
  *
- * @param coveredInstructions a list of the covered instructions in the order they are visited.
+ * @param coveredInstructions a list of the covered instructions in the order they are visited,
+ * or each of them once if only [hitCounts] are collected.
  * @param instructionsCount a number of all instructions in the current class.
  * @param missedInstructions a list of the missed instructions.
+ * @param hitCounts bucketed numbers of hits of the covered instructions, if they are collected.
  *
  */
 data class Coverage(
     val coveredInstructions: List<Instruction> = emptyList(),
     val instructionsCount: Long? = null,
     val missedInstructions: List<Instruction> = emptyList(),
-)
\ No newline at end of file
+    val hitCounts: CoverageHitCounts? = null,
+)
+
+/**
+ * Represents numbers of hits of the covered instructions collected by per-instruction counters instead of the trace.
+ *
+ * Unlike the trace, the counters are not limited by the size of the trace array.
+ * Executions with equal hit counts cover the same instructions with close numbers of loop iterations.
+ *
+ * @param instructionIds ids of the covered instructions, each of them once.
+ * @param buckets bucketed numbers of hits of [instructionIds] in the same order, see [bucketOf].
+ */
+class CoverageHitCounts(
+    val instructionIds: LongArray,
+    val buckets: ByteArray,
+) {
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is CoverageHitCounts) return false
+        return instructionIds.contentEquals(other.instructionIds) && buckets.contentEquals(other.buckets)
+    }
+
+    override fun hashCode(): Int {
+        return 31 * instructionIds.contentHashCode() + buckets.contentHashCode()
+    }
+
+    companion object {
+        /**
+         * Groups numbers of hits into 1, 2, 3, 4-7, 8-15, 16-31, 32-127 and 128+ buckets,
+         * so that small changes of loop iteration counts are not distinguished.
+         */
+        fun bucketOf(hits: Int): Byte = when {
+            hits <= 0 -> 0
+            hits <= 3 -> hits
+            hits <= 7 -> 4
+            hits <= 15 -> 5
+            hits <= 31 -> 6
+            hits <= 127 -> 7
+            else -> 8
+        }.toByte()
+    }
+}
\ No newline at end of file
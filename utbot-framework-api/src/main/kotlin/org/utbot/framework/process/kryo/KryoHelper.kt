@@ -6,10 +6,12 @@ import com.esotericsoftware.kryo.kryo5.io.Input
 import com.esotericsoftware.kryo.kryo5.io.Output
 import com.esotericsoftware.kryo.kryo5.objenesis.instantiator.ObjectInstantiator
 import com.esotericsoftware.kryo.kryo5.objenesis.strategy.StdInstantiatorStrategy
+import com.esotericsoftware.kryo.kryo5.serializers.FieldSerializer
 import com.esotericsoftware.kryo.kryo5.serializers.JavaSerializer
 import com.esotericsoftware.kryo.kryo5.util.DefaultInstantiatorStrategy
 import com.jetbrains.rd.util.lifetime.Lifetime
 import com.jetbrains.rd.util.lifetime.throwIfNotAlive
+import org.utbot.framework.plugin.api.PackedInstructions
 import java.io.ByteArrayOutputStream
 import java.util.concurrent.locks.ReentrantLock
 import kotlin.concurrent.withLock
@@ -112,6 +114,9 @@ internal class TunedKryo : Kryo() {
 
         addDefaultSerializer(java.lang.StackTraceElement::class.java, JavaSerializer())
 
+        // otherwise, it is serialized element by element as any other collection
+        addDefaultSerializer(PackedInstructions::class.java, FieldSerializer::class.java)
+
         val factory = object : SerializerFactory.FieldSerializerFactory() {}
         factory.config.ignoreSyntheticFields = true
         factory.config.serializeTransient = false
@@ -5,7 +5,11 @@ import org.utbot.framework.plugin.api.classId
 import org.utbot.framework.plugin.api.id
 import org.utbot.framework.plugin.api.util.constructorId
 import org.utbot.framework.plugin.api.util.methodId
+import soot.Scene
+import soot.SootClass
 import soot.SootMethod
+import soot.jimple.JimpleBody
+import soot.options.Options
 
 /**
  * Gets method or constructor id of SootMethod.
@@ -23,3 +27,47 @@ val SootMethod.executableId: ExecutableId
             arguments = parameterTypes.map { it.classId }.toTypedArray()
         )
     }
+
+/**
+ * Guards lazy modifications of the Soot [Scene]: resolution of classes and bodies, building of the active hierarchy
+ * and creation of synthetic methods. Soot is not thread-safe, and several methods can be traversed concurrently.
+ *
+ * @see org.utbot.framework.UtSettings.parallelMethodsTraversalNumber
+ */
+val sootLock = Any()
+
+/**
+ * Raises resolving level of the class.
+ *
+ * If Soot is initialized without the full resolver, classes are not resolved up front,
+ * so the class and the classes it depends on are resolved here.
+ *
+ * @see org.utbot.framework.UtSettings.lazySootBodyResolution
+ */
+fun SootClass.adjustLevel(level: Int) = synchronized(sootLock) {
+    if (resolvingLevel() < level) {
+        if (Options.v().full_resolver()) {
+            setResolvingLevel(level)
+        } else {
+            Scene.v().forceResolve(name, level)
+        }
+    }
+}
+
+/**
+ * Retrieves Jimple body for method.
+ *
+ * Note: we cannot use [SootMethod.activeBody], it returns null for not loaded method.
+ * To handle that, we use [SootMethod.retrieveActiveBody] which loads active body if it's not set.
+ * [SootMethod.retrieveActiveBody] requires BODIES resolving level for class.
+ */
+fun SootMethod.jimpleBody(): JimpleBody = synchronized(sootLock) {
+    declaringClass.adjustLevel(SootClass.BODIES)
+    retrieveActiveBody() as JimpleBody
+}
+
+/**
+ * Checks safely if the method has body.
+ */
+fun SootMethod.canRetrieveBody() =
+    runCatching { jimpleBody() }.isSuccess
@@ -0,0 +1,84 @@
+package org.utbot.engine.pc
+
+import com.microsoft.z3.Context
+import com.microsoft.z3.Status
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.mockito.Mockito
+import org.utbot.engine.Gt
+import org.utbot.engine.Lt
+import org.utbot.engine.toIntValue
+import org.utbot.engine.types.TypeRegistry
+import org.utbot.engine.z3.Z3Initializer
+import java.nio.file.Path
+
+class SmtQueryCacheTest {
+    private val contexts = mutableListOf<Context>()
+
+    @AfterEach
+    fun closeContexts() {
+        contexts.forEach { it.close() }
+        contexts.clear()
+    }
+
+    /**
+     * Translator of a separate symbolic run, every run has its own context and type registry.
+     * The constraints below have no types, so the registry is not used.
+     */
+    private fun newRunTranslator(): Z3TranslatorVisitor =
+        Z3TranslatorVisitor(Context().also { contexts += it }, Mockito.mock(TypeRegistry::class.java))
+
+    private val x = mkBVConst("x", UtIntSort).toIntValue()
+
+    private val unsat = setOf(Lt(x, 0), Gt(x, 0))
+
+    @Test
+    fun testUnsatIsFound() {
+        val cache = SmtQueryCache(size = 10, newRunTranslator())
+        assertNull(cache.find(unsat, withSat = true))
+        cache.putUnsat(unsat)
+        assertEquals(UtSolverStatusKind.UNSAT, cache.find(unsat, withSat = true)?.statusKind)
+        assertEquals(1, cache.hits)
+        assertEquals(1, cache.misses)
+    }
+
+    @Test
+    fun testUnsatIsNotSharedBetweenMethods() {
+        val first = SmtQueryCache(size = 10, newRunTranslator())
+        val second = SmtQueryCache(size = 10, newRunTranslator())
+        first.putUnsat(unsat)
+        assertNull(second.find(unsat, withSat = true))
+    }
+
+    @Test
+    fun testPersistentUnsatIsSharedBetweenMethods(@TempDir dir: Path) {
+        val path = dir.resolve("smt-cache").toString()
+        val first = SmtQueryCache(size = 10, newRunTranslator(), PersistentUnsatStore.of(path))
+        val second = SmtQueryCache(size = 10, newRunTranslator(), PersistentUnsatStore.of(path))
+        first.putUnsat(unsat)
+        assertEquals(UtSolverStatusKind.UNSAT, second.find(unsat, withSat = true)?.statusKind)
+        assertNull(second.find(unsat - Gt(x, 0), withSat = true))
+    }
+
+    @Test
+    fun testSatStatusesAreBounded() {
+        val translator = newRunTranslator()
+        val cache = SmtQueryCache(size = 10 * SmtQueryCache.MAX_SAT_STATUSES, translator)
+        val z3Solver = contexts.single().mkSolver()
+        assertEquals(Status.SATISFIABLE, z3Solver.check())
+        val status = UtSolverStatusSAT(translator, z3Solver)
+
+        val queries = (0..SmtQueryCache.MAX_SAT_STATUSES).map { setOf(Lt(x, it)) }
+        queries.forEach { cache.putSat(it, status) }
+
+        assertNull(cache.find(queries.first(), withSat = true))
+        assertSame(status, cache.find(queries.last(), withSat = true))
+        assertNull(cache.find(queries.last(), withSat = false))
+    }
+
+    companion object : Z3Initializer()
+}
@@ -0,0 +1,68 @@
+package org.utbot.engine.pc
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class UnsatCoreIndexTest {
+    private val a = mkBoolConst("a")
+    private val b = mkBoolConst("b")
+    private val c = mkBoolConst("c")
+    private val d = mkBoolConst("d")
+
+    @Test
+    fun testSupersetOfCoreIsSubsumed() {
+        val index = UnsatCoreIndex(size = 10)
+        index.add(setOf(a, b))
+
+        assertTrue(index.subsumes(setOf(a, b)))
+        assertTrue(index.subsumes(setOf(a, b, c)))
+        assertFalse(index.subsumes(setOf(a, c)))
+        assertFalse(index.subsumes(setOf(b)))
+        assertEquals(2, index.hits)
+    }
+
+    @Test
+    fun testOnlyCandidatesAreLookedUp() {
+        val index = UnsatCoreIndex(size = 10)
+        index.add(setOf(a, b))
+
+        assertTrue(index.subsumes(setOf(a, b, c), candidates = listOf(b)))
+        // a core without the candidates is not checked, as it would be found by the previous check
+        assertFalse(index.subsumes(setOf(a, b, c), candidates = listOf(c)))
+    }
+
+    @Test
+    fun testOldestCoresAreEvicted() {
+        val index = UnsatCoreIndex(size = 2)
+        index.add(setOf(a, b))
+        index.add(setOf(c))
+        index.add(setOf(d))
+
+        assertFalse(index.subsumes(setOf(a, b)))
+        assertTrue(index.subsumes(setOf(c)))
+        assertTrue(index.subsumes(setOf(d)))
+    }
+
+    @Test
+    fun testSubsumedCoresAreNotAdded() {
+        val index = UnsatCoreIndex(size = 2)
+        index.add(setOf(a))
+        index.add(setOf(a, b))
+        index.add(setOf(c))
+
+        // the second core is not kept, so the first one is not evicted by the third one
+        assertTrue(index.subsumes(setOf(a, d)))
+        assertTrue(index.subsumes(setOf(c)))
+    }
+
+    @Test
+    fun testIndexesAreNotShared() {
+        val first = UnsatCoreIndex(size = 10)
+        val second = UnsatCoreIndex(size = 10)
+        first.add(setOf(a, b))
+
+        assertFalse(second.subsumes(setOf(a, b)))
+    }
+}
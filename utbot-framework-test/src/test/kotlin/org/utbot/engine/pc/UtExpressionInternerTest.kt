@@ -0,0 +1,58 @@
+package org.utbot.engine.pc
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.utbot.engine.Add
+import org.utbot.engine.Lt
+import org.utbot.engine.toIntValue
+
+class UtExpressionInternerTest {
+    private fun buildExpression(): UtBoolExpression {
+        val array = mkArrayConst("arr", UtIntSort, UtIntSort)
+        val x = mkBVConst("x", UtIntSort).toIntValue()
+        val sum = Add(x, mkInt(1).toIntValue())
+        val select = array.store(mkInt(0), mkInt(42)).select(sum)
+        return mkAnd(mkEq(select, mkInt(42)), mkNot(Lt(x, 10)))
+    }
+
+    @Test
+    fun testEqualExpressionsAreSame() {
+        assertSame(buildExpression(), buildExpression())
+        assertSame(UtAddrExpression(5), UtAddrExpression(mkInt(5)))
+    }
+
+    @Test
+    fun testInterningDisabled() {
+        val interner = UtExpressionInterner(enabled = false)
+        val first = UtEqExpression(UtBvConst("x", UtIntSort), UtBvLiteral(1, UtIntSort))
+        val second = UtEqExpression(UtBvConst("x", UtIntSort), UtBvLiteral(1, UtIntSort))
+        assertSame(first, interner.intern(first))
+        assertSame(second, interner.intern(second))
+        assertEquals(first, second)
+    }
+
+    @Test
+    fun testSortsAreKept() {
+        val char = mkChar(1)
+        val short = UtBvLiteral(1, UtShortSort).interned()
+        assertEquals(UtCharSort, char.sort)
+        assertEquals(UtShortSort, short.sort)
+    }
+
+    @Test
+    fun testNestedSortsAreKept() {
+        val interner = UtExpressionInterner(enabled = true)
+        val charEq = interner.intern(UtEqExpression(UtBvConst("c", UtCharSort), UtBvLiteral(1, UtCharSort)))
+        val shortEq = interner.intern(UtEqExpression(UtBvConst("c", UtShortSort), UtBvLiteral(1, UtShortSort)))
+
+        assertEquals(charEq, shortEq)
+        assertNotSame(charEq, shortEq)
+        assertEquals(UtShortSort, shortEq.left.sort)
+        assertEquals(UtShortSort, shortEq.right.sort)
+
+        val charEqAgain = interner.intern(UtEqExpression(UtBvConst("c", UtCharSort), UtBvLiteral(1, UtCharSort)))
+        assertSame(charEq, charEqAgain)
+    }
+}
@@ -0,0 +1,98 @@
+package org.utbot.engine.pc
+
+import com.microsoft.z3.BoolExpr
+import com.microsoft.z3.Context
+import com.microsoft.z3.Status
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito
+import org.utbot.engine.Gt
+import org.utbot.engine.Lt
+import org.utbot.engine.toIntValue
+import org.utbot.engine.types.TypeRegistry
+import org.utbot.engine.z3.Z3Initializer
+
+class Z3SolverPoolTest {
+    private val context = Context()
+
+    // the constraints below have no types, so the registry is not used
+    private val pool = Z3SolverPool(context, context.mkParams(), Mockito.mock(TypeRegistry::class.java), capacity = 2)
+
+    @AfterEach
+    fun closeContext() {
+        pool.close()
+        context.close()
+    }
+
+    private val x = mkBVConst("x", UtIntSort).toIntValue()
+    private val y = mkBVConst("y", UtIntSort).toIntValue()
+
+    private fun checkInPool(hard: Set<UtBoolExpression>): Status =
+        pool.select(hard).apply { assertNotAsserted() }.solver.check()
+
+    private fun checkInFreshSolver(hard: Set<UtBoolExpression>): Status =
+        context.mkSolver().apply { hard.forEach { add(pool.translator.translate(it) as BoolExpr) } }.check()
+
+    @Test
+    fun testSolverWithLongestPrefixIsSelected() {
+        val positive = pool.select(setOf(Gt(x, 0))).apply { assertNotAsserted() }
+        val negative = pool.select(setOf(Lt(y, 0))).apply { assertNotAsserted() }
+
+        val deeper = pool.select(setOf(Gt(x, 0), Lt(x, 10)))
+        assertSame(positive, deeper)
+        assertEquals(listOf(Lt(x, 10)), deeper.notAsserted)
+        deeper.assertNotAsserted()
+
+        val other = pool.select(setOf(Lt(y, 0), Gt(y, -10)))
+        assertSame(negative, other)
+        assertEquals(listOf(Gt(y, -10)), other.notAsserted)
+    }
+
+    @Test
+    fun testVerdictsAreSameAsInFreshSolver() {
+        val queries = listOf(
+            setOf(Gt(x, 0)),
+            setOf(Gt(x, 0), Lt(x, 10)),
+            setOf(Gt(x, 0), Lt(x, 10), Gt(x, 20)),
+            // popped to the first scope, the conflicting constraint must not stay asserted
+            setOf(Gt(x, 0), Lt(x, 10), Gt(x, 5)),
+            setOf(Gt(x, 0), Lt(x, -5)),
+            // no common scopes, everything is popped
+            setOf(Lt(x, 0)),
+            setOf(Lt(x, 0), Gt(y, 0), Lt(y, 0)),
+            setOf(Gt(y, 0)),
+            setOf(Gt(x, 0), Lt(x, 10), Gt(y, 0)),
+        )
+
+        queries.forEach { hard ->
+            assertEquals(checkInFreshSolver(hard), checkInPool(hard)) { "$hard" }
+        }
+        assertEquals(
+            listOf(
+                Status.SATISFIABLE, Status.SATISFIABLE, Status.UNSATISFIABLE, Status.SATISFIABLE, Status.UNSATISFIABLE,
+                Status.SATISFIABLE, Status.UNSATISFIABLE, Status.SATISFIABLE, Status.SATISFIABLE,
+            ),
+            queries.map { checkInFreshSolver(it) }
+        )
+    }
+
+    @Test
+    fun testSingleSolverGetsSameVerdicts() {
+        val single = Z3SolverPool(context, context.mkParams(), Mockito.mock(TypeRegistry::class.java), capacity = 1)
+        val queries = listOf(
+            setOf(Gt(x, 0), Lt(x, 10)),
+            setOf(Lt(x, 0)),
+            setOf(Lt(x, 0), Gt(x, 10)),
+            setOf(Gt(x, 0), Lt(x, 10), Gt(x, 5)),
+        )
+
+        queries.forEach { hard ->
+            val status = single.select(hard).apply { assertNotAsserted() }.solver.check()
+            assertEquals(checkInFreshSolver(hard), status) { "$hard" }
+        }
+    }
+
+    companion object : Z3Initializer()
+}
@@ -0,0 +1,190 @@
+package org.utbot.engine.selectors.nurs
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito
+import org.utbot.engine.selectors.strategies.ChoosingStrategy
+import org.utbot.engine.selectors.strategies.StoppingStrategy
+import org.utbot.engine.state.ExecutionState
+import kotlin.random.Random
+
+class GreedySearchTest {
+    /**
+     * Weights and their keys are set by the test, a state without keys has a weight recalculated on every selection.
+     */
+    private class TestGreedySearch(seed: Int = 42) : GreedySearch(
+        Mockito.mock(ChoosingStrategy::class.java),
+        Mockito.mock(StoppingStrategy::class.java),
+        seed
+    ) {
+        val weights = mutableMapOf<ExecutionState, Double>()
+        val keys = mutableMapOf<ExecutionState, Collection<Any>?>()
+
+        override val ExecutionState.weight: Double
+            get() = weights.getValue(this)
+
+        override val ExecutionState.weightKeys: Collection<Any>?
+            get() = keys.getValue(this)
+
+        fun add(state: ExecutionState, weight: Double, weightKeys: Collection<Any>? = listOf(state)) {
+            weights[state] = weight
+            keys[state] = weightKeys
+            offerImpl(state)
+        }
+
+        fun best(): ExecutionState? = peekImpl()
+
+        fun pollBest(): ExecutionState? = pollImpl()
+    }
+
+    private fun newState(): ExecutionState = Mockito.mock(ExecutionState::class.java)
+
+    /**
+     * Selection of GreedySearch before the indexed heap: all the states are weighed on every selection,
+     * and the state is taken randomly among the ones with the maximum weight.
+     */
+    private fun previousCandidates(weights: Map<ExecutionState, Double>): Set<ExecutionState> {
+        val bestWeight = weights.values.maxOrNull() ?: return emptySet()
+        return weights.filterValues { it == bestWeight }.keys
+    }
+
+    @Test
+    fun testDecreasedAndIncreasedWeightsAreReordered() {
+        val search = TestGreedySearch()
+        val (a, b, c) = List(3) { newState() }
+        search.add(a, 5.0)
+        search.add(b, 3.0)
+        search.add(c, 1.0)
+        assertSame(a, search.best())
+
+        search.weights[a] = 0.0
+        // the weight is cached until its key is updated
+        assertSame(a, search.best())
+        search.update(a)
+        assertSame(b, search.best())
+
+        search.weights[c] = 10.0
+        search.update(c)
+        assertSame(c, search.best())
+
+        search.weights[c] = -1.0
+        search.weights[b] = -2.0
+        search.update()
+        assertEquals(listOf(a, c, b), List(3) { search.pollBest() })
+        assertNull(search.best())
+    }
+
+    @Test
+    fun testSharedKeyInvalidatesAllItsStates() {
+        val search = TestGreedySearch()
+        val (a, b, c) = List(3) { newState() }
+        search.add(a, 3.0, listOf("shared"))
+        search.add(b, 2.0, listOf("shared", b))
+        search.add(c, 1.0)
+        assertSame(a, search.best())
+
+        search.weights[a] = 0.0
+        search.weights[b] = 0.5
+        search.update("shared")
+        assertSame(c, search.best())
+        search.remove(c)
+        assertSame(b, search.best())
+    }
+
+    @Test
+    fun testArbitraryRemovalKeepsHeapOrder() {
+        val random = Random(0)
+        val search = TestGreedySearch()
+        val states = List(200) { newState() }
+        // distinct weights, so the best state is unique
+        val weights = states.zip((1..states.size).shuffled(random).map { it.toDouble() }).toMap().toMutableMap()
+        states.forEach { search.add(it, weights.getValue(it)) }
+
+        repeat(150) { step ->
+            // states are removed both before their first selection and from any position of the heap
+            if (step % 3 == 0) {
+                assertSame(weights.maxByOrNull { it.value }!!.key, search.best())
+            }
+            val removed = weights.keys.random(random)
+            assertTrue(search.remove(removed))
+            weights.remove(removed)
+            if (step % 5 == 0) {
+                val changed = weights.keys.random(random)
+                weights[changed] = -weights.getValue(changed)
+                search.weights[changed] = weights.getValue(changed)
+                search.update(changed)
+            }
+        }
+
+        while (weights.isNotEmpty()) {
+            val best = search.pollBest()!!
+            assertEquals(weights.values.maxOrNull(), weights.remove(best))
+        }
+        assertNull(search.pollBest())
+    }
+
+    @Test
+    fun testRemovedStateIsNotSelectedAfterUpdate() {
+        val search = TestGreedySearch()
+        val (a, b) = List(2) { newState() }
+        search.add(a, 2.0)
+        search.add(b, 1.0)
+        search.best()
+
+        search.weights[a] = 3.0
+        search.update(a)
+        search.remove(a)
+        assertSame(b, search.best())
+        // the weight of the removed state is not recalculated
+        search.weights.remove(a)
+        search.update()
+        assertSame(b, search.best())
+    }
+
+    @Test
+    fun testTiesAreSelectedAmongPreviousCandidates() {
+        val random = Random(1)
+        val search = TestGreedySearch()
+        val weights = List(100) { newState() }.associateWithTo(mutableMapOf()) { random.nextInt(5).toDouble() }
+        weights.forEach { (state, weight) -> search.add(state, weight) }
+
+        while (weights.isNotEmpty()) {
+            val candidates = previousCandidates(weights)
+            val best = search.pollBest()!!
+            assertTrue(best in candidates)
+            weights.remove(best)
+        }
+    }
+
+    @Test
+    fun testTiesAreBrokenRandomlyAndReproducibly() {
+        val states = List(20) { newState() }
+        fun selectionOrder(seed: Int): List<ExecutionState> {
+            val search = TestGreedySearch(seed)
+            states.forEach { search.add(it, 1.0) }
+            return List(states.size) { search.pollBest()!! }
+        }
+
+        assertEquals(selectionOrder(seed = 42), selectionOrder(seed = 42))
+        assertEquals(states.toSet(), selectionOrder(seed = 42).toSet())
+        // like the random choice among the candidates before, the first state is not always the same
+        assertTrue((0 until 10).map { selectionOrder(it).first() }.toSet().size > 1)
+    }
+
+    @Test
+    fun testVolatileWeightsAreRecalculatedOnEverySelection() {
+        val search = TestGreedySearch()
+        val (a, b) = List(2) { newState() }
+        search.add(a, 2.0)
+        search.add(b, 1.0, weightKeys = null)
+        assertSame(a, search.best())
+
+        search.weights[b] = 3.0
+        assertSame(b, search.best())
+        search.remove(b)
+        assertSame(a, search.best())
+    }
+}
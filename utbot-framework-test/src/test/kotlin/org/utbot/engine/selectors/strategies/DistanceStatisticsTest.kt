@@ -0,0 +1,227 @@
+package org.utbot.engine.selectors.strategies
+
+import kotlinx.collections.immutable.persistentListOf
+import kotlinx.collections.immutable.toPersistentSet
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito
+import org.utbot.engine.InterProceduralUnitGraph
+import org.utbot.engine.head
+import org.utbot.engine.isReturn
+import org.utbot.engine.state.CALL_DECISION_NUM
+import org.utbot.engine.state.Edge
+import org.utbot.engine.state.ExecutionStackElement
+import org.utbot.engine.state.ExecutionState
+import org.utbot.engine.stmts
+import org.utbot.examples.invokes.StaticInvokeExample
+import org.utbot.framework.plugin.services.JdkInfoDefaultProvider
+import org.utbot.framework.util.SootUtils
+import org.utbot.framework.util.jimpleBody
+import soot.Scene
+import soot.SootMethod
+import soot.jimple.Stmt
+import soot.toolkits.graph.ExceptionalUnitGraph
+
+class DistanceStatisticsTest {
+    private lateinit var caller: SootMethod
+    private lateinit var callee: SootMethod
+    private lateinit var callerGraph: ExceptionalUnitGraph
+    private lateinit var calleeGraph: ExceptionalUnitGraph
+    private lateinit var callStmt: Stmt
+
+    @BeforeEach
+    fun setUp() {
+        SootUtils.runSoot(StaticInvokeExample::class.java, forceReload = false, jdkInfo = JdkInfoDefaultProvider().info)
+        val sootClass = Scene.v().getSootClass(StaticInvokeExample::class.java.name)
+        caller = sootClass.getMethodByName("maxForThree")
+        callee = sootClass.getMethodByName("maxForTwo")
+        callerGraph = ExceptionalUnitGraph(caller.jimpleBody())
+        calleeGraph = ExceptionalUnitGraph(callee.jimpleBody())
+        callStmt = callerGraph.stmts.first { it.containsInvokeExpr() && it.invokeExpr.method == callee }
+    }
+
+    /**
+     * Distances as the previous implementation calculated them: distances from every stmt to all the reachable stmts
+     * are sorted, and the closest uncovered one is looked for among them. Its call-stack branches are omitted,
+     * because they were never reached.
+     */
+    private class PreviousDistanceStatistics(graph: InterProceduralUnitGraph) : TraverseGraphStatistics(graph) {
+        private val sortedDistances = mutableMapOf<Stmt, List<Pair<Stmt, Int>>>()
+        private val distancePointers = mutableMapOf<Stmt, Int>()
+        private val closestToReturn = mutableMapOf<Stmt, Int>()
+        private val distanceToClosestUncovered: MutableMap<Stmt, Int> = graph.stmts.associateWithTo(mutableMapOf()) { 0 }
+
+        init {
+            graph.graphs.forEach { it.stmts.forEach(::recomputeDistancesBFS) }
+            updateDistanceToUncovered()
+        }
+
+        private fun recomputeDistancesBFS(stmt: Stmt) {
+            val distances = mutableMapOf(stmt to 0)
+            val queue = ArrayDeque(listOf(stmt))
+            var minDistanceToReturn = Int.MAX_VALUE
+            while (queue.isNotEmpty()) {
+                val v = queue.removeFirst()
+                val dist = distances.getValue(v)
+                for (u in graph.succStmts(v)) {
+                    if (distances.getOrDefault(u, Int.MAX_VALUE) > dist + 1) {
+                        distances[u] = dist + 1
+                        queue += u
+                    }
+                }
+                if (v.isReturn) {
+                    minDistanceToReturn = minOf(minDistanceToReturn, dist)
+                }
+            }
+            sortedDistances[stmt] = distances.toList().sortedBy { it.second }
+            distancePointers[stmt] = sortedDistances.getValue(stmt).indexOfFirst { !graph.isCovered(it.first) }.let {
+                if (it < 0) sortedDistances.getValue(stmt).size else it
+            }
+            closestToReturn[stmt] = minDistanceToReturn
+        }
+
+        private val Stmt.distanceToUncovered: Int
+            get() {
+                val i = distancePointers.computeIfPresent(this) { _, i ->
+                    var j = i
+                    val distances = sortedDistances.getValue(this)
+                    while (j < distances.size && graph.isCovered(distances[j].first)) {
+                        j++
+                    }
+                    if (distances.size == j) null else j
+                }
+                return if (i == null) Int.MAX_VALUE else sortedDistances.getValue(this)[i].second
+            }
+
+        private fun updateDistanceToUncovered() =
+            distanceToClosestUncovered.replaceAll { u, value ->
+                if (value == Int.MAX_VALUE) value else u.distanceToUncovered
+            }
+
+        fun distanceToUncovered(state: ExecutionState): Int {
+            var executionStackAccumulatedDistanceToReturn = 0
+            var stmt: Stmt = state.stmt
+            var minDistance: Int? = null
+
+            for (stackElement in state.executionStack.asReversed()) {
+                val distance = distanceToClosestUncovered[stmt] ?: Int.MAX_VALUE
+                val distanceToReturn = closestToReturn[stmt] ?: error("$stmt is not in graph")
+
+                if (distance != Int.MAX_VALUE) {
+                    minDistance = (minDistance ?: 0) + executionStackAccumulatedDistanceToReturn + distance
+                }
+
+                val caller = stackElement.caller
+                if (caller == null || distanceToReturn == Int.MAX_VALUE) {
+                    break
+                }
+                executionStackAccumulatedDistanceToReturn += distanceToReturn
+                stmt = caller
+            }
+
+            return minDistance ?: Int.MAX_VALUE
+        }
+
+        override fun onJoin(stmt: Stmt, graph: ExceptionalUnitGraph, shouldRegister: Boolean) {
+            val stmts = graph.stmts
+            stmts.forEach(::recomputeDistancesBFS)
+            updateDistanceToUncovered()
+            if (shouldRegister && stmts.first() !in distanceToClosestUncovered) {
+                stmts.forEach { u -> distanceToClosestUncovered.computeIfAbsent(u) { it.distanceToUncovered } }
+            }
+        }
+
+        override fun onTraversed(executionState: ExecutionState) {
+            updateDistanceToUncovered()
+        }
+    }
+
+    private fun state(stmt: Stmt, callers: List<Stmt?>, edges: Set<Edge> = emptySet()): ExecutionState {
+        val stack = persistentListOf<ExecutionStackElement>().addAll(
+            callers.map { ExecutionStackElement(it, method = if (it == null) caller else callee) }
+        )
+        return Mockito.mock(ExecutionState::class.java).also {
+            Mockito.`when`(it.stmt).thenReturn(stmt)
+            Mockito.`when`(it.executionStack).thenReturn(stack)
+            Mockito.`when`(it.edges).thenReturn(edges.toPersistentSet())
+            Mockito.`when`(it.lastEdge).thenReturn(null)
+        }
+    }
+
+    /**
+     * States at every stmt of the caller and at every stmt of the callee invoked from the [callStmt].
+     */
+    private fun allStates(): List<ExecutionState> =
+        callerGraph.stmts.map { state(it, listOf(null)) } + calleeGraph.stmts.map { state(it, listOf(null, callStmt)) }
+
+    private fun assertSameDistances(
+        statistics: DistanceStatistics,
+        previous: PreviousDistanceStatistics,
+        states: List<ExecutionState>
+    ) {
+        states.forEach { state ->
+            assertEquals(previous.distanceToUncovered(state), statistics.distanceToUncovered(state)) {
+                "${state.stmt} called from ${state.executionStack.last().caller}"
+            }
+        }
+    }
+
+    /**
+     * Path from the [head] taking the [branch] (first or last) successor of every stmt until a return stmt.
+     */
+    private fun path(graph: InterProceduralUnitGraph, head: Stmt, branch: (List<Edge>) -> Edge): List<Edge> {
+        val edges = mutableListOf<Edge>()
+        var stmt = head
+        while (!stmt.isReturn) {
+            val edge = branch(graph.succs(stmt))
+            edges += edge
+            stmt = edge.dst
+        }
+        return edges
+    }
+
+    @Test
+    fun testDistancesAreSameAsPrevious() {
+        val graph = InterProceduralUnitGraph(callerGraph)
+        val statistics = DistanceStatistics(graph)
+        val previous = PreviousDistanceStatistics(graph)
+        assertSameDistances(statistics, previous, callerGraph.stmts.map { state(it, listOf(null)) })
+
+        graph.join(callStmt, calleeGraph, registerEdges = true)
+        val states = allStates()
+        assertSameDistances(statistics, previous, states)
+        assertTrue(states.all { statistics.distanceToUncovered(it) != Int.MAX_VALUE })
+
+        val invokeEdge = Edge(callStmt, calleeGraph.head, CALL_DECISION_NUM)
+        for (branch in listOf<(List<Edge>) -> Edge>({ it.first() }, { it.last() })) {
+            val calleePath = path(graph, calleeGraph.head, branch)
+            graph.traversed(state(calleePath.last().dst, listOf(null, callStmt), calleePath.toSet()))
+            assertSameDistances(statistics, previous, states)
+
+            val callerPath = path(graph, callerGraph.head, branch) + invokeEdge
+            graph.traversed(state(callerPath.first { it.dst.isReturn }.dst, listOf(null), callerPath.toSet()))
+            assertSameDistances(statistics, previous, states)
+        }
+
+        // everything is covered, so every state can be dropped
+        assertTrue(states.all { statistics.distanceToUncovered(it) == Int.MAX_VALUE })
+    }
+
+    @Test
+    fun testDistanceToUncoveredInCallerIsAccumulatedFromCallee() {
+        val graph = InterProceduralUnitGraph(callerGraph)
+        val statistics = DistanceStatistics(graph)
+        val previous = PreviousDistanceStatistics(graph)
+        graph.join(callStmt, calleeGraph, registerEdges = false)
+
+        // the edges of the callee are not registered, so its stmts are covered
+        // and the distances of its states are the distances to its return stmts plus the distances in the caller
+        val callerPath = path(graph, callerGraph.head) { it.first() }
+        graph.traversed(state(callerPath.last().dst, listOf(null), callerPath.toSet()))
+        val states = allStates()
+        assertSameDistances(statistics, previous, states)
+        assertTrue(calleeGraph.stmts.any { statistics.distanceToUncovered(state(it, listOf(null, callStmt))) > 0 })
+    }
+}
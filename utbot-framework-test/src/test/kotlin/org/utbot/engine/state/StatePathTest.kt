@@ -0,0 +1,108 @@
+package org.utbot.engine.state
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Test
+import soot.jimple.Jimple
+import soot.jimple.Stmt
+import kotlin.random.Random
+
+class StatePathTest {
+    private val stmts = List(8) { Jimple.v().newNopStmt() }
+
+    private val exceptionDecision = CALL_DECISION_NUM - 1
+
+    /**
+     * Path with its statements and decisions kept in lists, as [ExecutionState] kept them before [StatePath].
+     */
+    private data class ListPath(val statePath: StatePath, val path: List<Stmt>, val decisionPath: List<Int>)
+
+    private fun ListPath.step(random: Random): ListPath =
+        if (random.nextInt(5) == 0) {
+            ListPath(statePath.appendDecision(exceptionDecision), path, decisionPath + exceptionDecision)
+        } else {
+            val stmt = stmts.random(random)
+            val decision = listOf(0, 1, CALL_DECISION_NUM, RETURN_DECISION_NUM).random(random)
+            ListPath(statePath.append(stmt, decision), path + stmt, decisionPath + decision)
+        }
+
+    private fun randomPath(random: Random, length: Int): ListPath =
+        (0 until length).fold(ListPath(StatePath.initial, emptyList(), listOf(0))) { path, _ -> path.step(random) }
+
+    /**
+     * Subpath of the last edges as SubpathStatistics calculated it from the lists.
+     */
+    private fun ListPath.lastEdges(stmt: Stmt, length: Int): List<Edge> {
+        val pathLength = decisionPath.size - 1
+        val subpath = mutableListOf<Edge>()
+        val actualLength = if (pathLength >= length) length else pathLength
+
+        var current = stmt
+        var exceptionNumber = 0
+        (0 until actualLength).forEach {
+            val decision = decisionPath[decisionPath.size - it - 1]
+            if (decision < CALL_DECISION_NUM) {
+                exceptionNumber++
+            }
+            val i = path.size - it - 1 + exceptionNumber
+            val prev = if (i == path.size) stmt else path[i]
+            subpath += Edge(prev, current, decision)
+            current = prev
+        }
+
+        return subpath
+    }
+
+    @Test
+    fun testListsMatchSteps() {
+        val random = Random(42)
+        repeat(100) {
+            val path = randomPath(random, random.nextInt(50))
+            assertEquals(path.path, path.statePath.stmts())
+            assertEquals(path.decisionPath, path.statePath.decisions())
+            assertEquals(path.path.size, path.statePath.stmtsCount)
+            assertEquals(path.decisionPath.size, path.statePath.decisionsCount)
+            assertEquals(path.path.lastOrNull(), path.statePath.lastStmt)
+        }
+    }
+
+    @Test
+    fun testLastEdgesMatchListSubpath() {
+        val random = Random(42)
+        repeat(100) {
+            val path = randomPath(random, random.nextInt(50))
+            val current = stmts.random(random)
+            for (length in listOf(1, 2, 4, 8, 64)) {
+                val pathLength = path.decisionPath.size - 1
+                assertEquals(
+                    path.lastEdges(current, length),
+                    path.statePath.lastEdges(current, minOf(length, pathLength))
+                )
+            }
+        }
+    }
+
+    @Test
+    fun testForkedPathsShareSteps() {
+        val random = Random(42)
+        val common = randomPath(random, 20)
+        val first = common.step(random).step(random)
+        val second = common.step(random)
+
+        assertEquals(common.path + first.path.drop(common.path.size), first.statePath.stmts())
+        assertEquals(common.decisionPath, second.statePath.decisions().take(common.decisionPath.size))
+        assertEquals(common.statePath.stmts(), common.path)
+    }
+
+    @Test
+    fun testEquality() {
+        val first = StatePath.initial.append(stmts[0], 0).append(stmts[1], 1).appendDecision(exceptionDecision)
+        val second = StatePath.initial.append(stmts[0], 0).append(stmts[1], 1).appendDecision(exceptionDecision)
+        val other = StatePath.initial.append(stmts[0], 0).append(stmts[1], 0).appendDecision(exceptionDecision)
+
+        assertEquals(first, second)
+        assertEquals(first.hashCode(), second.hashCode())
+        assertNotEquals(first, other)
+        assertNotEquals(first, first.appendDecision(exceptionDecision))
+    }
+}
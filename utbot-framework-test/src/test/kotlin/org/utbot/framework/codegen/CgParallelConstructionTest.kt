@@ -0,0 +1,112 @@
+package org.utbot.framework.codegen
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.utbot.examples.invokes.StaticInvokeExample
+import org.utbot.framework.UtSettings
+import org.utbot.framework.codegen.domain.ProjectType
+import org.utbot.framework.codegen.generator.CodeGenerator
+import org.utbot.framework.codegen.generator.CodeGeneratorParams
+import org.utbot.framework.plugin.api.EnvironmentModels
+import org.utbot.framework.plugin.api.ExecutableId
+import org.utbot.framework.plugin.api.UtExecutionSuccess
+import org.utbot.framework.plugin.api.UtMethodTestSet
+import org.utbot.framework.plugin.api.UtModel
+import org.utbot.framework.plugin.api.UtPrimitiveModel
+import org.utbot.framework.plugin.api.UtSymbolicExecution
+import org.utbot.framework.plugin.api.util.UtContext
+import org.utbot.framework.plugin.api.util.executableId
+import org.utbot.framework.plugin.api.util.id
+import org.utbot.framework.plugin.api.util.withUtContext
+
+class CgParallelConstructionTest {
+    private val maxForThree = StaticInvokeExample::class.java
+        .getDeclaredMethod("maxForThree", Int::class.java, Short::class.java, Byte::class.java)
+        .executableId
+
+    // private, so its tests call it by reflection and require util methods
+    private val maxForTwo = StaticInvokeExample::class.java
+        .getDeclaredMethod("maxForTwo", Int::class.java, Short::class.java)
+        .executableId
+
+    private var prevParallelCodegenTestSetsNumber = 1
+
+    @BeforeEach
+    fun saveSettings() {
+        prevParallelCodegenTestSetsNumber = UtSettings.parallelCodegenTestSetsNumber
+    }
+
+    @AfterEach
+    fun restoreSettings() {
+        UtSettings.parallelCodegenTestSetsNumber = prevParallelCodegenTestSetsNumber
+    }
+
+    private fun execution(method: ExecutableId, parameters: List<UtModel>, result: Int): UtSymbolicExecution =
+        UtSymbolicExecution(
+            stateBefore = EnvironmentModels(null, parameters, emptyMap(), method),
+            stateAfter = EnvironmentModels(null, parameters, emptyMap(), method),
+            result = UtExecutionSuccess(UtPrimitiveModel(result)),
+            instrumentation = emptyList(),
+            path = mutableListOf(),
+            fullPath = emptyList(),
+        )
+
+    private fun maxForThreeTestSet(vararg arguments: List<Int>) = UtMethodTestSet(
+        maxForThree,
+        arguments.map { (x, y, z) ->
+            execution(
+                maxForThree,
+                listOf(UtPrimitiveModel(x), UtPrimitiveModel(y.toShort()), UtPrimitiveModel(z.toByte())),
+                maxOf(x, y, z)
+            )
+        }
+    )
+
+    private fun maxForTwoTestSet(vararg arguments: List<Int>) = UtMethodTestSet(
+        maxForTwo,
+        arguments.map { (x, y) ->
+            execution(maxForTwo, listOf(UtPrimitiveModel(x), UtPrimitiveModel(y.toShort())), maxOf(x, y))
+        }
+    )
+
+    private fun generate(testSets: List<UtMethodTestSet>, parallelism: Int): String {
+        UtSettings.parallelCodegenTestSetsNumber = parallelism
+        return withUtContext(UtContext(StaticInvokeExample::class.java.classLoader)) {
+            CodeGenerator(
+                CodeGeneratorParams(classUnderTest = StaticInvokeExample::class.id, projectType = ProjectType.PureJvm)
+            ).generateAsString(testSets)
+        }
+    }
+
+    @Test
+    fun testParallelConstructionGetsSameClass() {
+        val testSets = listOf(
+            maxForThreeTestSet(listOf(3, 2, 1), listOf(1, 3, 2)),
+            maxForTwoTestSet(listOf(1, 2), listOf(2, 1)),
+        )
+
+        val sequential = generate(testSets, parallelism = 1)
+        val parallel = generate(testSets, parallelism = 4)
+
+        assertEquals(sequential, parallel)
+    }
+
+    @Test
+    fun testNameClashFallsBackToSequentialConstruction() {
+        // test methods of both test sets of maxForThree are named from the same index in their forks
+        val testSets = listOf(
+            maxForThreeTestSet(listOf(3, 2, 1), listOf(1, 3, 2)),
+            maxForTwoTestSet(listOf(1, 2)),
+            maxForThreeTestSet(listOf(1, 2, 3)),
+        )
+
+        val sequential = generate(testSets, parallelism = 1)
+        val parallel = generate(testSets, parallelism = 4)
+
+        assertTrue(sequential.contains("testMaxForThree3"))
+        assertEquals(sequential, parallel)
+    }
+}
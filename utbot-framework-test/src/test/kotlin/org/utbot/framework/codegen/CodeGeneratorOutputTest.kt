@@ -0,0 +1,92 @@
+package org.utbot.framework.codegen
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.utbot.examples.invokes.StaticInvokeExample
+import org.utbot.framework.UtSettings
+import org.utbot.framework.codegen.domain.ProjectType
+import org.utbot.framework.codegen.generator.CodeGenerator
+import org.utbot.framework.codegen.generator.CodeGeneratorParams
+import org.utbot.framework.plugin.api.EnvironmentModels
+import org.utbot.framework.plugin.api.UtExecutionSuccess
+import org.utbot.framework.plugin.api.UtMethodTestSet
+import org.utbot.framework.plugin.api.UtPrimitiveModel
+import org.utbot.framework.plugin.api.UtSymbolicExecution
+import org.utbot.framework.plugin.api.util.UtContext
+import org.utbot.framework.plugin.api.util.executableId
+import org.utbot.framework.plugin.api.util.id
+import org.utbot.framework.plugin.api.util.withUtContext
+import java.io.StringWriter
+
+class CodeGeneratorOutputTest {
+    private val method = StaticInvokeExample::class.java
+        .getMethod("maxForThree", Int::class.java, Short::class.java, Byte::class.java)
+        .executableId
+
+    private var prevMaxTestFileSize = 0
+
+    @BeforeEach
+    fun saveSettings() {
+        prevMaxTestFileSize = UtSettings.maxTestFileSize
+    }
+
+    @AfterEach
+    fun restoreSettings() {
+        UtSettings.maxTestFileSize = prevMaxTestFileSize
+    }
+
+    private fun execution(x: Int, y: Short, z: Byte, result: Int): UtSymbolicExecution {
+        val parameters = listOf(UtPrimitiveModel(x), UtPrimitiveModel(y), UtPrimitiveModel(z))
+        return UtSymbolicExecution(
+            stateBefore = EnvironmentModels(null, parameters, emptyMap(), method),
+            stateAfter = EnvironmentModels(null, parameters, emptyMap(), method),
+            result = UtExecutionSuccess(UtPrimitiveModel(result)),
+            instrumentation = emptyList(),
+            path = mutableListOf(),
+            fullPath = emptyList(),
+        )
+    }
+
+    private val testSets = listOf(
+        UtMethodTestSet(
+            method,
+            listOf(execution(3, 2, 1, 3), execution(1, 2, 3, 3), execution(1, 3, 2, 3))
+        )
+    )
+
+    private fun codeGenerator() = CodeGenerator(
+        CodeGeneratorParams(classUnderTest = StaticInvokeExample::class.id, projectType = ProjectType.PureJvm)
+    )
+
+    private fun <T> withExampleContext(block: () -> T): T =
+        withUtContext(UtContext(StaticInvokeExample::class.java.classLoader), block)
+
+    @Test
+    fun testOutputGetsSameCode() = withExampleContext {
+        val expected = codeGenerator().generateAsStringWithTestReport(testSets)
+
+        val output = StringWriter()
+        val result = codeGenerator().generateToOutputWithTestReport(output, testSets)
+
+        assertEquals(expected.generatedCode, output.toString())
+        assertEquals("", result.generatedCode)
+        assertEquals(expected.testsGenerationReport.countTestMethods(), result.testsGenerationReport.countTestMethods())
+        assertEquals(expected.utilClassKind, result.utilClassKind)
+    }
+
+    @Test
+    fun testCodeIsNotLimitedByMaxTestFileSize() = withExampleContext {
+        val expected = codeGenerator().generateAsString(testSets)
+        UtSettings.maxTestFileSize = 1
+
+        val output = StringWriter()
+        val result = codeGenerator().generateToOutputWithTestReport(output, testSets)
+
+        assertEquals(expected, output.toString())
+        assertEquals(expected, codeGenerator().generateAsString(testSets))
+        assertFalse(result.testsGenerationReport.hasWarnings)
+    }
+}
@@ -82,4 +82,15 @@ class MinimizationGreedyEssentialTest {
         val minimizedExecutions = GreedyEssential.minimize(executions, executionToPriority)
         assertEquals(listOf(1), minimizedExecutions)
     }
-}
\ No newline at end of file
+
+    @Test
+    fun testSparseAndDuplicatedLines() {
+        val executions = mapOf(
+            1 to listOf(-5, Int.MAX_VALUE, -5, 7),
+            2 to listOf(Int.MAX_VALUE, 7, 7, 100_000_000),
+            3 to listOf(-5)
+        )
+        val minimizedExecutions = GreedyEssential.minimize(executions)
+        assertEquals(listOf(2, 1), minimizedExecutions)
+    }
+}
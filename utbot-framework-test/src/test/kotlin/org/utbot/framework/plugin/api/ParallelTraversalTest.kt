@@ -0,0 +1,56 @@
+package org.utbot.framework.plugin.api
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.utbot.common.FileUtil
+import org.utbot.examples.ternary.Ternary
+import org.utbot.framework.plugin.api.util.UtContext
+import org.utbot.framework.plugin.api.util.executableId
+import org.utbot.framework.plugin.api.util.withUtContext
+import org.utbot.testing.TestSpecificTestCaseGenerator
+
+class ParallelTraversalTest {
+    private val methods = listOf(
+        Ternary::class.java.getMethod("max", Int::class.java, Int::class.java).executableId,
+        Ternary::class.java.getMethod("minValue", Int::class.java, Int::class.java).executableId,
+        Ternary::class.java.getMethod("subDelay", Boolean::class.java).executableId,
+        Ternary::class.java.getMethod("minMax", Int::class.java, Int::class.java).executableId,
+        Ternary::class.java.getMethod("twoIfsOneLine", Int::class.java, Int::class.java).executableId,
+    )
+
+    // fuzzing is random, so only the symbolic engine is run to get the same executions for both traversals
+    private val symbolicFlow = testFlow {
+        generationTimeout = 20_000L
+        isSymbolicEngineEnabled = true
+        isFuzzingEnabled = false
+    }
+
+    private fun generate(parallelism: Int): List<UtMethodTestSet> =
+        withUtContext(UtContext(Ternary::class.java.classLoader)) {
+            val buildDir = FileUtil.findPathToClassFiles(FileUtil.locateClass(Ternary::class.java))
+            TestSpecificTestCaseGenerator(buildDir, "", System.getProperty("java.class.path")).generate(
+                methods,
+                MockStrategyApi.NO_MOCKS,
+                methodsGenerationTimeout = 20_000L,
+                methodsTraversalParallelism = parallelism,
+                generate = symbolicFlow,
+            )
+        }
+
+    private fun UtMethodTestSet.coveredLines(): Set<Int> =
+        executions.flatMapTo(mutableSetOf()) { execution ->
+            execution.coverage?.coveredInstructions.orEmpty().map { it.lineNumber }
+        }
+
+    @Test
+    fun testParallelTraversalGetsSameCoverage() {
+        val sequential = generate(parallelism = 1)
+        val parallel = generate(parallelism = 4)
+
+        assertEquals(methods, sequential.map { it.method })
+        assertEquals(methods, parallel.map { it.method })
+        assertTrue(parallel.all { it.executions.isNotEmpty() })
+        assertEquals(sequential.map { it.coveredLines() }, parallel.map { it.coveredLines() })
+    }
+}
@@ -0,0 +1,71 @@
+package org.utbot.framework.plugin.api
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.utbot.common.FileUtil
+import org.utbot.examples.ternary.Ternary
+import org.utbot.framework.UtSettings
+import org.utbot.framework.plugin.api.util.UtContext
+import org.utbot.framework.plugin.api.util.executableId
+import org.utbot.framework.plugin.api.util.withUtContext
+import org.utbot.fuzzer.UtFuzzedExecution
+import org.utbot.testing.TestSpecificTestCaseGenerator
+
+class PipelinedFuzzingTest {
+    private val methods = listOf(
+        Ternary::class.java.getMethod("max", Int::class.java, Int::class.java).executableId,
+        Ternary::class.java.getMethod("subDelay", Boolean::class.java).executableId,
+        Ternary::class.java.getMethod("minMax", Int::class.java, Int::class.java).executableId,
+    )
+
+    private val fuzzingFlow = testFlow {
+        generationTimeout = 5_000L
+        isSymbolicEngineEnabled = false
+        isFuzzingEnabled = true
+    }
+
+    private var prevFuzzingMaxExecutionsInFlight = 1
+
+    @BeforeEach
+    fun saveSettings() {
+        prevFuzzingMaxExecutionsInFlight = UtSettings.fuzzingMaxExecutionsInFlight
+    }
+
+    @AfterEach
+    fun restoreSettings() {
+        UtSettings.fuzzingMaxExecutionsInFlight = prevFuzzingMaxExecutionsInFlight
+    }
+
+    private fun generate(executionsInFlight: Int): List<UtMethodTestSet> {
+        UtSettings.fuzzingMaxExecutionsInFlight = executionsInFlight
+        return withUtContext(UtContext(Ternary::class.java.classLoader)) {
+            val buildDir = FileUtil.findPathToClassFiles(FileUtil.locateClass(Ternary::class.java))
+            TestSpecificTestCaseGenerator(buildDir, "", System.getProperty("java.class.path")).generate(
+                methods,
+                MockStrategyApi.NO_MOCKS,
+                methodsGenerationTimeout = 5_000L,
+                methodsTraversalParallelism = 1,
+                generate = fuzzingFlow,
+            )
+        }
+    }
+
+    private fun UtMethodTestSet.coveredLines(): Set<Int> =
+        executions.flatMapTo(mutableSetOf()) { execution ->
+            execution.coverage?.coveredInstructions.orEmpty().map { it.lineNumber }
+        }
+
+    @Test
+    fun testPipelinedFuzzingGetsSameCoverage() {
+        val sequential = generate(executionsInFlight = 1)
+        val pipelined = generate(executionsInFlight = 4)
+
+        assertEquals(methods, pipelined.map { it.method })
+        assertTrue(pipelined.all { testSet -> testSet.executions.all { it is UtFuzzedExecution } })
+        assertTrue(pipelined.all { it.executions.isNotEmpty() })
+        assertEquals(sequential.map { it.coveredLines() }, pipelined.map { it.coveredLines() })
+    }
+}
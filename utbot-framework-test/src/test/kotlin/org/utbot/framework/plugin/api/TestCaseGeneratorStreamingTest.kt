@@ -0,0 +1,60 @@
+package org.utbot.framework.plugin.api
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.utbot.common.FileUtil
+import org.utbot.examples.ternary.Ternary
+import org.utbot.framework.plugin.api.util.UtContext
+import org.utbot.framework.plugin.api.util.executableId
+import org.utbot.framework.plugin.api.util.withUtContext
+import org.utbot.testing.TestSpecificTestCaseGenerator
+
+class TestCaseGeneratorStreamingTest {
+    private val methods = listOf(
+        Ternary::class.java.getMethod("max", Int::class.java, Int::class.java).executableId,
+        Ternary::class.java.getMethod("minValue", Int::class.java, Int::class.java).executableId,
+    )
+
+    private fun <T> withTestCaseGenerator(block: (TestCaseGenerator) -> T): T =
+        withUtContext(UtContext(Ternary::class.java.classLoader)) {
+            val buildDir = FileUtil.findPathToClassFiles(FileUtil.locateClass(Ternary::class.java))
+            block(TestSpecificTestCaseGenerator(buildDir, "", System.getProperty("java.class.path")))
+        }
+
+    @Test
+    fun testEveryTestSetIsPassedOnceOnAnotherThread() = withTestCaseGenerator { testCaseGenerator ->
+        val testSets = mutableListOf<UtMethodTestSet>()
+        val threads = mutableSetOf<Thread>()
+        testCaseGenerator.generateTestSets(methods, MockStrategyApi.NO_MOCKS, methodsGenerationTimeout = 10_000L) {
+            assertNotNull(UtContext.currentContext())
+            threads += Thread.currentThread()
+            testSets += it
+        }
+
+        assertEquals(methods.toSet(), testSets.map { it.method }.toSet())
+        assertEquals(methods.size, testSets.size)
+        assertTrue(testSets.all { it.executions.isNotEmpty() })
+        assertEquals(1, threads.size)
+        assertNotEquals(Thread.currentThread(), threads.single())
+    }
+
+    @Test
+    fun testGenerateKeepsOrderOfMethods() = withTestCaseGenerator { testCaseGenerator ->
+        val testSets = testCaseGenerator.generate(methods.reversed(), MockStrategyApi.NO_MOCKS, methodsGenerationTimeout = 10_000L)
+
+        assertEquals(methods.reversed(), testSets.map { it.method })
+    }
+
+    @Test
+    fun testExceptionOfCallbackIsRethrown(): Unit = withTestCaseGenerator { testCaseGenerator ->
+        assertThrows(IllegalStateException::class.java) {
+            testCaseGenerator.generateTestSets(methods, MockStrategyApi.NO_MOCKS, methodsGenerationTimeout = 10_000L) {
+                error("Cannot process ${it.method}")
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.utbot.framework.util
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.utbot.common.FileUtil
+import org.utbot.examples.objects.SimpleDataClass
+import org.utbot.framework.UtSettings
+import org.utbot.framework.plugin.services.JdkInfoDefaultProvider
+import soot.Scene
+import soot.SootClass
+import soot.SourceLocator
+import soot.options.Options
+
+class LazySootResolutionTest {
+    private val lazySootBodyResolution = UtSettings.lazySootBodyResolution
+
+    @BeforeEach
+    fun setUp() {
+        UtSettings.lazySootBodyResolution = true
+        SootUtils.runSoot(SimpleDataClass::class.java, forceReload = true, jdkInfo = JdkInfoDefaultProvider().info)
+    }
+
+    @AfterEach
+    fun tearDown() {
+        UtSettings.lazySootBodyResolution = lazySootBodyResolution
+        // other tests expect the scene built in the default mode
+        SootUtils.runSoot(SimpleDataClass::class.java, forceReload = true, jdkInfo = JdkInfoDefaultProvider().info)
+    }
+
+    @Test
+    fun testHierarchyIsResolvedUpFront() {
+        assertFalse(Options.v().full_resolver())
+
+        val buildDir = FileUtil.locateClassPath(SimpleDataClass::class.java)!!
+        val classes = SourceLocator.v().getClassesUnder(buildDir.absolutePath)
+        assertTrue(classes.isNotEmpty())
+        classes.forEach {
+            assertTrue(Scene.v().getSootClass(it).resolvingLevel() >= SootClass.HIERARCHY) { "$it is not resolved" }
+        }
+
+        val abstractClass = Scene.v().getSootClass("org.utbot.examples.objects.AbstractAnonymousClass")
+        val inheritors = Scene.v().activeHierarchy.getSubclassesOf(abstractClass).map { it.name }
+        assertTrue("org.utbot.examples.objects.AnonymousClassAlternative" in inheritors) { "$inheritors" }
+    }
+
+    @Test
+    fun testBodyIsBuiltOnDemand() {
+        val sootClass = Scene.v().getSootClass(SimpleDataClass::class.java.name)
+        val constructor = sootClass.methods.first { it.isConstructor && it.parameterCount == 2 }
+
+        assertTrue(constructor.canRetrieveBody())
+        assertEquals(SootClass.BODIES, sootClass.resolvingLevel())
+        assertTrue(constructor.jimpleBody().units.isNotEmpty())
+    }
+
+    @Test
+    fun testLevelIsNotLowered() {
+        val sootClass = Scene.v().getSootClass(SimpleDataClass::class.java.name)
+        sootClass.adjustLevel(SootClass.BODIES)
+        sootClass.adjustLevel(SootClass.HIERARCHY)
+        assertEquals(SootClass.BODIES, sootClass.resolvingLevel())
+    }
+}
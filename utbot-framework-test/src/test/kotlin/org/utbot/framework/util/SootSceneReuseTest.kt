@@ -0,0 +1,109 @@
+package org.utbot.framework.util
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.utbot.common.FileUtil
+import org.utbot.examples.objects.SimpleDataClass
+import org.utbot.examples.ternary.Ternary
+import org.utbot.framework.UtSettings
+import org.utbot.framework.plugin.services.JdkInfoDefaultProvider
+import soot.Scene
+import java.io.File
+import java.nio.file.Path
+import java.util.jar.JarOutputStream
+import java.util.zip.CRC32
+import java.util.zip.ZipEntry
+
+class SootSceneReuseTest {
+    private val reuseSootSceneForUnchangedClasspath = UtSettings.reuseSootSceneForUnchangedClasspath
+    private val jdkInfo = JdkInfoDefaultProvider().info
+
+    @TempDir
+    lateinit var tempDir: Path
+
+    private val buildDir: Path get() = tempDir.resolve("classes")
+    private val jar: File get() = tempDir.resolve("dependency.jar").toFile()
+
+    @BeforeEach
+    fun setUp() {
+        UtSettings.reuseSootSceneForUnchangedClasspath = true
+        copyClassFile(Ternary::class.java)
+        writeJar("first")
+    }
+
+    @AfterEach
+    fun tearDown() {
+        UtSettings.reuseSootSceneForUnchangedClasspath = reuseSootSceneForUnchangedClasspath
+        // other tests expect the scene built for the examples
+        SootUtils.runSoot(SimpleDataClass::class.java, forceReload = true, jdkInfo = jdkInfo)
+    }
+
+    private fun copyClassFile(clazz: Class<*>) {
+        val relativePath = clazz.name.replace('.', File.separatorChar) + ".class"
+        val source = File(FileUtil.locateClassPath(clazz)!!, relativePath)
+        source.copyTo(buildDir.resolve(relativePath).toFile())
+    }
+
+    // the entry is stored without compression, so the jar keeps its size for the content of the same length
+    private fun writeJar(content: String) {
+        val bytes = content.toByteArray()
+        JarOutputStream(jar.outputStream()).use { output ->
+            val entry = ZipEntry("resource.txt").apply {
+                method = ZipEntry.STORED
+                time = 0
+                size = bytes.size.toLong()
+                compressedSize = bytes.size.toLong()
+                crc = CRC32().apply { update(bytes) }.value
+            }
+            output.putNextEntry(entry)
+            output.write(bytes)
+            output.closeEntry()
+        }
+    }
+
+    private fun runSoot(): Scene {
+        SootUtils.runSoot(listOf(buildDir), jar.absolutePath, forceReload = true, jdkInfo = jdkInfo)
+        return Scene.v()
+    }
+
+    @Test
+    fun testSceneIsReusedForUnchangedClasses() {
+        val scene = runSoot()
+
+        assertSame(scene, runSoot())
+    }
+
+    @Test
+    fun testSceneIsRebuiltForNewClassFile() {
+        val scene = runSoot()
+        copyClassFile(SimpleDataClass::class.java)
+
+        assertNotSame(scene, runSoot())
+    }
+
+    @Test
+    fun testSceneIsRebuiltForChangedJarOfSameSizeAndModificationTime() {
+        val scene = runSoot()
+        val length = jar.length()
+        val lastModified = jar.lastModified()
+        writeJar("other")
+        jar.setLastModified(lastModified)
+
+        assertEquals(length, jar.length())
+        assertEquals(lastModified, jar.lastModified())
+        assertNotSame(scene, runSoot())
+    }
+
+    @Test
+    fun testSceneIsRebuiltWhenReuseIsDisabled() {
+        val scene = runSoot()
+        UtSettings.reuseSootSceneForUnchangedClasspath = false
+
+        assertNotSame(scene, runSoot())
+    }
+}
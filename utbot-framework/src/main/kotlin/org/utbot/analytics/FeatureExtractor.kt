@@ -1,5 +1,6 @@
 package org.utbot.analytics
 
+import org.utbot.engine.selectors.strategies.StrategyObserver
 import org.utbot.engine.state.ExecutionState
 
 /**
@@ -11,4 +12,19 @@ interface FeatureExtractor {
      * @param generatedTestCases number of generated tests so far
      */
     fun extractFeatures(executionState: ExecutionState, generatedTestCases: Int)
+
+    /**
+     * Keys of the statistics the features of the [executionState] depend on besides the number of generated tests,
+     * or null if the features may change after any step of the traverse.
+     *
+     * Observers subscribed by [subscribe] are notified with these keys when the statistics change.
+     */
+    fun featureKeys(executionState: ExecutionState): Collection<Any>? = null
+
+    /**
+     * Subscribes the [observer] to the statistics the features are extracted from.
+     */
+    fun subscribe(observer: StrategyObserver) {
+        // do nothing by default
+    }
 }
\ No newline at end of file
@@ -3,4 +3,12 @@ package org.utbot.analytics
 /**
  * Interface, which should predict reward for state by features list.
  */
-interface MLPredictor : UtBotAbstractPredictor<List<Double>, Double>
\ No newline at end of file
+interface MLPredictor : UtBotAbstractPredictor<List<Double>, Double> {
+    /**
+     * Predicts rewards for a batch of states, [features] contains a features array of every state.
+     *
+     * Implementations should override it when the prediction of a batch is cheaper than the predictions one by one.
+     */
+    fun predict(features: Array<DoubleArray>): DoubleArray =
+        DoubleArray(features.size) { predict(features[it].asList()) }
+}
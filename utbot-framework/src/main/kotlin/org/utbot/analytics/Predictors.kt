@@ -23,8 +23,8 @@ object Predictors {
             override fun predict(input: Iterable<Stmt>): String = "stubName"
         }
 
-    var stateRewardPredictor: UtBotAbstractPredictor<List<Double>, Double> =
-        object : UtBotAbstractPredictor<List<Double>, Double> {
+    var stateRewardPredictor: MLPredictor =
+        object : MLPredictor {
             override fun predict(input: List<Double>): Double {
                 error("stateRewardPredictor is not provided.")
             }
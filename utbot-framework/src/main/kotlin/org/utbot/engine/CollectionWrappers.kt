@@ -35,6 +35,7 @@ import org.utbot.framework.plugin.api.util.fieldId
 import org.utbot.framework.plugin.api.util.id
 import org.utbot.framework.plugin.api.util.methodId
 import org.utbot.framework.plugin.api.util.objectClassId
+import org.utbot.framework.util.jimpleBody
 import org.utbot.framework.util.nextModelName
 import soot.IntType
 import soot.RefType
@@ -2,6 +2,8 @@ package org.utbot.engine
 
 import org.utbot.engine.types.OBJECT_TYPE
 import org.utbot.engine.types.STRING_TYPE
+import org.utbot.framework.util.jimpleBody
+import org.utbot.framework.util.sootLock
 import soot.ArrayType
 import soot.IntType
 import soot.PrimType
@@ -25,12 +27,12 @@ internal const val STATIC_INITIALIZER = "utbot\$staticInitializer"
 /**
  * Creates synthetic method with static initializer invocation and returns its graph.
  */
-fun classInitGraph(staticInitializer: SootMethod): ExceptionalUnitGraph {
+fun classInitGraph(staticInitializer: SootMethod): ExceptionalUnitGraph = synchronized(sootLock) {
     val sootClass = staticInitializer.declaringClass
 
     val staticMethod = sootClass.methods.singleOrNull { it.name == STATIC_INITIALIZER }
     val graphBody = if (staticMethod != null) {
-        staticMethod.activeBody
+        staticMethod.jimpleBody()
     } else {
         val staticInitializerInvokeExpr = staticInitializer.toStaticInvokeExpr()
         val invokeStatement = staticInitializerInvokeExpr.toInvokeStmt()
@@ -41,7 +43,7 @@ fun classInitGraph(staticInitializer: SootMethod): ExceptionalUnitGraph {
         }
     }
 
-    return ExceptionalUnitGraph(graphBody)
+    ExceptionalUnitGraph(graphBody)
 }
 
 /**
@@ -59,7 +61,10 @@ fun classInitGraph(staticInitializer: SootMethod): ExceptionalUnitGraph {
  *     }
  * ```
  */
-fun unfoldMultiArrayExpr(assignStmt: JAssignStmt): ExceptionalUnitGraph {
+fun unfoldMultiArrayExpr(assignStmt: JAssignStmt): ExceptionalUnitGraph =
+    synchronized(sootLock) { createUnfoldedMultiArrayGraph(assignStmt) }
+
+private fun createUnfoldedMultiArrayGraph(assignStmt: JAssignStmt): ExceptionalUnitGraph {
     val multiArray = assignStmt.rightOp as JNewMultiArrayExpr
     val arrayType = multiArray.type as ArrayType
     val baseType = arrayType.baseType
@@ -77,7 +82,7 @@ fun unfoldMultiArrayExpr(assignStmt: JAssignStmt): ExceptionalUnitGraph {
 
     val method = sootClass.methods.firstOrNull { it.name.equals(methodName) }
 
-    if (method != null) return ExceptionalUnitGraph(method.activeBody)
+    if (method != null) return ExceptionalUnitGraph(method.jimpleBody())
 
     val parameters = multiArray.sizes.mapIndexed { i, param -> parameterRef(param.type, i) }
 
@@ -177,7 +182,10 @@ fun unfoldMultiArrayExpr(assignStmt: JAssignStmt): ExceptionalUnitGraph {
 }
 
 
-fun makeSootConcat(declaringClass: SootClass, recipe: String, paramTypes: List<Type>, constants: List<String>): SootMethod {
+fun makeSootConcat(declaringClass: SootClass, recipe: String, paramTypes: List<Type>, constants: List<String>): SootMethod =
+    synchronized(sootLock) { createSootConcat(declaringClass, recipe, paramTypes, constants) }
+
+private fun createSootConcat(declaringClass: SootClass, recipe: String, paramTypes: List<Type>, constants: List<String>): SootMethod {
     val paramsHashcode = paramTypes.hashCode()
     val constantsHashcode = constants.hashCode()
     val name = "utbot\$concatenateStringWithRecipe<$recipe>AndParams<$paramsHashcode>AndConstants<$constantsHashcode>"
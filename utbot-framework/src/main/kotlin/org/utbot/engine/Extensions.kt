@@ -34,6 +34,7 @@ import org.utbot.framework.UtSettings.checkNpeInNestedMethods
 import org.utbot.framework.UtSettings.checkNpeInNestedNotPrivateMethods
 import org.utbot.framework.plugin.api.FieldId
 import org.utbot.framework.plugin.api.id
+import org.utbot.framework.util.adjustLevel
 import soot.ArrayType
 import soot.PrimType
 import soot.RefLikeType
@@ -98,30 +99,6 @@ fun InvokeExpr.retrieveMethod(): SootMethod {
     return method
 }
 
-/**
- * Checks safely if the method has body.
- */
-fun SootMethod.canRetrieveBody() =
-    runCatching { retrieveActiveBody() }.isSuccess
-
-/**
- * Retrieves Jimple body for method.
- *
- * Note: we cannot use [SootMethod.activeBody], it returns null for not loaded method.
- * To handle that, we use [SootMethod.retrieveActiveBody] which loads active body if it's not set.
- * [SootMethod.retrieveActiveBody] requires BODIES resolving level for class.
- */
-fun SootMethod.jimpleBody(): JimpleBody {
-    declaringClass.adjustLevel(BODIES)
-    return retrieveActiveBody() as JimpleBody
-}
-
-fun SootClass.adjustLevel(level: Int) {
-    if (resolvingLevel() < level) {
-        setResolvingLevel(level)
-    }
-}
-
 fun Type.makeArrayType(dimensions: Int) =
     generateSequence(this) { it.makeArrayType() }.elementAt(dimensions) as ArrayType
 
@@ -4,6 +4,7 @@ import org.utbot.engine.types.OBJECT_TYPE
 import org.utbot.engine.types.TypeRegistry
 import org.utbot.framework.plugin.api.ClassId
 import org.utbot.framework.plugin.api.id
+import org.utbot.framework.util.sootLock
 import soot.RefType
 import soot.Scene
 import soot.SootClass
@@ -65,7 +66,7 @@ class Hierarchy(private val typeRegistry: TypeRegistry) {
     fun inheritors(id: ClassId) = inheritorsMap[id] ?: error("No such class $id found in inheritors map")
 }
 
-private fun findAncestors(id: ClassId) =
+private fun findAncestors(id: ClassId) = synchronized(sootLock) {
     with(Scene.v().getSootClass(id.name)) {
         val superClasses = mutableListOf<SootClass>()
         val superInterfaces = mutableListOf<SootClass>()
@@ -82,8 +83,9 @@ private fun findAncestors(id: ClassId) =
 
         superClasses + superInterfaces
     }
+}
 
-private fun findInheritors(id: ClassId) =
+private fun findInheritors(id: ClassId) = synchronized(sootLock) {
     with(Scene.v().getSootClass(id.name)) {
         when {
             // Important to notice that we cannot just take subclasses of `java.lang.Object` because it will not return interfaces.
@@ -91,4 +93,5 @@ private fun findInheritors(id: ClassId) =
             isInterface -> Scene.v().activeHierarchy.getSubinterfacesOfIncluding(this) + Scene.v().activeHierarchy.getImplementersOf(this)
             else -> Scene.v().activeHierarchy.getSubclassesOfIncluding(this)
         }
-    }
\ No newline at end of file
+    }
+}
\ No newline at end of file
@@ -4,6 +4,8 @@ import org.utbot.engine.selectors.strategies.TraverseGraphStatistics
 import org.utbot.engine.state.CALL_DECISION_NUM
 import org.utbot.engine.state.Edge
 import org.utbot.engine.state.ExecutionState
+import org.utbot.framework.util.canRetrieveBody
+import org.utbot.framework.util.jimpleBody
 import soot.SootClass
 import soot.SootMethod
 import soot.jimple.Stmt
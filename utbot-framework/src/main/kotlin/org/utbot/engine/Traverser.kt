@@ -130,8 +130,11 @@ import org.utbot.framework.plugin.api.classId
 import org.utbot.framework.plugin.api.id
 import org.utbot.framework.plugin.api.isAbstractType
 import org.utbot.framework.plugin.api.util.*
+import org.utbot.framework.util.adjustLevel
+import org.utbot.framework.util.canRetrieveBody
 import org.utbot.framework.util.executableId
 import org.utbot.framework.util.graph
+import org.utbot.framework.util.jimpleBody
 import org.utbot.summary.ast.declaredClassName
 import org.utbot.framework.util.sootMethodOrNull
 import org.utbot.taint.TaintContext
@@ -440,7 +443,7 @@ class Traverser(
      */
     private fun TraversalContext.pushInitGraphAfterNewInstanceReflectionCall(stmt: JAssignStmt): Boolean {
         // Check whether the previous stmt was a `newInstance` invocation
-        val lastStmt = environment.state.path.lastOrNull() as? JAssignStmt ?: return false
+        val lastStmt = environment.state.statePath.lastStmt as? JAssignStmt ?: return false
         if (!lastStmt.containsInvokeExpr()) {
             return false
         }
@@ -469,7 +472,7 @@ class Traverser(
             return false
         }
 
-        val initGraph = ExceptionalUnitGraph(initMethod.activeBody)
+        val initGraph = ExceptionalUnitGraph(initMethod.jimpleBody())
 
         pushToPathSelector(
             initGraph,
@@ -2,7 +2,10 @@ package org.utbot.engine
 
 import kotlinx.collections.immutable.persistentListOf
 import kotlinx.coroutines.*
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.*
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import mu.KotlinLogging
 import org.utbot.analytics.EngineAnalyticsContext
 import org.utbot.analytics.FeatureProcessor
@@ -42,11 +45,13 @@ import org.utbot.framework.plugin.api.util.*
 import org.utbot.framework.util.calculateSize
 import org.utbot.framework.util.convertToAssemble
 import org.utbot.framework.util.graph
+import org.utbot.framework.util.jimpleBody
 import org.utbot.framework.util.sootMethod
 import org.utbot.fuzzer.*
 import org.utbot.fuzzing.*
 import org.utbot.fuzzing.utils.Trie
 import org.utbot.instrumentation.ConcreteExecutor
+import org.utbot.instrumentation.ConcreteExecutorPool
 import org.utbot.instrumentation.instrumentation.Instrumentation
 import org.utbot.instrumentation.instrumentation.execution.UtConcreteExecutionData
 import org.utbot.instrumentation.instrumentation.execution.UtConcreteExecutionResult
@@ -64,10 +69,10 @@ val pathLogger = KotlinLogging.logger(logger.name + ".path")
 
 //in future we should put all timeouts here
 class EngineController {
-    var paused: Boolean = false
-    var executeConcretely: Boolean = false
-    var stop: Boolean = false
-    var job: Job? = null
+    @Volatile var paused: Boolean = false
+    @Volatile var executeConcretely: Boolean = false
+    @Volatile var stop: Boolean = false
+    @Volatile var job: Job? = null
 }
 
 //for debugging purpose only
@@ -120,6 +125,7 @@ class UtBotSymbolicEngine(
     val concreteExecutionContext: ConcreteExecutionContext,
     userTaintConfigurationProvider: TaintConfigurationProvider? = null,
     private val solverTimeoutInMillis: Int = checkSolverTimeoutMillis,
+    concreteExecutorPool: ConcreteExecutorPool = ConcreteExecutor.defaultPool,
 ) : UtContextInitializer() {
 
     private val graph = methodUnderTest.sootMethod.jimpleBody().apply {
@@ -201,7 +207,7 @@ class UtBotSymbolicEngine(
     internal var softMaxArraySize = 40
 
     private val concreteExecutor =
-        ConcreteExecutor(
+        concreteExecutorPool.get(
             concreteExecutionContext.instrumentationFactory,
             classpath,
         ).apply { this.classLoader = utContext.classLoader }
@@ -424,15 +430,18 @@ class UtBotSymbolicEngine(
     /**
      * Run fuzzing flow.
      *
+     * Up to [UtSettings.fuzzingMaxExecutionsInFlight] fuzzed values are executed at once,
+     * their results are processed one by one.
+     *
      * @param until is used by fuzzer to cancel all tasks if the current time is over this value
      */
-    fun fuzzing(until: Long = Long.MAX_VALUE) = flow {
+    fun fuzzing(until: Long = Long.MAX_VALUE) = channelFlow {
         val isFuzzable = methodUnderTest.parameters.all { classId ->
             classId != Method::class.java.id && // causes the instrumented process crash at invocation
                 classId != Class::class.java.id  // causes java.lang.IllegalAccessException: java.lang.Class at sun.misc.Unsafe.allocateInstance(Native Method)
         }
         if (!isFuzzable) {
-            return@flow
+            return@channelFlow
         }
         val errorStackTraceTracker = Trie(StackTraceElement::toString)
         var attempts = 0
@@ -452,11 +461,14 @@ class UtBotSymbolicEngine(
                 )
             )
         } catch (e: Exception) {
-            emit(UtError(e.message ?: "Failed to create ValueProvider", e))
-            return@flow
+            send(UtError(e.message ?: "Failed to create ValueProvider", e))
+            return@channelFlow
         }
 
-        val coverageToMinStateBeforeSize = mutableMapOf<Trie.Node<Instruction>, Int>()
+        // the coverage is identified by its trie node or by the hit counts of the covered instructions if they are collected
+        val coverageToMinStateBeforeSize = mutableMapOf<Any, Int>()
+        // guards the state above and the tracer if several values are executed at once
+        val fuzzingLock = Mutex()
 
         runJavaFuzzing(
             defaultIdGenerator,
@@ -464,6 +476,7 @@ class UtBotSymbolicEngine(
             constants = collectConstantsForFuzzer(graph),
             names = names,
             providers = listOf(fuzzingContext.valueProvider),
+            maxExecutionsInFlight = UtSettings.fuzzingMaxExecutionsInFlight,
         ) { thisInstance, descr, values ->
             val diff = until - System.currentTimeMillis()
             val thresholdMillisForFuzzingOperation = 0 // may be better use 10-20 millis as it might not be possible
@@ -484,12 +497,14 @@ class UtBotSymbolicEngine(
                 return@runJavaFuzzing BaseFeedback(Trie.emptyNode(), Control.PASS)
             }
 
-            val stateBefore = fuzzingContext.createStateBefore(
-                thisInstance = thisInstance?.model,
-                parameters = values.map { it.model },
-                statics = emptyMap(),
-                executableToCall = methodUnderTest,
-            )
+            val stateBefore = fuzzingLock.withLock {
+                fuzzingContext.createStateBefore(
+                    thisInstance = thisInstance?.model,
+                    parameters = values.map { it.model },
+                    statics = emptyMap(),
+                    executableToCall = methodUnderTest,
+                )
+            }
 
             val concreteExecutionResult: UtConcreteExecutionResult? = try {
                 val timeoutMillis = min(UtSettings.concreteExecutionDefaultTimeoutInInstrumentedProcessMillis, diff)
@@ -497,84 +512,91 @@ class UtBotSymbolicEngine(
             } catch (e: CancellationException) {
                 logger.debug { "Cancelled by timeout" }; null
             } catch (e: InstrumentedProcessDeathException) {
-                emitFailedConcreteExecutionResult(stateBefore, e); null
+                send(failedConcreteExecution(stateBefore, e)); null
             } catch (e: Throwable) {
-                emit(UtError("Default concrete execution failed", e)); null
+                send(UtError("Default concrete execution failed", e)); null
             }
 
             // in case an exception occurred from the concrete execution
             concreteExecutionResult ?: return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.PASS)
 
-            fuzzingContext.handleFuzzedConcreteExecutionResult(methodUnderTest, concreteExecutionResult)
+            fuzzingLock.withLock {
+                fuzzingContext.handleFuzzedConcreteExecutionResult(methodUnderTest, concreteExecutionResult)
 
-            // in case of processed failure in the concrete execution
-            concreteExecutionResult.processedFailure()?.let { failure ->
-                logger.debug { "Instrumented process failed with exception ${failure.exception} before concrete execution started" }
-                return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.PASS)
-            }
+                // in case of processed failure in the concrete execution
+                concreteExecutionResult.processedFailure()?.let { failure ->
+                    logger.debug { "Instrumented process failed with exception ${failure.exception} before concrete execution started" }
+                    return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.PASS)
+                }
 
-            if (concreteExecutionResult.violatesUtMockAssumption()) {
-                logger.debug { "Generated test case by fuzzer violates the UtMock assumption: $concreteExecutionResult" }
-                return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.PASS)
-            }
+                if (concreteExecutionResult.violatesUtMockAssumption()) {
+                    logger.debug { "Generated test case by fuzzer violates the UtMock assumption: $concreteExecutionResult" }
+                    return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.PASS)
+                }
 
-            val result = concreteExecutionResult.result
-            val coveredInstructions = concreteExecutionResult.coverage.coveredInstructions
-            var trieNode: Trie.Node<Instruction>? = null
+                val result = concreteExecutionResult.result
+                val coveredInstructions = concreteExecutionResult.coverage.coveredInstructions
+                var trieNode: Trie.Node<Instruction>? = null
 
-            if (coveredInstructions.isNotEmpty()) {
-                trieNode = descr.tracer.add(coveredInstructions)
+                if (coveredInstructions.isNotEmpty()) {
+                    trieNode = if (coveredInstructions is PackedInstructions) {
+                        descr.tracer.add(coveredInstructions) { coveredInstructions.ids[it] }
+                    } else {
+                        descr.tracer.add(coveredInstructions)
+                    }
 
-                val earlierStateBeforeSize = coverageToMinStateBeforeSize[trieNode]
-                val curStateBeforeSize = concreteExecutionResult.stateBefore.calculateSize()
+                    val coverageKey = concreteExecutionResult.coverage.hitCounts ?: trieNode
+                    val earlierStateBeforeSize = coverageToMinStateBeforeSize[coverageKey]
+                    val curStateBeforeSize = concreteExecutionResult.stateBefore.calculateSize()
 
-                if (earlierStateBeforeSize == null || curStateBeforeSize < earlierStateBeforeSize)
-                    coverageToMinStateBeforeSize[trieNode] = curStateBeforeSize
-                else {
-                    if (++attempts >= attemptsLimit) {
-                        return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.STOP)
+                    if (earlierStateBeforeSize == null || curStateBeforeSize < earlierStateBeforeSize)
+                        coverageToMinStateBeforeSize[coverageKey] = curStateBeforeSize
+                    else {
+                        if (++attempts >= attemptsLimit) {
+                            return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.STOP)
+                        }
+                        return@runJavaFuzzing BaseFeedback(result = trieNode, control = Control.CONTINUE)
                     }
-                    return@runJavaFuzzing BaseFeedback(result = trieNode, control = Control.CONTINUE)
-                }
-            } else {
-                logger.error { "Coverage is empty for $methodUnderTest with $values" }
-                if (result is UtSandboxFailure) {
-                    val stackTraceElements = result.exception.stackTrace.reversed()
-                    if (errorStackTraceTracker.add(stackTraceElements).count > 1) {
-                        return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.PASS)
+                } else {
+                    logger.error { "Coverage is empty for $methodUnderTest with $values" }
+                    if (result is UtSandboxFailure) {
+                        val stackTraceElements = result.exception.stackTrace.reversed()
+                        if (errorStackTraceTracker.add(stackTraceElements).count > 1) {
+                            return@runJavaFuzzing BaseFeedback(result = Trie.emptyNode(), control = Control.PASS)
+                        }
                     }
                 }
-            }
 
-            emit(
-                UtFuzzedExecution(
-                    stateBefore = concreteExecutionResult.stateBefore,
-                    stateAfter = concreteExecutionResult.stateAfter,
-                    result = concreteExecutionResult.result,
-                    coverage = concreteExecutionResult.coverage,
-                    fuzzingValues = values,
-                    fuzzedMethodDescription = descr.description,
-                    instrumentation = concreteExecutionResult.newInstrumentation ?: emptyList()
+                send(
+                    UtFuzzedExecution(
+                        stateBefore = concreteExecutionResult.stateBefore,
+                        stateAfter = concreteExecutionResult.stateAfter,
+                        result = concreteExecutionResult.result,
+                        coverage = concreteExecutionResult.coverage,
+                        fuzzingValues = values,
+                        fuzzedMethodDescription = descr.description,
+                        instrumentation = concreteExecutionResult.newInstrumentation ?: emptyList()
+                    )
                 )
-            )
 
-            testEmittedByFuzzer++
-            BaseFeedback(result = trieNode ?: Trie.emptyNode(), control = Control.CONTINUE)
+                testEmittedByFuzzer++
+                BaseFeedback(result = trieNode ?: Trie.emptyNode(), control = Control.CONTINUE)
+            }
         }
-    }
+    }.buffer(Channel.RENDEZVOUS)
 
     private suspend fun FlowCollector<UtResult>.emitFailedConcreteExecutionResult(
         stateBefore: EnvironmentModels,
         e: Throwable
     ) {
-        val failedConcreteExecution = UtFailedExecution(
-            stateBefore = stateBefore,
-            result = UtConcreteExecutionFailure(e)
-        )
-
-        emit(failedConcreteExecution)
+        emit(failedConcreteExecution(stateBefore, e))
     }
 
+    private fun failedConcreteExecution(stateBefore: EnvironmentModels, e: Throwable) = UtFailedExecution(
+        stateBefore = stateBefore,
+        result = UtConcreteExecutionFailure(e)
+    )
+
     private suspend fun FlowCollector<UtResult>.consumeTerminalState(
         state: ExecutionState,
     ) {
@@ -592,8 +614,9 @@ class UtBotSymbolicEngine(
             requireNotNull(solver.lastStatus as? UtSolverStatusSAT) { "The state must be SAT!" }
         }
 
-        val predictedTestName = Predictors.testName.predict(state.path)
-        Predictors.testName.provide(state.path, predictedTestName, "")
+        val path = state.path
+        val predictedTestName = Predictors.testName.predict(path)
+        Predictors.testName.provide(path, predictedTestName, "")
 
         // resolving
         val resolver = Resolver(
@@ -810,6 +833,23 @@ suspend fun ConcreteExecutor<UtConcreteExecutionResult, Instrumentation<UtConcre
     )
 ).convertToAssemble(methodUnderTest.classId.packageName)
 
+/**
+ * Executes [methodUnderTest] concretely once for each element of [executionData] in one request to the instrumented process.
+ *
+ * @see ConcreteExecutor.executeBatchAsync
+ */
+fun ConcreteExecutor<UtConcreteExecutionResult, Instrumentation<UtConcreteExecutionResult>>.executeConcretelyBatch(
+    methodUnderTest: ExecutableId,
+    executionData: List<UtConcreteExecutionData>,
+): Flow<IndexedValue<Result<UtConcreteExecutionResult>>> = executeBatchAsync(
+    methodUnderTest.classId.name,
+    methodUnderTest.signature,
+    arrayOf(),
+    executionData,
+).map { (index, result) ->
+    IndexedValue(index, result.mapCatching { it.convertToAssemble(methodUnderTest.classId.packageName) })
+}
+
 /**
  * Before pushing our states for concrete execution, we have to be sure that every state is consistent.
  * For now state could be inconsistent in case MUT parameters are wrappers that are not fully visited.
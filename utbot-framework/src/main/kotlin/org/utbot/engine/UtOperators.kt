@@ -10,6 +10,7 @@ import org.utbot.engine.pc.UtIntSort
 import org.utbot.engine.pc.UtOpExpression
 import org.utbot.engine.pc.UtSort
 import org.utbot.engine.pc.alignSort
+import org.utbot.engine.pc.interned
 import org.utbot.engine.z3.BinOperator
 import org.utbot.engine.z3.BoolOperator
 import kotlin.reflect.KClass
@@ -76,15 +77,15 @@ sealed class UtBinOperator(
     private val sort: (PrimitiveValue, PrimitiveValue) -> UtSort = ::maxSort
 ) : UtOperator<UtOpExpression>(delegate) {
     override operator fun invoke(left: PrimitiveValue, right: PrimitiveValue): UtOpExpression =
-        UtOpExpression(this, left, right, sort(left, right))
+        UtOpExpression(this, left, right, sort(left, right)).interned()
 }
 
 sealed class UtBoolOperator(delegate: BoolOperator) : UtOperator<UtBoolOpExpression>(delegate) {
     override operator fun invoke(left: PrimitiveValue, right: PrimitiveValue): UtBoolOpExpression =
-        UtBoolOpExpression(this, left, right)
+        UtBoolOpExpression(this, left, right).interned()
 
     operator fun invoke(left: PrimitiveValue, right: Int): UtBoolOpExpression =
-        UtBoolOpExpression(this, left, right.toPrimitiveValue())
+        UtBoolOpExpression(this, left, right.toPrimitiveValue()).interned()
 }
 
 object Le : UtBoolOperator(org.utbot.engine.z3.Le)
@@ -0,0 +1,154 @@
+package org.utbot.engine.pc
+
+import mu.KotlinLogging
+import org.utbot.common.md5
+import org.utbot.engine.types.TypeRegistry
+import org.utbot.framework.UtSettings
+import java.io.File
+import java.io.IOException
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Cache of verdicts of [UtSolver] checks of hard constraints without assumptions.
+ *
+ * The cache belongs to a [Z3SolverPool], so it is shared by the states of one symbolic run only:
+ * constraints refer to types by their ids in the [TypeRegistry] of the run, and equal constraints
+ * of different runs may mean different things.
+ *
+ * UNSAT verdicts are kept with LRU eviction up to [size] entries. SAT verdicts keep a z3 model,
+ * so no more than [MAX_SAT_STATUSES] of them are kept.
+ *
+ * If [persistentStore] is set, UNSAT verdicts are also looked up in it by a hash of z3 representation
+ * of the constraints, which contains the type ids themselves, so it is valid for any run.
+ *
+ * @see UtSettings.smtQueryCacheSize
+ */
+class SmtQueryCache(
+    private val size: Int,
+    private val translator: Z3TranslatorVisitor,
+    private val persistentStore: PersistentUnsatStore? = null,
+) {
+    private val unsat = lruMap<Set<UtBoolExpression>, Unit>(size)
+
+    private val sat = lruMap<Set<UtBoolExpression>, UtSolverStatusSAT>(minOf(size, MAX_SAT_STATUSES))
+
+    /**
+     * Hashes of z3 representation of single constraints, a hash of a set of constraints is combined from them.
+     */
+    private val persistentHashes = hashMapOf<UtBoolExpression, PersistentHash>()
+
+    var hits: Long = 0
+        private set
+
+    var misses: Long = 0
+        private set
+
+    /**
+     * Returns a verdict previously found for [hard] constraints, SAT verdicts are returned only if [withSat] is set.
+     */
+    fun find(hard: Set<UtBoolExpression>, withSat: Boolean): UtSolverStatus? {
+        val status = (if (withSat) sat[hard] else null) ?: when {
+            hard in unsat -> UtSolverStatusUNSAT(UtSolverStatusKind.UNSAT)
+            persistentStore != null && persistentKey(hard) in persistentStore -> {
+                unsat[hard] = Unit
+                UtSolverStatusUNSAT(UtSolverStatusKind.UNSAT)
+            }
+            else -> null
+        }
+        if (status != null) hits++ else misses++
+        return status
+    }
+
+    fun putSat(hard: Set<UtBoolExpression>, status: UtSolverStatusSAT) {
+        sat[hard] = status
+    }
+
+    fun putUnsat(hard: Set<UtBoolExpression>) {
+        unsat[hard] = Unit
+        persistentStore?.add(persistentKey(hard))
+    }
+
+    /**
+     * Key of [hard] constraints that doesn't depend on the run.
+     *
+     * Hashes of the constraints are summed up, so the key doesn't depend on their order,
+     * and every constraint is translated and hashed once.
+     */
+    private fun persistentKey(hard: Set<UtBoolExpression>): String {
+        var high = 0L
+        var low = 0L
+        for (constraint in hard) {
+            val hash = persistentHashes.getOrPut(constraint) {
+                val md5 = translator.translate(constraint).toString().md5()
+                PersistentHash(
+                    java.lang.Long.parseUnsignedLong(md5.substring(0, 16), 16),
+                    java.lang.Long.parseUnsignedLong(md5.substring(16), 16)
+                )
+            }
+            high += hash.high
+            low += hash.low
+        }
+        return "%016x%016x".format(high, low)
+    }
+
+    override fun toString(): String =
+        "SMT query cache: hits = $hits, misses = $misses, unsat = ${unsat.size}, sat = ${sat.size}"
+
+    private class PersistentHash(val high: Long, val low: Long)
+
+    companion object {
+        const val MAX_SAT_STATUSES = 256
+
+        private fun <K, V> lruMap(maxSize: Int) = object : LinkedHashMap<K, V>(16, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<K, V>): Boolean = size > maxSize
+        }
+    }
+}
+
+/**
+ * Keys of unsatisfiable sets of constraints kept in a [file] between runs, see [SmtQueryCache].
+ *
+ * The file is read once, new keys are appended to it.
+ */
+class PersistentUnsatStore private constructor(private val file: File) {
+    private val keys = hashSetOf<String>()
+
+    init {
+        try {
+            if (file.exists()) {
+                file.useLines { lines -> lines.filterTo(keys) { it.isNotBlank() } }
+            } else {
+                file.absoluteFile.parentFile?.mkdirs()
+            }
+        } catch (e: IOException) {
+            logger.warn(e) { "Cannot read SMT query cache from $file" }
+        }
+    }
+
+    @Synchronized
+    operator fun contains(key: String): Boolean = key in keys
+
+    @Synchronized
+    fun add(key: String) {
+        if (!keys.add(key)) {
+            return
+        }
+        try {
+            file.appendText("$key\n")
+        } catch (e: IOException) {
+            logger.warn(e) { "Cannot write SMT query cache to $file" }
+        }
+    }
+
+    companion object {
+        private val stores = hashMapOf<File, PersistentUnsatStore>()
+
+        /**
+         * Returns the store of the file at [path], stores are shared by all the runs in the process.
+         */
+        @Synchronized
+        fun of(path: String): PersistentUnsatStore =
+            File(path).absoluteFile.let { stores.getOrPut(it) { PersistentUnsatStore(it) } }
+    }
+}
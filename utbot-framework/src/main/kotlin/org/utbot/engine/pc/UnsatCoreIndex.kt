@@ -0,0 +1,62 @@
+package org.utbot.engine.pc
+
+import org.utbot.framework.UtSettings
+
+/**
+ * Index of unsat cores of hard constraints of one symbolic run, it belongs to a [Z3SolverPool].
+ *
+ * Any set of constraints that contains a known core is unsatisfiable, so such path conditions
+ * are rejected without calling the solver. Cores are indexed by every constraint they contain,
+ * therefore a check costs a lookup per constraint plus a subset check per candidate core.
+ *
+ * Cores are not shared between runs, as constraints refer to types by their ids in the registry of a run.
+ *
+ * The oldest cores are evicted when there are more than [size] of them.
+ *
+ * @see UtSettings.useUnsatCoreSubsumption
+ */
+class UnsatCoreIndex(private val size: Int = UtSettings.unsatCoreIndexSize) {
+    private val cores = ArrayDeque<Set<UtBoolExpression>>()
+    private val coresByConstraint = hashMapOf<UtBoolExpression, MutableList<Set<UtBoolExpression>>>()
+
+    var hits: Long = 0
+        private set
+
+    fun add(core: Set<UtBoolExpression>) {
+        if (core.isEmpty() || subsumesImpl(core, core)) {
+            return
+        }
+        cores.addLast(core)
+        core.forEach { coresByConstraint.getOrPut(it) { mutableListOf() } += core }
+        while (cores.size > size) {
+            val evicted = cores.removeFirst()
+            evicted.forEach { constraint ->
+                val list = coresByConstraint[constraint] ?: return@forEach
+                list.removeIf { it === evicted }
+                if (list.isEmpty()) {
+                    coresByConstraint.remove(constraint)
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether [hard] constraints contain a known unsat core.
+     *
+     * @param candidates constraints from [hard] one of which must be in the core. Usually, there are
+     * constraints added since the last check of the same path condition.
+     */
+    fun subsumes(hard: Set<UtBoolExpression>, candidates: Collection<UtBoolExpression> = hard): Boolean =
+        subsumesImpl(hard, candidates).also { if (it) hits++ }
+
+    override fun toString(): String = "Unsat core index: hits = $hits, cores = ${cores.size}"
+
+    private fun subsumesImpl(hard: Set<UtBoolExpression>, candidates: Collection<UtBoolExpression>): Boolean {
+        if (cores.isEmpty()) {
+            return false
+        }
+        return candidates.any { constraint ->
+            coresByConstraint[constraint]?.any { core -> core.size <= hard.size && hard.containsAll(core) } ?: false
+        }
+    }
+}
@@ -192,7 +192,7 @@ data class UtArrayMultiStoreExpression(
                 )
                 is UtArrayMultiStoreExpression -> UtArrayMultiStoreExpression(array.initial, array.stores.add(store))
                 else -> error("Unexpected store into ${array::class}")
-            }
+            }.interned()
         }
     }
 }
@@ -503,9 +503,9 @@ data class UtAddrExpression private constructor(val internal: UtExpression) : Ut
     companion object {
         operator fun invoke(internal: UtExpression) =
             if (internal is UtAddrExpression) internal
-            else UtAddrExpression(internal)
+            else UtAddrExpression(internal).interned()
 
-        operator fun invoke(addr: Int) = UtAddrExpression(mkInt(addr))
+        operator fun invoke(addr: Int) = UtAddrExpression(mkInt(addr)).interned()
     }
 
     override val hashCode = internal.hashCode()
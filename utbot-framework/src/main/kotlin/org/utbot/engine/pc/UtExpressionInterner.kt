@@ -0,0 +1,97 @@
+package org.utbot.engine.pc
+
+import com.google.common.collect.Interner
+import com.google.common.collect.Interners
+import org.utbot.framework.UtSettings
+
+/**
+ * Gives structurally equal expressions built by the builders (see [mkEq], [mkAnd], [select] and others)
+ * one canonical instance.
+ *
+ * Expressions compare their subexpressions with `===` first, so comparison of expressions built
+ * from canonical subexpressions does not descend into them, and identity caches of
+ * [Z3TranslatorVisitor] and [Simplificator] hit for equal expressions built by different states.
+ *
+ * Canonical instances are weakly referenced, so they are collected with the last state using them.
+ * The interner is shared by all the threads.
+ *
+ * @param enabled if false, expressions are returned as is.
+ */
+class UtExpressionInterner(private val enabled: Boolean) {
+    private val interner: Interner<UtExpression> = Interners.newWeakInterner()
+
+    @Suppress("UNCHECKED_CAST")
+    fun <T : UtExpression> intern(expr: T): T {
+        if (!enabled) {
+            return expr
+        }
+        // equal expressions have the same class, see their equals
+        val canonical = interner.intern(expr) as T
+        // expressions with literals of different sorts with the same size are equal, their sorts should not be mixed up
+        return if (sortsMatch(canonical, expr)) canonical else expr
+    }
+
+    companion object {
+        /**
+         * Interner of the expression builders, [UtSettings.useExpressionInterning] is read once when it is created.
+         */
+        val default = UtExpressionInterner(UtSettings.useExpressionInterning)
+
+        /**
+         * Checks that equal expressions [first] and [second] have the same sorts of all their subexpressions.
+         *
+         * Identical subexpressions are not compared, so it is cheap for expressions built from canonical ones.
+         * Expressions with unknown structure are considered to be different unless they are identical.
+         */
+        private fun sortsMatch(first: UtExpression, second: UtExpression): Boolean {
+            if (first === second) return true
+            if (first.sort != second.sort) return false
+            return when (first) {
+                is UtBvLiteral, is UtBvConst, is UtFpLiteral, is UtFpConst,
+                is UtBoolConst, is UtBoolLiteral, is UtMkArrayExpression -> true
+                is UtAddrExpression -> sortsMatch(first.internal, (second as UtAddrExpression).internal)
+                is UtEqExpression -> {
+                    second as UtEqExpression
+                    sortsMatch(first.left, second.left) && sortsMatch(first.right, second.right)
+                }
+                is NotBoolExpression -> sortsMatch(first.expr, (second as NotBoolExpression).expr)
+                is UtOrBoolExpression -> sortsMatch(first.exprs, (second as UtOrBoolExpression).exprs)
+                is UtAndBoolExpression -> sortsMatch(first.exprs, (second as UtAndBoolExpression).exprs)
+                is UtOpExpression -> {
+                    second as UtOpExpression
+                    sortsMatch(first.left.expr, second.left.expr) && sortsMatch(first.right.expr, second.right.expr)
+                }
+                is UtBoolOpExpression -> {
+                    second as UtBoolOpExpression
+                    sortsMatch(first.left.expr, second.left.expr) && sortsMatch(first.right.expr, second.right.expr)
+                }
+                is UtCastExpression -> sortsMatch(first.variable.expr, (second as UtCastExpression).variable.expr)
+                is UtConstArrayExpression -> sortsMatch(first.constValue, (second as UtConstArrayExpression).constValue)
+                is UtArraySelectExpression -> {
+                    second as UtArraySelectExpression
+                    sortsMatch(first.arrayExpression, second.arrayExpression) && sortsMatch(first.index, second.index)
+                }
+                is UtArrayMultiStoreExpression -> {
+                    second as UtArrayMultiStoreExpression
+                    sortsMatch(first.initial, second.initial) && first.stores.indices.all {
+                        val firstStore = first.stores[it]
+                        val secondStore = second.stores[it]
+                        sortsMatch(firstStore.index, secondStore.index) && sortsMatch(firstStore.value, secondStore.value)
+                    }
+                }
+                is UtIteExpression -> {
+                    second as UtIteExpression
+                    sortsMatch(first.condition, second.condition) &&
+                            sortsMatch(first.thenExpr, second.thenExpr) &&
+                            sortsMatch(first.elseExpr, second.elseExpr)
+                }
+                else -> false
+            }
+        }
+
+        private fun sortsMatch(first: List<UtExpression>, second: List<UtExpression>): Boolean =
+            first.indices.all { sortsMatch(first[it], second[it]) }
+    }
+}
+
+fun <T : UtExpression> T.interned(): T = UtExpressionInterner.default.intern(this)
@@ -27,8 +27,6 @@ import com.microsoft.z3.Params
 import com.microsoft.z3.Solver
 import com.microsoft.z3.Status.SATISFIABLE
 import com.microsoft.z3.Status.UNSATISFIABLE
-import kotlinx.collections.immutable.PersistentSet
-import kotlinx.collections.immutable.persistentHashSetOf
 import mu.KotlinLogging
 import org.utbot.engine.symbolic.asAssumption
 import org.utbot.engine.symbolic.emptyAssumption
@@ -41,26 +39,26 @@ import soot.Type
 private val logger = KotlinLogging.logger {}
 
 
-fun mkByte(value: Byte): UtBvExpression = UtBvLiteral(value, UtByteSort)
-fun mkChar(value: Char): UtBvExpression = UtBvLiteral(value.toInt(), UtCharSort)
-fun mkChar(value: Int): UtBvExpression = UtBvLiteral(value, UtCharSort)
-fun mkShort(value: Short): UtBvExpression = UtBvLiteral(value, UtShortSort)
-fun mkInt(value: Int): UtBvExpression = UtBvLiteral(value, UtIntSort)
-fun mkLong(value: Long): UtBvExpression = UtBvLiteral(value, UtLongSort)
-fun mkBVConst(name: String, sort: UtBvSort): UtBvExpression = UtBvConst(name, sort)
+fun mkByte(value: Byte): UtBvExpression = UtBvLiteral(value, UtByteSort).interned()
+fun mkChar(value: Char): UtBvExpression = UtBvLiteral(value.toInt(), UtCharSort).interned()
+fun mkChar(value: Int): UtBvExpression = UtBvLiteral(value, UtCharSort).interned()
+fun mkShort(value: Short): UtBvExpression = UtBvLiteral(value, UtShortSort).interned()
+fun mkInt(value: Int): UtBvExpression = UtBvLiteral(value, UtIntSort).interned()
+fun mkLong(value: Long): UtBvExpression = UtBvLiteral(value, UtLongSort).interned()
+fun mkBVConst(name: String, sort: UtBvSort): UtBvExpression = UtBvConst(name, sort).interned()
 
-fun mkFloat(value: Float): UtFpExpression = UtFpLiteral(value, Float.SIZE_BITS)
-fun mkDouble(value: Double): UtFpExpression = UtFpLiteral(value, Double.SIZE_BITS)
-fun mkFpConst(name: String, size: Int): UtFpExpression = UtFpConst(name, size)
+fun mkFloat(value: Float): UtFpExpression = UtFpLiteral(value, Float.SIZE_BITS).interned()
+fun mkDouble(value: Double): UtFpExpression = UtFpLiteral(value, Double.SIZE_BITS).interned()
+fun mkFpConst(name: String, size: Int): UtFpExpression = UtFpConst(name, size).interned()
 
 // We have int type here cause we use it for addresses only
 fun addrEq(left: UtAddrExpression, right: UtAddrExpression): UtBoolExpression =
     Eq(left.toIntValue(), right.toIntValue())
 
-fun mkEq(left: UtExpression, right: UtExpression): UtBoolExpression = UtEqExpression(left, right)
+fun mkEq(left: UtExpression, right: UtExpression): UtBoolExpression = UtEqExpression(left, right).interned()
 
-fun mkBoolConst(name: String): UtBoolExpression = UtBoolConst(name)
-fun mkNot(boolExpr: UtBoolExpression): UtBoolExpression = NotBoolExpression(boolExpr)
+fun mkBoolConst(name: String): UtBoolExpression = UtBoolConst(name).interned()
+fun mkNot(boolExpr: UtBoolExpression): UtBoolExpression = NotBoolExpression(boolExpr).interned()
 fun mkOr(vararg expr: UtBoolExpression): UtBoolExpression = mkOr(expr.toList())
 fun mkOr(exprs: List<UtBoolExpression>): UtBoolExpression = reduceOr(exprs)
 fun mkAnd(vararg expr: UtBoolExpression): UtBoolExpression = mkAnd(expr.toList())
@@ -68,12 +66,12 @@ fun mkAnd(exprs: List<UtBoolExpression>): UtBoolExpression = reduceAnd(exprs)
 
 private fun reduceOr(exprs: List<UtBoolExpression>) =
     exprs.filterNot { it == UtFalse }.let {
-        if (it.isEmpty()) mkFalse() else it.singleOrNull() ?: UtOrBoolExpression(it)
+        if (it.isEmpty()) mkFalse() else it.singleOrNull() ?: UtOrBoolExpression(it).interned()
     }
 
 private fun reduceAnd(exprs: List<UtBoolExpression>) =
     exprs.filterNot { it == UtTrue }.let {
-        if (it.isEmpty()) mkTrue() else it.singleOrNull() ?: UtAndBoolExpression(it)
+        if (it.isEmpty()) mkTrue() else it.singleOrNull() ?: UtAndBoolExpression(it).interned()
     }
 
 fun mkEq(left: PrimitiveValue, right: PrimitiveValue): UtBoolExpression = Eq(left, right)
@@ -83,13 +81,13 @@ fun mkBool(boolean: Boolean): UtBoolLiteral = if (boolean) UtTrue else UtFalse
 
 //fun mkIndexSort(vararg index: UtBvSort): UtMultiIndexSort = UtMultiIndexSort(index)
 fun mkArrayConst(name: String, index: UtSort, value: UtSort): UtMkArrayExpression =
-    UtMkArrayExpression(name, UtArraySort(index, value))
+    UtMkArrayExpression(name, UtArraySort(index, value)).interned()
 
 // creates an array with "hard" const value (as const ...)
 fun mkArrayWithConst(arraySort: UtArraySort, value: UtExpression): UtConstArrayExpression =
-    UtConstArrayExpression(value, arraySort)
+    UtConstArrayExpression(value, arraySort).interned()
 
-fun UtExpression.select(index: UtExpression) = UtArraySelectExpression(this, index)
+fun UtExpression.select(index: UtExpression) = UtArraySelectExpression(this, index).interned()
 fun UtExpression.select(outerIndex: UtExpression, nestedIndex: UtExpression) =
     this.select(outerIndex).select(nestedIndex)
 
@@ -97,11 +95,11 @@ fun UtExpression.store(index: UtExpression, elem: UtExpression) =
     UtArrayMultiStoreExpression(this, index, elem)
 
 fun PrimitiveValue.align(): PrimitiveValue = when (type) {
-    is ByteType, is ShortType, is CharType -> UtCastExpression(this, IntType.v()).toIntValue()
+    is ByteType, is ShortType, is CharType -> UtCastExpression(this, IntType.v()).interned().toIntValue()
     else -> this
 }
 
-fun PrimitiveValue.cast(type: Type) = PrimitiveValue(type, UtCastExpression(this, type))
+fun PrimitiveValue.cast(type: Type) = PrimitiveValue(type, UtCastExpression(this, type).interned())
 
 fun Context.mkDefaultParams(timeout: Int): Params = mkParams().apply {
     add("array.extensional", false)
@@ -124,7 +122,6 @@ data class UtSolver constructor(
     //params to pass to solver
     private val params: Params = context.mkDefaultParams(checkSolverTimeoutMillis),
 
-    //these constraints.hard are already added to z3solver
     private var constraints: BaseQuery = Query(),
 
     // Constraints that should not be added in the solver as hypothesis.
@@ -132,15 +129,13 @@ data class UtSolver constructor(
     // It is required to have unsat cores with them.
     var assumption: Assumption = emptyAssumption(),
 
-    //new constraints for solver (kind of incremental behavior)
-    private var hardConstraintsNotYetAddedToZ3Solver: PersistentSet<UtBoolExpression> = persistentHashSetOf(),
-
-    //real z3 solver, invariant are always that constraints.hard are added in it, while hardConstraintsNotYetAddedToZ3Solver are not
-    private val z3Solver: Solver = context.mkSolver().also { it.setParameters(params) }
+    //real z3 solvers shared by this solver and all its copies, constraints.hard are asserted in one of them at `check`
+    private val solverPool: Z3SolverPool = Z3SolverPool(context, params, typeRegistry)
 
 ) : AutoCloseable {
 
-    private val translator: Z3TranslatorVisitor = Z3TranslatorVisitor(context, typeRegistry)
+    private val translator: Z3TranslatorVisitor
+        get() = solverPool.translator
 
     /**
      * Constraints from the [assumption] that are not satisfiable.
@@ -148,7 +143,7 @@ data class UtSolver constructor(
      */
     internal val failedAssumptions = mutableListOf<UtBoolExpression>()
 
-    //protection against solver reusage
+    //only the first copy keeps the assumptions of this solver
     private var canBeCloned: Boolean = true
 
     val simplificator: Simplificator
@@ -166,6 +161,8 @@ data class UtSolver constructor(
         typeRegistry
     ) {
         context.mkDefaultParams(timeout)
+        // the pool is closed before the context its solvers belong to
+        trackableResources += solverPool
         trackableResources += context
     }
 
@@ -176,17 +173,22 @@ data class UtSolver constructor(
 
     fun add(hard: HardConstraint, soft: SoftConstraint, assumption: Assumption): UtSolver {
         // status can implicitly change here to UNDEFINED or UNSAT
-        val newConstraints = constraints.with(hard.constraints, soft.constraints, assumption.constraints)
+        val newConstraints = constraints.with(hard.constraints, soft.constraints, assumption.constraints).let {
+            // a known unsat core must contain a new constraint, otherwise this solver would be already UNSAT
+            val unsatCoreIndex = solverPool.unsatCoreIndex
+            if (unsatCoreIndex != null && it.status !is UtSolverStatusUNSAT && unsatCoreIndex.subsumes(it.hard, it.lastAdded)) {
+                it.withStatus(UtSolverStatusUNSAT(UNSAT))
+            } else {
+                it
+            }
+        }
         val wantClone = (expectUndefined && newConstraints.status is UtSolverStatusUNDEFINED)
                 || (!expectUndefined && newConstraints.status !is UtSolverStatusUNSAT)
 
         return if (wantClone && canBeCloned && assumption.constraints.isEmpty()) {
-            // try to reuse z3 Solver with value SAT when possible
+            // keep assumptions of this solver when possible
             canBeCloned = false
-            copy(
-                constraints = newConstraints,
-                hardConstraintsNotYetAddedToZ3Solver = hardConstraintsNotYetAddedToZ3Solver.addAll(newConstraints.lastAdded),
-            )
+            copy(constraints = newConstraints)
         } else {
             // We pass here undefined status to force calculation
             // at the next `check` call. Otherwise, we'd ignore
@@ -196,15 +198,11 @@ data class UtSolver constructor(
             } else {
                 newConstraints
             }
-            /*
-            Create new solver to add another constraints (new branches)
-            New solver hasn't already added constraints thus we must add them again
-            */
+            // z3 solver for new constraints is selected from the pool at `check`,
+            // it reuses scopes with constraints common with other branches
             copy(
                 constraints = constraintsWithStatus,
-                hardConstraintsNotYetAddedToZ3Solver = newConstraints.hard,
                 assumption = newConstraints.assumptions.asAssumption(),
-                z3Solver = context.mkSolver().also { it.setParameters(params) },
             )
         }
     }
@@ -214,7 +212,21 @@ data class UtSolver constructor(
             return lastStatus
         }
 
-        val translatedSoft = if (respectSoft && preferredCexOption) {
+        if (solverPool.unsatCoreIndex?.subsumes(constraints.hard) == true) {
+            val status = UtSolverStatusUNSAT(UNSAT)
+            this.constraints = this.constraints.withStatus(status)
+            return status
+        }
+
+        val usesSoft = respectSoft && preferredCexOption && constraints.soft.isNotEmpty()
+        // verdicts depend only on hard constraints when there are no assumptions
+        val queryCache = solverPool.queryCache?.takeIf { assumption.constraints.isEmpty() }
+        queryCache?.find(constraints.hard, withSat = !usesSoft)?.let { cachedStatus ->
+            this.constraints = this.constraints.withStatus(cachedStatus)
+            return cachedStatus
+        }
+
+        val translatedSoft = if (usesSoft) {
             constraints.soft.translate()
         } else {
             mutableMapOf()
@@ -222,33 +234,41 @@ data class UtSolver constructor(
 
         val translatedAssumes = assumption.constraints.translate()
 
+        val scopedSolver = solverPool.select(constraints.hard)
+        val z3Solver = scopedSolver.solver
+
         val statusHolder = logger.trace().measureTime({ "High level check(): " }, { it }) {
-            Predictors.smtIncremental.learnOn(IncrementalData(constraints.hard, hardConstraintsNotYetAddedToZ3Solver)) {
-                hardConstraintsNotYetAddedToZ3Solver.forEach { z3Solver.add(translator.translate(it) as BoolExpr) }
+            Predictors.smtIncremental.learnOn(IncrementalData(constraints.hard, scopedSolver.notAsserted)) {
+                scopedSolver.assertNotAsserted()
 
                 logger.trace {
                     val str = z3Solver.toString()
                     "${str.md5()}\n$str"
                 }
 
-                when (val status = check(translatedSoft, translatedAssumes)) {
+                when (val status = check(z3Solver, translatedSoft, translatedAssumes)) {
                     SAT -> UtSolverStatusSAT(translator, z3Solver)
                     else -> UtSolverStatusUNSAT(status)
                 }
             }
         }
+        if (queryCache != null) {
+            when {
+                statusHolder is UtSolverStatusSAT && !usesSoft -> queryCache.putSat(constraints.hard, statusHolder)
+                statusHolder.statusKind == UNSAT -> queryCache.putUnsat(constraints.hard)
+            }
+        }
         this.constraints = this.constraints.withStatus(statusHolder)
-        hardConstraintsNotYetAddedToZ3Solver = persistentHashSetOf()
-
 
         return statusHolder
     }
 
     override fun close() {
-        z3Solver.reset()
+        // z3 solvers are shared with other states through the pool and are released with the context
     }
 
     private fun check(
+        z3Solver: Solver,
         translatedSoft: MutableMap<BoolExpr, UtBoolExpression>,
         translatedAssumptions: MutableMap<BoolExpr, UtBoolExpression>
     ): UtSolverStatusKind {
@@ -273,22 +293,13 @@ data class UtSolver constructor(
                     val failedSoftConstraints = unsatCore.filter { it in translatedSoft.keys }
                     val failedAssumptions = unsatCore.filter { it in translatedAssumptions.keys }
 
-                    // if we don't have any soft constraints and enabled unsat cores
-                    // for hard constraints, then calculate it and print the result using the logger
-                    if (failedSoftConstraints.isEmpty() && failedAssumptions.isEmpty() && UtSettings.enableUnsatCoreCalculationForHardConstraints) {
-                        with(context.mkSolver()) {
-                            check(*z3Solver.assertions)
-                            val constraintsInUnsatCore = this.unsatCore.toList()
-                            logger.debug { "Unsat core: ${constraintsInUnsatCore.prettify()}" }
-                        }
-
+                    // if neither soft constraints nor assumptions are in the unsat core,
+                    // then hard constraints are unsatisfiable themselves
+                    if (failedSoftConstraints.isEmpty() && failedAssumptions.isEmpty()) {
+                        calculateHardUnsatCore()
                         return UNSAT
                     }
 
-                    // we either have soft constraints, or we don't want to find
-                    // an unsat core for hard constraints
-                    if (unsatCore.isEmpty()) return UNSAT
-
                     if (failedSoftConstraints.isNotEmpty()) {
                         failedSoftConstraints.forEach { translatedSoft.remove(it) }
                         // remove soft constraints first, only then try to remove assumptions
@@ -314,6 +325,26 @@ data class UtSolver constructor(
         }
     }
 
+    /**
+     * Calculates an unsat core for unsatisfiable hard constraints if it is required by settings,
+     * logs it and adds it to the [UnsatCoreIndex].
+     */
+    private fun calculateHardUnsatCore() {
+        if (!solverPool.calculatesHardUnsatCores) {
+            return
+        }
+        val trackedHard = constraints.hard.translate()
+        with(solverPool.coreSolver) {
+            reset()
+            if (check(*trackedHard.keys.toTypedArray()) != UNSATISFIABLE) {
+                return
+            }
+            val constraintsInUnsatCore = this.unsatCore.toList()
+            logger.debug { "Unsat core: ${constraintsInUnsatCore.prettify()}" }
+            solverPool.unsatCoreIndex?.add(constraintsInUnsatCore.mapNotNullTo(mutableSetOf()) { trackedHard[it] })
+        }
+    }
+
     private fun Collection<UtBoolExpression>.translate(): MutableMap<BoolExpr, UtBoolExpression> =
         associateByTo(mutableMapOf()) { translator.translate(it) as BoolExpr }
 }
@@ -0,0 +1,140 @@
+package org.utbot.engine.pc
+
+import com.microsoft.z3.BoolExpr
+import com.microsoft.z3.Context
+import com.microsoft.z3.Params
+import com.microsoft.z3.Solver
+import mu.KotlinLogging
+import org.utbot.engine.types.TypeRegistry
+import org.utbot.framework.UtSettings
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Pool of z3 solvers of the same [context] that are shared between all [UtSolver]s of one symbolic run.
+ *
+ * Every solver in the pool keeps a stack of push/pop scopes with constraints asserted in them.
+ * To check a set of hard constraints the solver with the longest prefix of scopes contained in this set is selected,
+ * other scopes are popped and only the missing constraints are asserted in a new scope.
+ * So states with a common path prefix do not translate and assert it again.
+ *
+ * All solvers are released with the [context].
+ */
+class Z3SolverPool(
+    private val context: Context,
+    private val params: Params,
+    typeRegistry: TypeRegistry,
+    private val capacity: Int = UtSettings.z3SolverPoolSize,
+) : AutoCloseable {
+    /**
+     * Translator shared by all the solvers, so the common constraints are translated once.
+     */
+    val translator: Z3TranslatorVisitor = Z3TranslatorVisitor(context, typeRegistry)
+
+    private val solvers = mutableListOf<ScopedSolver>()
+
+    /**
+     * Cache of verdicts shared by all the solvers, null if it is disabled.
+     */
+    val queryCache: SmtQueryCache? = UtSettings.smtQueryCacheSize.takeIf { it > 0 }?.let { size ->
+        val persistentStore = UtSettings.smtQueryCachePath.takeIf { it.isNotEmpty() }?.let { PersistentUnsatStore.of(it) }
+        SmtQueryCache(size, translator, persistentStore)
+    }
+
+    /**
+     * Index of unsat cores shared by all the solvers, null if [UtSettings.useUnsatCoreSubsumption] is disabled.
+     */
+    val unsatCoreIndex: UnsatCoreIndex? = if (UtSettings.useUnsatCoreSubsumption) UnsatCoreIndex() else null
+
+    /**
+     * Whether unsat cores of unsatisfiable hard constraints are calculated, see [coreSolver].
+     */
+    val calculatesHardUnsatCores: Boolean =
+        unsatCoreIndex != null || UtSettings.enableUnsatCoreCalculationForHardConstraints
+
+    /**
+     * Solver calculating unsat cores of hard constraints, it is reset before every calculation.
+     */
+    val coreSolver: Solver by lazy { context.mkSolver().also { it.setParameters(params) } }
+
+    override fun close() {
+        queryCache?.let { logger.debug { "$it" } }
+        unsatCoreIndex?.let { logger.debug { "$it" } }
+    }
+
+    /**
+     * Selects a solver for [hard] constraints and pops its scopes which are not contained in [hard].
+     *
+     * [ScopedSolver.assertNotAsserted] must be called before the solver is used.
+     * The solver can be used until the next call of this method.
+     */
+    fun select(hard: Set<UtBoolExpression>): ScopedSolver {
+        var best: ScopedSolver? = null
+        var bestCommon = -1
+        for (solver in solvers) {
+            val common = solver.commonScopes(hard)
+            if (common > bestCommon) {
+                best = solver
+                bestCommon = common
+            }
+        }
+        if (best == null || bestCommon == 0 && solvers.size < capacity) {
+            best = ScopedSolver(context.mkSolver().also { it.setParameters(params) })
+            solvers += best
+            bestCommon = 0
+        }
+        // move the selected solver to the end, so the least recently used one is replaced first on ties
+        solvers.remove(best)
+        solvers += best
+        best.popTo(bestCommon)
+        best.computeNotAsserted(hard)
+        return best
+    }
+
+    inner class ScopedSolver(val solver: Solver) {
+        private val scopes = mutableListOf<List<UtBoolExpression>>()
+        private val asserted = hashSetOf<UtBoolExpression>()
+
+        /**
+         * Hard constraints from the last [select] call that are not asserted in the [solver] yet.
+         */
+        var notAsserted: List<UtBoolExpression> = emptyList()
+            private set
+
+        internal fun commonScopes(hard: Set<UtBoolExpression>): Int {
+            var common = 0
+            while (common < scopes.size && scopes[common].all { it in hard }) {
+                common++
+            }
+            return common
+        }
+
+        internal fun popTo(depth: Int) {
+            if (depth == scopes.size) {
+                return
+            }
+            solver.pop(scopes.size - depth)
+            while (scopes.size > depth) {
+                asserted.removeAll(scopes.removeLast())
+            }
+        }
+
+        internal fun computeNotAsserted(hard: Set<UtBoolExpression>) {
+            notAsserted = hard.filterNot { it in asserted }
+        }
+
+        /**
+         * Asserts [notAsserted] constraints in a new scope.
+         */
+        fun assertNotAsserted() {
+            if (notAsserted.isEmpty()) {
+                return
+            }
+            solver.push()
+            notAsserted.forEach { solver.add(translator.translate(it) as BoolExpr) }
+            scopes += notAsserted
+            asserted += notAsserted
+            notAsserted = emptyList()
+        }
+    }
+}
@@ -67,7 +67,7 @@ abstract class BasePathSelector(
      * check fast unsat on forks
      */
     private fun checkUnsatIfFork(state: ExecutionState) =
-        state.path.isNotEmpty() && choosingStrategy.graph.isFork(state.path.last()) && checkUnsat(state.solver)
+        state.statePath.lastStmt.let { it != null && choosingStrategy.graph.isFork(it) } && checkUnsat(state.solver)
 
     override fun poll(): ExecutionState? {
         if (stoppingStrategy.shouldStop()) {
@@ -12,7 +12,9 @@ import org.utbot.engine.selectors.strategies.StoppingStrategy
 /**
  * @see <a href=https://files.sri.inf.ethz.ch/website/papers/ccs21-learch.pdf>Learch</a>
  *
- * Calculates reward using neural network, when state is offered, and then peeks state with maximum reward
+ * Calculates reward using neural network, when state is offered, and then peeks state with maximum reward.
+ * The rewards of all the states offered or invalidated since the previous selection are predicted by one call
+ * of [Predictors.stateRewardPredictor].
  *
  * @see choosingStrategy [ChoosingStrategy] for [GreedySearch]
  *
@@ -29,6 +31,9 @@ abstract class MLSelector(
 
     override val name: String
         get() = "NNRewardGuidedSelector"
+
+    protected fun predictRewards(states: List<ExecutionState>): DoubleArray =
+        Predictors.stateRewardPredictor.predict(Array(states.size) { states[it].features.toDoubleArray() })
 }
 
 /**
@@ -43,8 +48,8 @@ class MLSelectorWithoutWeightsRecalculation(
     graph: InterProceduralUnitGraph
 ) : MLSelector(generatedTestCountingStatistics, choosingStrategy, stoppingStrategy, seed, graph) {
     override fun offerImpl(state: ExecutionState) {
-        super.offerImpl(state)
         featureExtractor.extractFeatures(state, generatedTestCountingStatistics.generatedTestsCount)
+        super.offerImpl(state)
     }
 
     override val ExecutionState.weight: Double
@@ -52,11 +57,23 @@ class MLSelectorWithoutWeightsRecalculation(
             reward = reward ?: Predictors.stateRewardPredictor.predict(features)
             return reward as Double
         }
+
+    override fun List<ExecutionState>.weights(): DoubleArray {
+        val unrewarded = filter { it.reward == null }
+        predictRewards(unrewarded).forEachIndexed { i, predicted -> unrewarded[i].reward = predicted }
+        return DoubleArray(size) { this[it].reward as Double }
+    }
+
+    override val ExecutionState.weightKeys: Collection<Any>
+        get() = emptyList()
 }
 
 /**
  * Calculate weight of execution state every time when it needed. It works slower,
- * than without recalculation but features are always relevant
+ * than without recalculation but features are always relevant.
+ *
+ * Only the weights of the states whose features are changed by the statistics updates are recalculated,
+ * if the [featureExtractor] tells the statistics the features depend on.
  */
 class MLSelectorWithWeightsRecalculation(
     generatedTestCountingStatistics: GeneratedTestCountingStatistics,
@@ -65,9 +82,22 @@ class MLSelectorWithWeightsRecalculation(
     seed: Int = 42,
     graph: InterProceduralUnitGraph
 ) : MLSelector(generatedTestCountingStatistics, choosingStrategy, stoppingStrategy, seed, graph) {
+    init {
+        generatedTestCountingStatistics.subscribe(this)
+        featureExtractor.subscribe(this)
+    }
+
     override val ExecutionState.weight: Double
         get() {
             featureExtractor.extractFeatures(this, generatedTestCountingStatistics.generatedTestsCount)
             return Predictors.stateRewardPredictor.predict(features)
         }
+
+    override fun List<ExecutionState>.weights(): DoubleArray {
+        forEach { featureExtractor.extractFeatures(it, generatedTestCountingStatistics.generatedTestsCount) }
+        return predictRewards(this)
+    }
+
+    override val ExecutionState.weightKeys: Collection<Any>?
+        get() = featureExtractor.featureKeys(this)
 }
@@ -18,7 +18,7 @@ class PathsTree(private val random: Random) {
      * Add new node to the tree
      */
     operator fun plusAssign(state: ExecutionState) =
-        root.add(state)
+        root.add(state, state.decisionPath)
 
     /**
      * Choose a state with random path in the tree
@@ -29,7 +29,7 @@ class PathsTree(private val random: Random) {
     /**
      * remove state from the tree or throw NoSuchElementException()
      */
-    fun remove(state: ExecutionState): Boolean = root.remove(state) != null
+    fun remove(state: ExecutionState): Boolean = root.remove(state, state.decisionPath) != null
 
     val size
         get() = root.size
@@ -69,13 +69,16 @@ class PathsTree(private val random: Random) {
                 it.depth <= decisionPath.size && decisionPath[it.depth] == it.decisionNum
             }
 
-        open fun remove(state: ExecutionState): TreeNode? {
-            val ind = nextIndexed(state.decisionPath)
+        /**
+         * The [decisionPath] of the [state] is materialized once for all the levels of the tree.
+         */
+        open fun remove(state: ExecutionState, decisionPath: List<Int>): TreeNode? {
+            val ind = nextIndexed(decisionPath)
             if (ind == -1) {
                 throw NoSuchElementException()
             } else {
                 size -= children[ind].size
-                val node = children[ind].remove(state)
+                val node = children[ind].remove(state, decisionPath)
                 if (node == null) {
                     children.removeAt(ind)
                 } else {
@@ -91,16 +94,16 @@ class PathsTree(private val random: Random) {
             }
         }
 
-        fun add(state: ExecutionState) {
-            val ind = nextIndexed(state.decisionPath)
+        fun add(state: ExecutionState, decisionPath: List<Int>) {
+            val ind = nextIndexed(decisionPath)
 
             if (ind == -1) {
-                children.add(make(state))
+                children.add(make(state, decisionPath))
 
                 size++
             } else {
                 size -= children[ind].size
-                val node = children[ind].apply { add(state) }
+                val node = children[ind].apply { add(state, decisionPath) }
                 size += node.size
 
                 if (children.size == 1 && node !is StatedNode && node.children.size == 1) {
@@ -110,16 +113,16 @@ class PathsTree(private val random: Random) {
             }
         }
 
-        open fun find(state: ExecutionState): StatedNode? =
-            next(state.decisionPath)?.find(state)
+        open fun find(state: ExecutionState, decisionPath: List<Int>): StatedNode? =
+            next(decisionPath)?.find(state, decisionPath)
 
-        private fun make(state: ExecutionState): Node {
+        private fun make(state: ExecutionState, decisionPath: List<Int>): Node {
             return if (depth < state.pathLength - 1) {
-                Node(state.decisionPath[depth + 1], depth + 1).apply {
-                    add(state)
+                Node(decisionPath[depth + 1], depth + 1).apply {
+                    add(state, decisionPath)
                 }
             } else {
-                StatedNode(state.decisionPath.last(), depth + 1, state)
+                StatedNode(state.statePath.lastDecision, depth + 1, state)
             }
         }
     }
@@ -134,25 +137,25 @@ class PathsTree(private val random: Random) {
             size = 1
         }
 
-        override fun find(state: ExecutionState): StatedNode? {
+        override fun find(state: ExecutionState, decisionPath: List<Int>): StatedNode? {
             return if (state.pathLength == depth) {
                 this
             } else {
-                super.find(state)
+                super.find(state, decisionPath)
             }
         }
 
-        override fun remove(state: ExecutionState): TreeNode? {
+        override fun remove(state: ExecutionState, decisionPath: List<Int>): TreeNode? {
             return if (state == state) {
                 return if (children.isEmpty()) {
                     null
                 } else {
                     // remove statement, but node stays
-                    Node(state.decisionPath.last(), depth).apply { children.addAll(this@StatedNode.children) }
+                    Node(state.statePath.lastDecision, depth).apply { children.addAll(this@StatedNode.children) }
                 }
             } else {
                 // don't delete this node as it still holds ExecutionState
-                super.remove(state) ?: this
+                super.remove(state, decisionPath) ?: this
             }
         }
 
@@ -5,74 +5,211 @@ import org.utbot.engine.selectors.BasePathSelector
 import org.utbot.engine.selectors.strategies.ChoosingStrategy
 import org.utbot.engine.selectors.strategies.StoppingStrategy
 import org.utbot.engine.selectors.strategies.StrategyObserver
-import kotlin.properties.Delegates
 import kotlin.random.Random
 
 /**
  * Selects ExecutionState with maximum weight.
  * If there are several states with equal maximum weight, than selects random from them.
+ *
+ * States whose weights are recalculated only after an update of the statistics they depend on (see [weightKeys])
+ * are kept in an indexed max-heap with cached weights, so a selection recalculates only the weights of the states
+ * invalidated or offered since the previous one. The weights of the other states are recalculated on every selection.
+ * All the weights recalculated by a selection are calculated by one call of [weights].
+ * Equal weights are ordered by random tie-breakers, so the state is selected randomly among the best ones.
  */
 abstract class GreedySearch(
     choosingStrategy: ChoosingStrategy,
     stoppingStrategy: StoppingStrategy,
     seed: Int = 42
 ) : BasePathSelector(choosingStrategy, stoppingStrategy), StrategyObserver {
-    private val states = mutableSetOf<ExecutionState>()
+    private class Entry(val state: ExecutionState, val keys: Collection<Any>?) {
+        var weight: Double = 0.0
+        var tieBreaker: Long = 0L
+        var heapIndex: Int = -1
+        var isStale: Boolean = true
+        var isRemoved: Boolean = false
+    }
+
+    private val entries = hashMapOf<ExecutionState, Entry>()
+
+    private val heap = mutableListOf<Entry>()
+
+    /** States whose weights may change at any time, see [weightKeys]. */
+    private val volatileEntries = mutableListOf<Entry>()
+
+    private val entriesByKey = hashMapOf<Any, MutableList<Entry>>()
+
+    private val staleEntries = mutableListOf<Entry>()
 
     private val randomGen: Random = Random(seed)
 
+    /**
+     * Invalidates the weights of all the states.
+     */
     override fun update() {
-        // do nothing by default
+        heap.forEach { markStale(it) }
+    }
+
+    /**
+     * Invalidates the weights of the states depending on [key].
+     */
+    override fun update(key: Any) {
+        entriesByKey[key]?.forEach { markStale(it) }
     }
 
     override fun offerImpl(state: ExecutionState) {
-        states += state
+        if (state in entries) {
+            return
+        }
+        val entry = Entry(state, state.weightKeys)
+        entries[state] = entry
+        if (entry.keys == null) {
+            volatileEntries += entry
+            return
+        }
+        entry.keys.forEach { entriesByKey.getOrPut(it) { mutableListOf() } += entry }
+        // the weight is calculated and the entry is pushed into the heap by the next selection
+        staleEntries += entry
     }
 
     override fun pollImpl(): ExecutionState? = peekImpl()?.also { remove(it) }
 
     /**
-     * Creates set of states with maximum weight and then pick random
+     * Recalculates invalidated weights and peeks the best state of the heap and the volatile states.
      */
     override fun peekImpl(): ExecutionState? {
         if (isEmpty()) {
             return null
         }
 
-        val candidates = mutableListOf<ExecutionState>()
-        var bestWeight by Delegates.notNull<Double>()
+        staleEntries.removeAll { it.isRemoved }
+        val recalculated = staleEntries + volatileEntries
+        val weights = if (recalculated.isEmpty()) DoubleArray(0) else recalculated.map { it.state }.weights()
+        check(weights.size == recalculated.size) { "Got ${weights.size} weights for ${recalculated.size} states" }
 
-        states.forEach {
-            val weight = it.weight
-
-            if (candidates.isEmpty()) {
-                bestWeight = weight
-                candidates += it
+        // the weights are changed one by one, so the heap is broken only by the sifted entry
+        recalculated.forEachIndexed { i, entry ->
+            entry.weight = weights[i]
+            entry.tieBreaker = randomGen.nextLong()
+            if (entry.keys == null) {
+                return@forEachIndexed
+            }
+            if (entry.heapIndex >= 0) {
+                siftDown(siftUp(entry.heapIndex))
             } else {
-                if (bestWeight <= weight) {
-                    if (bestWeight < weight) {
-                        bestWeight = weight
-                        candidates.clear()
-                    }
-                    candidates += it
-                }
+                entry.heapIndex = heap.size
+                heap += entry
+                siftUp(entry.heapIndex)
             }
+            entry.isStale = false
         }
+        staleEntries.clear()
 
-        return candidates.random(randomGen)
+        var best = heap.firstOrNull()
+        for (entry in volatileEntries) {
+            if (best == null || isBetter(entry, best)) {
+                best = entry
+            }
+        }
+
+        return best?.state
     }
 
     override fun removeImpl(state: ExecutionState): Boolean {
-        return states.remove(state)
+        val entry = entries.remove(state) ?: return false
+        entry.isRemoved = true
+        if (entry.keys == null) {
+            volatileEntries.remove(entry)
+            return true
+        }
+        entry.keys.forEach { key ->
+            val keyEntries = entriesByKey.getValue(key)
+            keyEntries.remove(entry)
+            if (keyEntries.isEmpty()) {
+                entriesByKey.remove(key)
+            }
+        }
+
+        val index = entry.heapIndex
+        if (index < 0) {
+            // the entry has not been pushed into the heap yet
+            return true
+        }
+        val last = heap.removeAt(heap.lastIndex)
+        entry.heapIndex = -1
+        if (last !== entry) {
+            heap[index] = last
+            last.heapIndex = index
+            siftDown(siftUp(index))
+        }
+        return true
     }
 
-    override fun isEmpty() = states.isEmpty()
+    override fun isEmpty() = entries.isEmpty()
 
     override fun close() {
-        states.forEach {
+        entries.keys.forEach {
             it.close()
         }
     }
 
+    private fun markStale(entry: Entry) {
+        if (!entry.isStale) {
+            entry.isStale = true
+            staleEntries += entry
+        }
+    }
+
+    private fun isBetter(a: Entry, b: Entry): Boolean =
+        a.weight > b.weight || (a.weight == b.weight && a.tieBreaker > b.tieBreaker)
+
+    private fun siftUp(index: Int): Int {
+        var i = index
+        val entry = heap[i]
+        while (i > 0) {
+            val parent = (i - 1) / 2
+            if (!isBetter(entry, heap[parent])) break
+            heap[i] = heap[parent]
+            heap[i].heapIndex = i
+            i = parent
+        }
+        heap[i] = entry
+        entry.heapIndex = i
+        return i
+    }
+
+    private fun siftDown(index: Int) {
+        var i = index
+        val entry = heap[i]
+        while (true) {
+            var child = 2 * i + 1
+            if (child >= heap.size) break
+            if (child + 1 < heap.size && isBetter(heap[child + 1], heap[child])) {
+                child++
+            }
+            if (!isBetter(heap[child], entry)) break
+            heap[i] = heap[child]
+            heap[i].heapIndex = i
+            i = child
+        }
+        heap[i] = entry
+        entry.heapIndex = i
+    }
+
     protected abstract val ExecutionState.weight: Double
-}
\ No newline at end of file
+
+    /**
+     * Calculates the weights of several states at once, the default implementation calculates them one by one.
+     */
+    protected open fun List<ExecutionState>.weights(): DoubleArray = DoubleArray(size) { this[it].weight }
+
+    /**
+     * Keys of the statistics the weight of the state depends on. The weight is recalculated only after
+     * [update] of all the weights or [update] of one of its keys, so empty keys mean a constant weight.
+     *
+     * Null means that the weight may change after any step of the traverse and is recalculated on every selection.
+     * The state does not change while it is queued, so the keys are calculated once when it is offered.
+     */
+    protected open val ExecutionState.weightKeys: Collection<Any>?
+        get() = null
+}
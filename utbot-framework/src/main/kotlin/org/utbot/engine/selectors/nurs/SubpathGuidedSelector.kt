@@ -17,7 +17,9 @@ class SubpathGuidedSelector(
     stoppingStrategy: StoppingStrategy,
     seed: Int = 42
 ) : GreedySearch(choosingStrategy, stoppingStrategy, seed) {
-
+    init {
+        subpathStatistics.subscribe(this)
+    }
 
     override val name
         get() = "NURS:SubpathGuidedSearch"
@@ -27,4 +29,7 @@ class SubpathGuidedSelector(
      */
     override val ExecutionState.weight: Double
         get() = -subpathStatistics.subpathCount(this).toDouble()
+
+    override val ExecutionState.weightKeys: Collection<Any>
+        get() = listOf(subpathStatistics.subpath(this))
 }
\ No newline at end of file
@@ -6,35 +6,48 @@ import org.utbot.engine.InterProceduralUnitGraph
 import org.utbot.engine.isReturn
 import org.utbot.engine.pathLogger
 import org.utbot.engine.stmts
-import kotlin.math.min
-import kotlinx.collections.immutable.PersistentList
-import kotlinx.collections.immutable.persistentListOf
 import org.utbot.framework.UtSettings.enableLoggingForDroppedStates
 import soot.jimple.Stmt
 import soot.toolkits.graph.ExceptionalUnitGraph
 
 /**
  * calculates distances between stmts
- * - on joins of new graphs recalculates distances between stmts
- * - on traversed updates distances to closest uncovered stmts
+ * - on joins of new graphs calculates distances to return stmts and to uncovered stmts of the joined method
+ * - on traversed updates distances to closest uncovered stmts in the methods whose coverage is changed
+ *
+ * Stmts are numbered in the order of joins, so the stmts of every method have consecutive numbers
+ * and distances are kept in int arrays indexed by the numbers. Distances to the closest uncovered (or return) stmts
+ * of a method are calculated by one breadth-first search from all the uncovered (or return) stmts
+ * along the reversed edges of the method.
  */
 class DistanceStatistics(
     graph: InterProceduralUnitGraph
 ) : TraverseGraphStatistics(graph), ChoosingStrategy {
-    private val sortedDistances = mutableMapOf<Stmt, List<Distance>>()
-    private val distancePointers = mutableMapOf<Stmt, Int>()
-    private val calls: MutableMap<Stmt, MutableSet<Stmt>> = mutableMapOf()
+    /**
+     * Reversed edges of a method with stmts numbered from [first] to `first + size - 1`.
+     * Predecessors of the local stmt `i` are `predecessors[predecessorOffsets[i] until predecessorOffsets[i + 1]]`.
+     */
+    private class MethodGraph(val first: Int, val size: Int, val predecessorOffsets: IntArray, val predecessors: IntArray)
+
+    private val stmtIndices = hashMapOf<Stmt, Int>()
+    private val stmtsByIndex = mutableListOf<Stmt>()
+    private val methodGraphs = mutableListOf<MethodGraph>()
 
     /**
-     * Map represents join relation graph1 in ancestors(graph2) iff exists stmt in graph1 such that graph2 joined to stmt
+     * Index of the method of a stmt in [methodGraphs]
      */
-    private val ancestors = mutableMapOf<ExceptionalUnitGraph, MutableSet<ExceptionalUnitGraph>>()
+    private var stmtMethods = IntArray(INITIAL_CAPACITY)
 
     /**
-     * Map of distances to closest uncovered statements
+     * Distances to closest uncovered statements in the same method
      */
-    private val distanceToClosestUncovered: MutableMap<Stmt, Int> =
-        graph.stmts.associateWithTo(mutableMapOf()) { 0 }
+    private var distanceToClosestUncovered = IntArray(INITIAL_CAPACITY)
+
+    private var closestToReturn = IntArray(INITIAL_CAPACITY)
+
+    private var uncovered = BooleanArray(INITIAL_CAPACITY)
+
+    private var queue = IntArray(INITIAL_CAPACITY)
 
     /**
      * Drops executionState if all the edges on path are covered (with respect to uncovered
@@ -57,85 +70,100 @@ class DistanceStatistics(
 
     fun isCovered(edge: Edge): Boolean = graph.isCovered(edge)
 
-    private val closestToReturn = mutableMapOf<Stmt, Int>()
-
     init {
-        recomputeDistances(graph.graphs)
-        updateDistanceToUncovered()
+        graph.graphs.forEach { addMethod(it) }
+    }
+
+    private fun addMethod(methodGraph: ExceptionalUnitGraph) {
+        val stmts = methodGraph.stmts
+        if (stmts.isEmpty() || stmts.first() in stmtIndices) {
+            return
+        }
+
+        val first = stmtsByIndex.size
+        stmts.forEachIndexed { i, stmt -> stmtIndices[stmt] = first + i }
+        stmtsByIndex += stmts
+        ensureCapacity(stmtsByIndex.size)
+
+        val predecessorsCount = IntArray(stmts.size + 1)
+        val successors = stmts.map { stmt ->
+            graph.succStmts(stmt).mapNotNull { stmtIndices[it]?.takeIf { index -> index >= first } }.also { successors ->
+                successors.forEach { predecessorsCount[it - first + 1]++ }
+            }
+        }
+        for (i in 1..stmts.size) {
+            predecessorsCount[i] += predecessorsCount[i - 1]
+        }
+        val predecessorOffsets = predecessorsCount.copyOf()
+        val predecessors = IntArray(predecessorsCount[stmts.size])
+        successors.forEachIndexed { i, stmtSuccessors ->
+            stmtSuccessors.forEach { predecessors[predecessorsCount[it - first]++] = i }
+        }
+
+        val method = MethodGraph(first, stmts.size, predecessorOffsets, predecessors)
+        stmtMethods.fill(methodGraphs.size, first, first + stmts.size)
+        methodGraphs += method
+
+        method.computeDistances(closestToReturn) { stmtsByIndex[it].isReturn }
+        method.updateDistancesToUncovered()
     }
 
-    private fun recomputeDistances(graphs: List<ExceptionalUnitGraph>) {
-        val used = mutableSetOf<ExceptionalUnitGraph>()
-        val queue = ArrayDeque<ExceptionalUnitGraph>().apply { addAll(graphs) }
-        while (queue.isNotEmpty()) {
-            val u = queue.removeFirst()
-            used += u
-            u.stmts.forEach { recomputeDistancesBFS(it) }
-            queue += (ancestors[u] ?: emptyList()).filterNot { it in used }
+    private fun ensureCapacity(capacity: Int) {
+        if (capacity <= stmtMethods.size) {
+            return
         }
+        val newCapacity = maxOf(capacity, stmtMethods.size * 2)
+        stmtMethods = stmtMethods.copyOf(newCapacity)
+        distanceToClosestUncovered = distanceToClosestUncovered.copyOf(newCapacity)
+        closestToReturn = closestToReturn.copyOf(newCapacity)
+        uncovered = uncovered.copyOf(newCapacity)
+        queue = queue.copyOf(newCapacity)
     }
 
-    private fun recomputeDistancesBFS(stmt: Stmt) {
-        val queue = ArrayDeque<Pair<Stmt, PersistentList<Stmt>>>()
-        val distances = mutableListOf(mutableMapOf(stmt to 0))
-        val minDistances = mutableMapOf<Stmt, Int>()
-        queue += stmt to persistentListOf()
-        while (queue.isNotEmpty()) {
-            val (v, stack) = queue.removeFirst()
-            val callees = calls[v]
-            val i = stack.size
-            val dist = distances[i][v]!!
-            when {
-                callees != null -> callees.forEach { callee ->
-                    if (v in stack) {
-                        return@forEach
-                    } else {
-                        if (distances.size <= i + 1) {
-                            distances.add(mutableMapOf())
-                        }
-                        if (distances[i + 1].getOrDefault(callee, Int.MAX_VALUE) > dist + 1) {
-                            distances[i + 1][callee] = dist + 1
-                            queue += callee to stack.add(v)
-                        }
-                    }
-                }
-                else -> {
-                    for (u in graph.succStmts(v)) {
-                        if (distances[i].getOrDefault(u, Int.MAX_VALUE) > dist + 1) {
-                            distances[i][u] = dist + 1
-                            queue += u to stack
-                        }
-                    }
-                    if (v.isReturn) {
-                        if (stack.isEmpty()) {
-                            minDistances.merge(stmt, dist) { a, b ->
-                                min(a, b)
-                            }
-                        } else {
-                            for (u in graph.succStmts(stack.last())) {
-                                if (distances[i - 1].getOrDefault(u, Int.MAX_VALUE) > dist + 1) {
-                                    distances[i - 1][u] = dist + 1
-                                    queue += u to stack.removeAt(stack.lastIndex)
-                                }
-                            }
-                        }
-                    }
-                }
+    private fun MethodGraph.updateDistancesToUncovered() {
+        for (i in first until first + size) {
+            uncovered[i] = !graph.isCovered(stmtsByIndex[i])
+        }
+        computeDistances(distanceToClosestUncovered) { uncovered[it] }
+    }
+
+    /**
+     * Breadth-first search from all the stmts of the method satisfying [isSource] along the reversed edges,
+     * stores the distances to the closest of them into [distances].
+     */
+    private inline fun MethodGraph.computeDistances(distances: IntArray, isSource: (Int) -> Boolean) {
+        var tail = 0
+        for (i in 0 until size) {
+            if (isSource(first + i)) {
+                distances[first + i] = 0
+                queue[tail++] = i
+            } else {
+                distances[first + i] = Int.MAX_VALUE
             }
         }
-        val mergedMap = distances.fold(mutableMapOf<Stmt, Int>()) { map1, map2 ->
-            for (entry in map2) {
-                map1.merge(entry.key, entry.value) { a, b ->
-                    min(a, b)
+
+        var head = 0
+        while (head < tail) {
+            val v = queue[head++]
+            val distance = distances[first + v] + 1
+            for (p in predecessorOffsets[v] until predecessorOffsets[v + 1]) {
+                val u = predecessors[p]
+                if (distances[first + u] == Int.MAX_VALUE) {
+                    distances[first + u] = distance
+                    queue[tail++] = u
                 }
             }
-            map1
         }
-        sortedDistances[stmt] = mergedMap.map { Distance(it.key, it.value) }.sortedBy { it.distance }
-        distancePointers[stmt] = sortedDistances[stmt]!!.indexOfFirst { !graph.isCovered(it.to) }.let {
-            if (it < 0) sortedDistances[stmt]!!.size else it
+    }
+
+    /**
+     * Checks whether the coverage of the [stmt] is changed and adds its method to [changedMethods] if so.
+     */
+    private fun checkCoverage(stmt: Stmt, changedMethods: MutableSet<MethodGraph>) {
+        val index = stmtIndices[stmt] ?: return
+        if (uncovered[index] == graph.isCovered(stmt)) {
+            changedMethods += methodGraphs[stmtMethods[index]]
         }
-        closestToReturn[stmt] = minDistances.minOfOrNull { it.value } ?: Int.MAX_VALUE
     }
 
     /**
@@ -155,8 +183,9 @@ class DistanceStatistics(
         var minDistance: Int? = null
 
         for (stackElement in state.executionStack.asReversed()) {
-            val distance = distanceToClosestUncovered[stmt] ?: Int.MAX_VALUE
-            val distanceToReturn = closestToReturn[stmt] ?: error("$stmt is not in graph")
+            val index = stmtIndices[stmt]
+            val distance = index?.let { distanceToClosestUncovered[it] } ?: Int.MAX_VALUE
+            val distanceToReturn = index?.let { closestToReturn[it] } ?: error("$stmt is not in graph")
 
             if (distance != Int.MAX_VALUE) {
                 minDistance = (minDistance ?: 0) + executionStackAccumulatedDistanceToReturn + distance
@@ -177,61 +206,26 @@ class DistanceStatistics(
     }
 
     /**
-     * Distance to closest uncovered statement in the same method and inner (currently joined) methods
-     */
-    private val Stmt.distanceToUncovered: Int
-        get() {
-            val i = distancePointers.computeIfPresent(this) { _, i ->
-                var j = i
-                val distances = sortedDistances[this]!!
-                while (j < distances.size && graph.isCovered(distances[j].to)) {
-                    j++
-                }
-                if (distances.size == j) {
-                    null
-                } else {
-                    j
-                }
-            }
-            return if (i == null) {
-                Int.MAX_VALUE
-            } else {
-                sortedDistances.getValue(this)[i].distance
-            }
-        }
-
-    private fun updateDistanceToUncovered() =
-        distanceToClosestUncovered.replaceAll { u, value ->
-            if (value == Int.MAX_VALUE) {
-                value
-            } else {
-                u.distanceToUncovered
-            }
-        }
-
-    /**
-     * Recompute distances for methods that can be changed after this join and update
-     * correspondingly closestToUncovered
+     * Calculates distances for the joined method and updates distances in the method of the [stmt],
+     * because the new call edge can make the [stmt] uncovered
      */
     override fun onJoin(stmt: Stmt, graph: ExceptionalUnitGraph, shouldRegister: Boolean) {
-        val stmts = graph.stmts.toSet()
-
-        recomputeDistances(listOf(graph))
-        updateDistanceToUncovered()
-        if (shouldRegister) {
-            if (stmts.first() !in distanceToClosestUncovered) {
-                stmts.forEach { u ->
-                    distanceToClosestUncovered.computeIfAbsent(u) { it.distanceToUncovered }
-                }
-            }
-        }
+        addMethod(graph)
+        val changedMethods = mutableSetOf<MethodGraph>()
+        checkCoverage(stmt, changedMethods)
+        changedMethods.forEach { it.updateDistancesToUncovered() }
         notifyObservers()
     }
 
     override fun onTraversed(executionState: ExecutionState) {
-        updateDistanceToUncovered()
+        val changedMethods = mutableSetOf<MethodGraph>()
+        checkCoverage(executionState.stmt, changedMethods)
+        executionState.edges.forEach { checkCoverage(it.src, changedMethods) }
+        changedMethods.forEach { it.updateDistancesToUncovered() }
         notifyObservers()
     }
-}
 
-private data class Distance(val to: Stmt, val distance: Int)
\ No newline at end of file
+    companion object {
+        private const val INITIAL_CAPACITY = 1024
+    }
+}
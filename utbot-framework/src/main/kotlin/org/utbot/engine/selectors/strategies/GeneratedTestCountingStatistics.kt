@@ -11,5 +11,6 @@ class GeneratedTestCountingStatistics(
 
     override fun onTraversed(executionState: ExecutionState) {
         generatedTestsCount++
+        notifyObservers()
     }
 }
\ No newline at end of file
@@ -20,16 +20,23 @@ class StatementsStatistics(
         statementsCount.compute(executionState.stmt) { _, v ->
             v?.plus(1) ?: 1
         }
+        notifyObservers(executionState.stmt)
 
         if (statementsCount[executionState.stmt] == 1) {
             executionState.lastMethod?.let {
                 statementsInMethodCount.compute(it) { _, v ->
                     v?.plus(1) ?: 1
                 }
+                notifyObservers(it)
             }
         }
     }
 
+    /**
+     * Keys observers are notified with when [statementCount] or [statementInMethodCount] of the [executionState] change.
+     */
+    fun statisticsKeys(executionState: ExecutionState): List<Any> = listOfNotNull(executionState.stmt, executionState.lastMethod)
+
     fun statementCount(executionState: ExecutionState) = statementsCount.getOrDefault(executionState.stmt, 1)
 
     fun statementInMethodCount(executionState: ExecutionState) =
@@ -7,4 +7,10 @@ import org.utbot.engine.selectors.PathSelector
  */
 interface StrategyObserver : PathSelector {
     fun update()
+
+    /**
+     * Called when only the statistics of the [key] are updated, so the observer can reconsider
+     * only the states depending on it. Reconsiders all the states by default.
+     */
+    fun update(key: Any) = update()
 }
\ No newline at end of file
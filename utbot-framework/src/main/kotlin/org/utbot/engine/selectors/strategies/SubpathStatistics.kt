@@ -1,6 +1,5 @@
 package org.utbot.engine.selectors.strategies
 
-import org.utbot.engine.state.CALL_DECISION_NUM
 import org.utbot.engine.state.Edge
 import org.utbot.engine.state.ExecutionState
 import org.utbot.engine.InterProceduralUnitGraph
@@ -18,34 +17,25 @@ class SubpathStatistics(
     private val length: Int = 2.0.pow(index).toInt()
 
     /**
-     * Take length last edges from state's path and handle exception edges
+     * Take length last edges from state's path and handle exception edges.
      */
-    private fun ExecutionState.getSubpath(length: Int): List<Edge> {
-        val subpath = mutableListOf<Edge>()
-        val actualLength = if (pathLength >= length) length else pathLength
-
-        var current = stmt
-        var exceptionNumber = 0
-        (0 until actualLength).forEach {
-            val decision = decisionPath[decisionPath.size - it - 1]
-            if (decision < CALL_DECISION_NUM) {
-                exceptionNumber++
-            }
-            val i = path.size - it - 1 + exceptionNumber
-            val prev = if (i == path.size) stmt else path[i]
-            subpath += Edge(prev, current, decision)
-            current = prev
-        }
-
-        return subpath
-    }
+    private fun ExecutionState.getSubpath(length: Int): List<Edge> =
+        statePath.lastEdges(stmt, if (pathLength >= length) length else pathLength)
 
     override fun onVisit(executionState: ExecutionState) {
-        subpathCount.compute(executionState.getSubpath(length)) { _, v ->
+        val subpath = executionState.getSubpath(length)
+        subpathCount.compute(subpath) { _, v ->
             v?.plus(1) ?: 1
         }
+        notifyObservers(subpath)
     }
 
     fun subpathCount(executionState: ExecutionState): Int =
         subpathCount.getOrPut(executionState.getSubpath(length)) { 1 }
+
+    /**
+     * The subpath of the [executionState] whose count is returned by [subpathCount],
+     * observers are notified with it when the count changes.
+     */
+    fun subpath(executionState: ExecutionState): List<Edge> = executionState.getSubpath(length)
 }
\ No newline at end of file
@@ -25,6 +25,15 @@ abstract class TraverseGraphStatistics(val graph: InterProceduralUnitGraph) {
         }
     }
 
+    /**
+     * Notifies observers that only the statistics of the [key] are updated.
+     */
+    protected fun notifyObservers(key: Any) {
+        observers.forEach { observer ->
+            observer.update(key)
+        }
+    }
+
     /**
      * traverse(ExecutionState) callback of listened graph.
      *
@@ -5,7 +5,6 @@ import kotlinx.collections.immutable.PersistentMap
 import kotlinx.collections.immutable.PersistentSet
 import kotlinx.collections.immutable.persistentHashMapOf
 import kotlinx.collections.immutable.persistentHashSetOf
-import kotlinx.collections.immutable.persistentListOf
 import org.utbot.common.md5
 import org.utbot.engine.Memory
 import org.utbot.engine.MethodResult
@@ -113,6 +112,8 @@ data class StateAnalyticsProperties(
 }
 
 /**
+ * [statePath] contains the statements and the decisions of the path, it is shared with the states forked from this one.
+ *
  * [visitedStatementsHashesToCountInPath] is a map representing how many times each instruction from the [path]
  * has occurred. It is required to calculate priority of the branches and decrease the priority for branches leading
  * inside a cycle. To improve performance it is a persistent map using state's hashcode to imitate an identity hashmap.
@@ -123,11 +124,9 @@ data class ExecutionState(
     val stmt: Stmt,
     val symbolicState: SymbolicState,
     val executionStack: PersistentList<ExecutionStackElement>,
-    val path: PersistentList<Stmt> = persistentListOf(),
+    val statePath: StatePath = StatePath.initial,
     val visitedStatementsHashesToCountInPath: PersistentMap<Int, Int> = persistentHashMapOf(),
-    val decisionPath: PersistentList<Int> = persistentListOf(0),
     val edges: PersistentSet<Edge> = persistentHashSetOf(),
-    val stmts: PersistentMap<Stmt, Int> = persistentHashMapOf(),
     val pathLength: Int = 0,
     val lastEdge: Edge? = null,
     val lastMethod: SootMethod? = null,
@@ -142,6 +141,16 @@ data class ExecutionState(
 
     var outgoingEdges = 0
 
+    /**
+     * Statements of the path, they are materialized from [statePath] on the first call.
+     */
+    val path: List<Stmt> by lazy(LazyThreadSafetyMode.NONE) { statePath.stmts() }
+
+    /**
+     * Decisions of the path, they are materialized from [statePath] on the first call.
+     */
+    val decisionPath: List<Int> by lazy(LazyThreadSafetyMode.NONE) { statePath.decisions() }
+
     fun isInNestedMethod() = executionStack.size > 1
 
     val localVariableMemory
@@ -191,6 +200,7 @@ data class ExecutionState(
      */
     fun fullPath(): List<Step> {
         var depth = 0
+        val decisionPath = decisionPath
         val path = path.zip(
             decisionPath.subList(1, decisionPath.size)
         ).map { (stmt, decision) ->
@@ -246,11 +256,9 @@ data class ExecutionState(
         if (stmt != other.stmt) return false
         if (symbolicState != other.symbolicState) return false
         if (executionStack != other.executionStack) return false
-        if (path != other.path) return false
+        if (statePath != other.statePath) return false
         if (visitedStatementsHashesToCountInPath != other.visitedStatementsHashesToCountInPath) return false
-        if (decisionPath != other.decisionPath) return false
         if (edges != other.edges) return false
-        if (stmts != other.stmts) return false
         if (pathLength != other.pathLength) return false
         if (lastEdge != other.lastEdge) return false
         if (lastMethod != other.lastMethod) return false
@@ -262,8 +270,8 @@ data class ExecutionState(
 
     private val hashCode by lazy {
         Objects.hash(
-            stmt, executionStack, path, visitedStatementsHashesToCountInPath, decisionPath,
-            edges, stmts, pathLength, lastEdge, lastMethod, methodResult, exception
+            stmt, executionStack, statePath, visitedStatementsHashesToCountInPath,
+            edges, pathLength, lastEdge, lastMethod, methodResult, exception
         )
     }
 
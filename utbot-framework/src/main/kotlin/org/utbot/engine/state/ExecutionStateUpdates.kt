@@ -4,7 +4,6 @@ import kotlinx.collections.immutable.plus
 import org.utbot.engine.MethodResult
 import org.utbot.engine.SymbolicFailure
 import org.utbot.engine.SymbolicValue
-import org.utbot.engine.putIfAbsent
 import org.utbot.engine.symbolic.SymbolicStateUpdate
 import soot.SootMethod
 import soot.jimple.Stmt
@@ -21,11 +20,9 @@ fun ExecutionState.createExceptionState(
         stmt = stmt,
         symbolicState = symbolicState + update,
         executionStack = executionStack.set(executionStack.lastIndex, localMemory),
-        path = path,
+        statePath = statePath.appendDecision(edge.decisionNum),
         visitedStatementsHashesToCountInPath = visitedStatementsHashesToCountInPath,
-        decisionPath = decisionPath + edge.decisionNum,
         edges = edges + edge,
-        stmts = stmts,
         pathLength = pathLength + 1,
         lastEdge = edge,
         lastMethod = executionStack.last().method,
@@ -54,14 +51,12 @@ fun ExecutionState.update(
         stmt = edge.dst,
         symbolicState = symbolicState + symbolicStateUpdate,
         executionStack = executionStack.set(executionStack.lastIndex, stackElement),
-        path = path + stmt,
+        statePath = statePath.append(stmt, edge.decisionNum),
         visitedStatementsHashesToCountInPath = visitedStatementsHashesToCountInPath.put(
             stmtHashCode,
             stmtCountInPath
         ),
-        decisionPath = decisionPath + edge.decisionNum,
         edges = edges + edge,
-        stmts = stmts.putIfAbsent(stmt, pathLength),
         pathLength = pathLength + 1,
         lastEdge = edge,
         lastMethod = stackElement.method,
@@ -107,14 +102,12 @@ fun ExecutionState.push(
         stmt = stmt,
         symbolicState = symbolicState.stateForNestedMethod() + update,
         executionStack = executionStack + stackElement,
-        path = path + this.stmt,
+        statePath = statePath.append(this.stmt, edge.decisionNum),
         visitedStatementsHashesToCountInPath = visitedStatementsHashesToCountInPath.put(
             stmtHashCode,
             stmtCountInPath
         ),
-        decisionPath = decisionPath + edge.decisionNum,
         edges = edges + edge,
-        stmts = stmts.putIfAbsent(this.stmt, pathLength),
         pathLength = pathLength + 1,
         lastEdge = edge,
         lastMethod = stackElement.method,
@@ -134,14 +127,12 @@ fun ExecutionState.pop(methodResult: MethodResult): ExecutionState {
         stmt = caller,
         symbolicState = symbolicState,
         executionStack = executionStack.removeAt(executionStack.lastIndex),
-        path = path + stmt,
+        statePath = statePath.append(stmt, edge.decisionNum),
         visitedStatementsHashesToCountInPath = visitedStatementsHashesToCountInPath.put(
             stmtHashcode,
             stmtCountInPath
         ),
-        decisionPath = decisionPath + edge.decisionNum,
         edges = edges + edge,
-        stmts = stmts.putIfAbsent(stmt, pathLength),
         pathLength = pathLength + 1,
         lastEdge = edge,
         lastMethod = executionStack.last().method,
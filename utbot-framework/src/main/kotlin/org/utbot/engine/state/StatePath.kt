@@ -0,0 +1,131 @@
+package org.utbot.engine.state
+
+import soot.jimple.Stmt
+
+/**
+ * Path of an [ExecutionState]: the traversed statements and the decisions taken on them.
+ *
+ * The path is a chain of steps pointing to their parents, so the states forked from one state share all the steps
+ * of its path, and a new step costs one node. Lists of the statements and the decisions are materialized
+ * only on request, e.g. for the states producing tests.
+ *
+ * Every step adds a decision and, unless it is an exception step (see [createExceptionState]), the statement
+ * the decision is taken on. The first step is the dummy decision `0` without statement.
+ */
+class StatePath private constructor(
+    private val parent: StatePath?,
+    private val stepStmt: Stmt?,
+    val lastDecision: Int,
+    val stmtsCount: Int,
+    val decisionsCount: Int,
+) {
+    /**
+     * The last statement of the path.
+     */
+    val lastStmt: Stmt? = stepStmt ?: parent?.lastStmt
+
+    private val hashCode: Int = (31 * (parent?.hashCode ?: 0) + (stepStmt?.hashCode() ?: 0)) * 31 + lastDecision
+
+    fun append(stmt: Stmt, decision: Int): StatePath =
+        StatePath(this, stmt, decision, stmtsCount + 1, decisionsCount + 1)
+
+    fun appendDecision(decision: Int): StatePath =
+        StatePath(this, null, decision, stmtsCount, decisionsCount + 1)
+
+    /**
+     * Statements of the path from the first one.
+     */
+    fun stmts(): List<Stmt> {
+        val stmts = arrayOfNulls<Stmt>(stmtsCount)
+        var i = stmtsCount
+        forEachStep { stmt, _ ->
+            if (stmt != null) {
+                stmts[--i] = stmt
+            }
+        }
+        return stmts.map { it!! }
+    }
+
+    /**
+     * Decisions of the path from the first one.
+     */
+    fun decisions(): List<Int> {
+        val decisions = IntArray(decisionsCount)
+        var i = decisionsCount
+        forEachStep { _, decision -> decisions[--i] = decision }
+        return decisions.asList()
+    }
+
+    /**
+     * Returns [count] last edges of the path leading to [currentStmt], from the last one.
+     *
+     * An exception step has no statement, its edge leads from the current statement to itself.
+     */
+    fun lastEdges(currentStmt: Stmt, count: Int): List<Edge> {
+        val edges = ArrayList<Edge>(count)
+        var current = currentStmt
+        forEachStepReversed { stepStmt, decision ->
+            if (edges.size == count) {
+                return@forEachStepReversed false
+            }
+            val prev = stepStmt ?: current
+            edges += Edge(prev, current, decision)
+            current = prev
+            true
+        }
+        return edges
+    }
+
+    /**
+     * Calls [block] with the statement (null for a step without statement) and the decision of every step
+     * from the last one to the first one while it returns true.
+     */
+    inline fun forEachStepReversed(block: (Stmt?, Int) -> Boolean) {
+        var step: StatePath? = this
+        while (step != null && block(step.stmtOfStep, step.lastDecision)) {
+            step = step.parentStep
+        }
+    }
+
+    @PublishedApi
+    internal val stmtOfStep: Stmt?
+        get() = stepStmt
+
+    @PublishedApi
+    internal val parentStep: StatePath?
+        get() = parent
+
+    private inline fun forEachStep(block: (Stmt?, Int) -> Unit) = forEachStepReversed { stmt, decision ->
+        block(stmt, decision)
+        true
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (javaClass != other?.javaClass) return false
+
+        other as StatePath
+
+        var step: StatePath? = this
+        var otherStep: StatePath? = other
+        while (step !== otherStep) {
+            if (step == null || otherStep == null) return false
+            if (step.hashCode != otherStep.hashCode) return false
+            if (step.decisionsCount != otherStep.decisionsCount) return false
+            if (step.lastDecision != otherStep.lastDecision) return false
+            if (step.stepStmt != otherStep.stepStmt) return false
+            step = step.parent
+            otherStep = otherStep.parent
+        }
+
+        return true
+    }
+
+    override fun hashCode(): Int = hashCode
+
+    override fun toString(): String = stmts().toString()
+
+    companion object {
+        val initial = StatePath(parent = null, stepStmt = null, lastDecision = 0, stmtsCount = 0, decisionsCount = 1)
+    }
+}
@@ -1,6 +1,7 @@
 package org.utbot.engine.util.mockListeners
 import org.utbot.engine.EngineController
 import org.utbot.engine.MockStrategy
+import org.utbot.engine.UtBotSymbolicEngine
 import org.utbot.engine.UtMockInfo
 import org.utbot.framework.plugin.api.TestCaseGenerator
 import org.utbot.framework.util.Conflict
@@ -23,5 +24,11 @@ class ForceMockListener private constructor(triggers: ConflictTriggers): MockLis
 
             return listener
         }
+
+        /**
+         * Creates the listener attached to the [engine] only, e.g. to the engine of one of concurrently traversed methods.
+         */
+        fun create(engine: UtBotSymbolicEngine, conflictTriggers: ConflictTriggers) : ForceMockListener =
+            ForceMockListener(conflictTriggers).also { engine.attachMockListener(it) }
     }
 }
@@ -2,6 +2,7 @@ package org.utbot.engine.util.mockListeners
 
 import org.utbot.engine.EngineController
 import org.utbot.engine.MockStrategy
+import org.utbot.engine.UtBotSymbolicEngine
 import org.utbot.engine.UtMockInfo
 import org.utbot.engine.UtNewInstanceMockInfo
 import org.utbot.engine.UtStaticMethodMockInfo
@@ -27,5 +28,11 @@ class ForceStaticMockListener private constructor(triggers: ConflictTriggers): M
 
             return listener
         }
+
+        /**
+         * Attaches a new listener to the [engine] without other engines, so the [conflictTriggers] belong to its method.
+         */
+        fun create(engine: UtBotSymbolicEngine, conflictTriggers: ConflictTriggers) : ForceStaticMockListener =
+            ForceStaticMockListener(conflictTriggers).also { engine.attachMockListener(it) }
     }
 }
\ No newline at end of file
@@ -13,6 +13,8 @@ import org.utbot.engine.types.TypeResolver
 import org.utbot.framework.plugin.api.FieldId
 import org.utbot.framework.plugin.api.util.fieldId
 import org.utbot.framework.plugin.api.util.jField
+import org.utbot.framework.util.canRetrieveBody
+import org.utbot.framework.util.jimpleBody
 import soot.SootClass
 import soot.SootField
 import soot.SootMethod
@@ -16,6 +16,7 @@ import kotlinx.collections.immutable.persistentSetOf
 import org.utbot.common.DynamicProperty
 import org.utbot.common.MutableDynamicProperties
 import org.utbot.common.mutableDynamicPropertiesOf
+import org.utbot.common.toMutableDynamicProperties
 import org.utbot.framework.codegen.domain.UtModelWrapper
 import org.utbot.framework.codegen.domain.ProjectType
 import org.utbot.framework.codegen.domain.builtin.TestClassUtilMethodProvider
@@ -696,4 +697,132 @@ class CgContext(
         containsReflectiveCall = this.containsReflectiveCall,
         properties = this.properties,
     )
-}
\ No newline at end of file
+
+    /**
+     * Class-level data of the context at the moment of [fork],
+     * it is used to find the data collected by the fork itself.
+     */
+    private class ForkOrigin(
+        val existingMethodNames: Set<String>,
+        val importedClasses: Set<ClassId>,
+        val importedStaticMethods: Set<MethodId>,
+    )
+
+    private var forkOrigin: ForkOrigin? = null
+
+    /**
+     * Whether this context is created by [fork] of another one.
+     */
+    val isFork: Boolean
+        get() = forkOrigin != null
+
+    /**
+     * Creates a context to construct test methods of one test set concurrently with other test sets.
+     *
+     * The fork starts with copies of the collected class-level data (imports, method names, required util methods)
+     * and its own test class contexts. The data collected by the fork is added back by [mergeFork].
+     * Dynamic [properties] are copied and are not merged back.
+     */
+    fun fork(): CgContext {
+        val origin = ForkOrigin(
+            existingMethodNames = existingMethodNames.toSet(),
+            importedClasses = importedClasses.toSet(),
+            importedStaticMethods = importedStaticMethods.toSet(),
+        )
+        val fork = CgContext(
+            classUnderTest = classUnderTest,
+            projectType = projectType,
+            generateUtilClassFile = generateUtilClassFile,
+            currentExecutableUnderTest = currentExecutableUnderTest,
+            collectedImports = collectedImports.toMutableSet(),
+            importedStaticMethods = origin.importedStaticMethods.toMutableSet(),
+            importedClasses = origin.importedClasses.toMutableSet(),
+            requiredUtilMethods = requiredUtilMethods.toMutableSet(),
+            existingMethodNames = origin.existingMethodNames.toMutableSet(),
+            paramNames = paramNames,
+            testFramework = testFramework,
+            mockFramework = mockFramework,
+            staticsMocking = staticsMocking,
+            forceStaticMocking = forceStaticMocking,
+            generateWarningsForStaticMocking = generateWarningsForStaticMocking,
+            codegenLanguage = codegenLanguage,
+            cgLanguageAssistant = cgLanguageAssistant,
+            parametrizedTestSource = parametrizedTestSource,
+            mockFrameworkUsed = mockFrameworkUsed,
+            testClassPackageName = testClassPackageName,
+            shouldOptimizeImports = shouldOptimizeImports,
+            testClassCustomName = testClassCustomName,
+            runtimeExceptionTestsBehaviour = runtimeExceptionTestsBehaviour,
+            hangingTestsTimeout = hangingTestsTimeout,
+            enableTestsTimeout = enableTestsTimeout,
+            properties = properties.entries.toMutableDynamicProperties(),
+        )
+        fork.forkOrigin = origin
+        fork.currentTestClass = currentTestClass
+        val forkOuterMostTestClassContext = TestClassContext()
+        fork._outerMostTestClassContext = forkOuterMostTestClassContext
+        fork._currentTestClassContext = if (currentTestClassContext === outerMostTestClassContext) {
+            forkOuterMostTestClassContext
+        } else {
+            TestClassContext()
+        }
+        return fork
+    }
+
+    /**
+     * Adds the data collected by the [fork] to this context.
+     *
+     * Forks are merged in the order of their test sets, so the merged data is the same as if
+     * the test sets were processed one by one. The only exception is a name clash: a method name
+     * or a simple name of an imported class (or static method) that has been added to this context
+     * by a previously merged fork. Then the [fork] is not merged and `false` is returned,
+     * so its test set should be processed again with this context.
+     */
+    fun mergeFork(fork: CgContext): Boolean {
+        val origin = fork.forkOrigin ?: error("Context is not a fork")
+
+        val newMethodNames = fork.existingMethodNames.filter { it !in origin.existingMethodNames }
+        val newImportedClasses = fork.importedClasses.filter { it !in origin.importedClasses }
+        val newImportedStaticMethods = fork.importedStaticMethods.filter { it !in origin.importedStaticMethods }
+        val hasNameClash = newMethodNames.any { it in existingMethodNames } ||
+                newImportedClasses.any { newClass ->
+                    importedClasses.any { it.simpleName == newClass.simpleName && it != newClass }
+                } ||
+                newImportedStaticMethods.any { newMethod ->
+                    importedStaticMethods.any { it.name == newMethod.name && it != newMethod }
+                }
+        if (hasNameClash) {
+            return false
+        }
+
+        existingMethodNames += newMethodNames
+        importedClasses += newImportedClasses
+        importedStaticMethods += newImportedStaticMethods
+        collectedImports += fork.collectedImports
+        requiredUtilMethods += fork.requiredUtilMethods
+        testMethods += fork.testMethods
+        valueByUtModelWrapper.putAll(fork.valueByUtModelWrapper)
+        mockFrameworkUsed = mockFrameworkUsed || fork.mockFrameworkUsed
+        fork.codeGenerationErrors.forEach { (testSet, errors) ->
+            val testSetErrors = codeGenerationErrors.getOrPut(testSet) { mutableMapOf() }
+            errors.forEach { (description, count) -> testSetErrors.merge(description, count, Int::plus) }
+        }
+
+        currentTestClassContext.merge(fork.currentTestClassContext)
+        if (fork.currentTestClassContext !== fork.outerMostTestClassContext) {
+            outerMostTestClassContext.merge(fork.outerMostTestClassContext)
+        }
+        return true
+    }
+
+    private fun TestClassContext.merge(other: TestClassContext) {
+        collectedTestClassInterfaces += other.collectedTestClassInterfaces
+        collectedTestClassAnnotations += other.collectedTestClassAnnotations
+        cgDataProviderMethods += other.cgDataProviderMethods
+        other.testClassSuperclass?.let { superclass ->
+            if (testClassSuperclass != superclass) {
+                testClassSuperclass = superclass
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.utbot.framework.codegen.domain.context.CgContext
 import org.utbot.framework.codegen.domain.models.CgClassFile
 import org.utbot.framework.codegen.domain.models.CgMethodTestSet
 import org.utbot.framework.codegen.renderer.CgAbstractRenderer
+import org.utbot.framework.codegen.renderer.CgPrinterImpl
 import org.utbot.framework.plugin.api.UtMethodTestSet
 import java.time.LocalDateTime
 import java.time.format.DateTimeFormatter
@@ -50,15 +51,43 @@ abstract class AbstractCodeGenerator(params: CodeGeneratorParams) {
         }
     }
 
+    /**
+     * Generates the test class like [generateAsStringWithTestReport], but its code is written
+     * to the [output] while it is rendered instead of being accumulated in memory,
+     * so [CodeGeneratorResult.generatedCode] of the result is empty.
+     */
+    fun generateToOutputWithTestReport(
+        output: Appendable,
+        testSets: Collection<UtMethodTestSet>,
+        testClassCustomName: String? = null,
+    ): CodeGeneratorResult {
+        val prevOutput = renderingOutput
+        return try {
+            renderingOutput = output
+            generateAsStringWithTestReport(testSets, testClassCustomName)
+        } finally {
+            renderingOutput = prevOutput
+        }
+    }
+
     protected abstract fun generate(testSets: List<CgMethodTestSet>): CodeGeneratorResult
 
+    /**
+     * Output the code is rendered to instead of a string, see [generateToOutputWithTestReport].
+     */
+    private var renderingOutput: Appendable? = null
+
+    /**
+     * Renders the [testClassFile] to a string or to the [renderingOutput] if it is set, then an empty string is returned.
+     */
     protected fun renderToString(testClassFile: CgClassFile): String {
         logger.info { "Rendering phase started at ${now()}" }
-        val renderer = CgAbstractRenderer.makeRenderer(context)
+        val printer = renderingOutput?.let { CgPrinterImpl(output = it) } ?: CgPrinterImpl()
+        val renderer = CgAbstractRenderer.makeRenderer(context, printer)
         testClassFile.accept(renderer)
         logger.info { "Rendering phase finished at ${now()}" }
 
-        return renderer.toString()
+        return if (renderingOutput == null) renderer.toString() else ""
     }
 
     protected fun now(): String = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"))
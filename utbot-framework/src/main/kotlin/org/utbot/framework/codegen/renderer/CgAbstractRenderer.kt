@@ -199,9 +199,10 @@ abstract class CgAbstractRenderer(
 
         if (this is CgTestMethodCluster) description?.accept(this@CgAbstractRenderer)
 
+        val maxPrintedLength = printer.maxPrintedLength
         var isLimitExceeded = false
         for (method in content) {
-            if (printer.printedLength > UtSettings.maxTestFileSize) {
+            if (maxPrintedLength != null && printer.printedLength > maxPrintedLength) {
                 isLimitExceeded = true
                 break
             }
@@ -215,9 +216,9 @@ abstract class CgAbstractRenderer(
             println(regionEnd)
         }
 
-        if (isLimitExceeded && !isInterrupted) {
-            visit(CgSingleLineComment("Abrupt generation termination: file size exceeds configured limit (${FileUtil.byteCountToDisplaySize(UtSettings.maxTestFileSize.toLong())})"))
-            visit(CgSingleLineComment("The limit can be configured in '{HOME_DIR}/.utbot/settings.properties' with 'maxTestsFileSize' property"))
+        if (isLimitExceeded && !isInterrupted && maxPrintedLength != null) {
+            visit(CgSingleLineComment("Abrupt generation termination: file size exceeds configured limit (${FileUtil.byteCountToDisplaySize(maxPrintedLength.toLong())})"))
+            visit(CgSingleLineComment("The limit can be configured in '{HOME_DIR}/.utbot/settings.properties' with 'maxTestFileSize' property"))
             isInterrupted = true
         }
     }
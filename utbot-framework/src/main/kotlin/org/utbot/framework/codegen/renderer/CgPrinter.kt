@@ -11,13 +11,26 @@ interface CgPrinter {
 
     override fun toString(): String
     var printedLength: Int
+
+    /**
+     * Number of printed characters after which no more test methods are rendered, null if there is no limit.
+     */
+    val maxPrintedLength: Int?
 }
 
+/**
+ * Prints the code to the [output] as soon as it is rendered.
+ *
+ * By default, the code is accumulated in a [StringBuilder] and is returned by [toString].
+ * Another [Appendable], e.g. a [java.io.Writer] of the test class file, lets the code be written
+ * without keeping all of it in memory, then [toString] is just the one of the [output].
+ */
 class CgPrinterImpl(
     // TODO: maybe it should be instantiated with some initial capacity
     private var tabsAmount: Int = 0,
-    private val builder: StringBuilder = StringBuilder()
-) : CgPrinter, Appendable by builder {
+    private val output: Appendable = StringBuilder(),
+    override val maxPrintedLength: Int? = null,
+) : CgPrinter, Appendable {
 
     private var atLineStart: Boolean = true
 
@@ -31,9 +44,27 @@ class CgPrinterImpl(
         tabsAmount--
     }
 
-    override fun toString(): String = builder.toString()
+    override fun toString(): String = output.toString()
+
+    override var printedLength: Int = 0
+
+    override fun append(csq: CharSequence?): Appendable {
+        printedLength += (csq ?: "null").length
+        output.append(csq)
+        return this
+    }
 
-    override var printedLength: Int = builder.length
+    override fun append(csq: CharSequence?, start: Int, end: Int): Appendable {
+        printedLength += end - start
+        output.append(csq, start, end)
+        return this
+    }
+
+    override fun append(c: Char): Appendable {
+        printedLength++
+        output.append(c)
+        return this
+    }
 
     override fun print(text: String) {
         if (atLineStart) {
@@ -77,6 +77,19 @@ data class TestsGenerationReport(
         }
     }
 
+    /**
+     * Adds test methods and errors from the [other] report, e.g. a report of a test set constructed separately.
+     */
+    fun merge(other: TestsGenerationReport) {
+        executables += other.executables
+        mergeExecutions(successfulExecutions, other.successfulExecutions)
+        mergeExecutions(timeoutExecutions, other.timeoutExecutions)
+        mergeExecutions(failedExecutions, other.failedExecutions)
+        mergeExecutions(artificiallyFailedExecutions, other.artificiallyFailedExecutions)
+        mergeExecutions(crashExecutions, other.crashExecutions)
+        errors.putAll(other.errors)
+    }
+
     fun countTestMethods() = executables.map { it.countTestMethods() }.sumOf { it.count }
 
     fun toString(isShort: Boolean): String = buildString {
@@ -112,6 +125,10 @@ data class TestsGenerationReport(
         executions.getOrPut(this) { mutableSetOf() } += it
     }
 
+    private fun mergeExecutions(executions: MethodGeneratedTests, otherExecutions: MethodGeneratedTests) {
+        otherExecutions.forEach { (executable, testMethods) -> executions.getOrPut(executable) { mutableSetOf() } += testMethods }
+    }
+
     private data class TestMethodStatistic(
         val successful: Int,
         val failing: Int,
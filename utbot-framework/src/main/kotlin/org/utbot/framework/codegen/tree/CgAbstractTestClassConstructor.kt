@@ -40,7 +40,10 @@ abstract class CgAbstractTestClassConstructor<T : TestClassModel>(val context: C
     }
 
     init {
-        CgComponents.clearContextRelatedStorage()
+        // components of the forks are used along with the components of the original context
+        if (!context.isFork) {
+            CgComponents.clearContextRelatedStorage()
+        }
     }
 
     val testsGenerationReport = TestsGenerationReport()
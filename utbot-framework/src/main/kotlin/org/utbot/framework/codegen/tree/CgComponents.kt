@@ -15,14 +15,15 @@ object CgComponents {
      * no related data is required after it's processing.
      */
     fun clearContextRelatedStorage() {
-        nameGenerators.clear()
-        statementConstructors.clear()
-        callableAccessManagers.clear()
-        testFrameworkManagers.clear()
-        mockFrameworkManagers.clear()
-        variableConstructors.clear()
-        methodConstructors.clear()
-        customAssertConstructors.clear()
+        allComponents.forEach { components -> synchronized(components) { components.clear() } }
+    }
+
+    /**
+     * Clears stored data for the [context] only, e.g. for a fork of the context
+     * (see [CgContext.fork]) after its test set is constructed.
+     */
+    fun clearContextRelatedStorage(context: CgContext) {
+        allComponents.forEach { components -> synchronized(components) { components.remove(context) } }
     }
 
     private val nameGenerators: IdentityHashMap<CgContext, CgNameGenerator> = IdentityHashMap()
@@ -36,36 +37,57 @@ object CgComponents {
     private val methodConstructors: IdentityHashMap<CgContext, CgMethodConstructor> = IdentityHashMap()
     private val customAssertConstructors: IdentityHashMap<CgContext, CgCustomAssertConstructor> = IdentityHashMap()
 
-    fun getNameGeneratorBy(context: CgContext): CgNameGenerator = nameGenerators.getOrPut(context) {
+    private val allComponents: List<IdentityHashMap<CgContext, *>> = listOf(
+        nameGenerators,
+        statementConstructors,
+        callableAccessManagers,
+        testFrameworkManagers,
+        mockFrameworkManagers,
+        variableConstructors,
+        methodConstructors,
+        customAssertConstructors,
+    )
+
+    /**
+     * Components of different contexts may be requested concurrently (see [CgContext.fork]),
+     * so maps are accessed under their locks. A component is created outside the lock,
+     * because its creation may request other components of the same context.
+     */
+    private fun <T> IdentityHashMap<CgContext, T>.getOrCreate(context: CgContext, create: () -> T): T {
+        synchronized(this) { get(context) }?.let { return it }
+        val component = create()
+        synchronized(this) { put(context, component) }
+        return component
+    }
+
+    fun getNameGeneratorBy(context: CgContext): CgNameGenerator = nameGenerators.getOrCreate(context) {
         context.cgLanguageAssistant.getNameGeneratorBy(context)
     }
 
-    fun getCallableAccessManagerBy(context: CgContext): CgCallableAccessManager = callableAccessManagers.getOrPut(context) {
+    fun getCallableAccessManagerBy(context: CgContext): CgCallableAccessManager = callableAccessManagers.getOrCreate(context) {
         context.cgLanguageAssistant.getCallableAccessManagerBy(context)
     }
 
-    fun getStatementConstructorBy(context: CgContext): CgStatementConstructor = statementConstructors.getOrPut(context) {
+    fun getStatementConstructorBy(context: CgContext): CgStatementConstructor = statementConstructors.getOrCreate(context) {
         context.cgLanguageAssistant.getStatementConstructorBy(context)
     }
 
     fun getTestFrameworkManagerBy(context: CgContext): TestFrameworkManager =
-        testFrameworkManagers.getOrDefault(
-            context,
-            context.cgLanguageAssistant.getLanguageTestFrameworkManager().managerByFramework(context)
-        )
+        synchronized(testFrameworkManagers) { testFrameworkManagers[context] }
+            ?: context.cgLanguageAssistant.getLanguageTestFrameworkManager().managerByFramework(context)
 
     fun getMockFrameworkManagerBy(context: CgContext): MockFrameworkManager =
-        mockFrameworkManagers.getOrPut(context) { MockFrameworkManager(context) }
+        mockFrameworkManagers.getOrCreate(context) { MockFrameworkManager(context) }
 
-    fun getVariableConstructorBy(context: CgContext): CgVariableConstructor = variableConstructors.getOrPut(context) {
+    fun getVariableConstructorBy(context: CgContext): CgVariableConstructor = variableConstructors.getOrCreate(context) {
         context.cgLanguageAssistant.getVariableConstructorBy(context)
     }
 
-    fun getMethodConstructorBy(context: CgContext): CgMethodConstructor = methodConstructors.getOrPut(context) {
+    fun getMethodConstructorBy(context: CgContext): CgMethodConstructor = methodConstructors.getOrCreate(context) {
         context.cgLanguageAssistant.getMethodConstructorBy(context)
     }
 
-    fun getCustomAssertConstructorBy(context: CgContext): CgCustomAssertConstructor = customAssertConstructors.getOrPut(context) {
+    fun getCustomAssertConstructorBy(context: CgContext): CgCustomAssertConstructor = customAssertConstructors.getOrCreate(context) {
         context.cgLanguageAssistant.getCustomAssertConstructorBy(context)
     }
 }
\ No newline at end of file
@@ -1,5 +1,10 @@
 package org.utbot.framework.codegen.tree
 
+import kotlinx.coroutines.async
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.runBlocking
+import org.utbot.framework.UtSettings
 import org.utbot.framework.codegen.domain.Junit4
 import org.utbot.framework.codegen.domain.Junit5
 import org.utbot.framework.codegen.domain.ParametrizedTestSource
@@ -18,8 +23,11 @@ import org.utbot.framework.codegen.domain.models.CgTestMethod
 import org.utbot.framework.codegen.domain.models.SimpleTestClassModel
 import org.utbot.framework.plugin.api.UtExecutionSuccess
 import org.utbot.framework.plugin.api.UtSymbolicExecution
+import org.utbot.framework.plugin.api.util.UtContext
 import org.utbot.framework.plugin.api.util.humanReadableName
 import org.utbot.fuzzer.UtFuzzedExecution
+import java.util.concurrent.Executors
+import kotlin.coroutines.EmptyCoroutineContext
 
 /**
  * This test class constructor is used for pure Java/Kotlin applications.
@@ -49,10 +57,11 @@ open class CgSimpleTestClassConstructor(context: CgContext): CgAbstractTestClass
                 }
             }
 
-            for ((testSetIndex, testSet) in notYetConstructedTestSets.withIndex()) {
-                updateExecutableUnderTest(testSet.executableUnderTest)
-                withTestSetIdScope(testSetIndex) {
-                    val currentMethodUnderTestRegions = constructTestSet(testSet) ?: return@withTestSetIdScope
+            if (UtSettings.parallelCodegenTestSetsNumber > 1 && notYetConstructedTestSets.size > 1) {
+                methodRegions += constructTestSetsInParallel(notYetConstructedTestSets)
+            } else {
+                for ((testSetIndex, testSet) in notYetConstructedTestSets.withIndex()) {
+                    val currentMethodUnderTestRegions = constructTestSet(testSetIndex, testSet) ?: continue
                     val executableUnderTestCluster = CgMethodsCluster(
                         "Test suites for executable $currentExecutableUnderTest",
                         currentMethodUnderTestRegions
@@ -112,6 +121,61 @@ open class CgSimpleTestClassConstructor(context: CgContext): CgAbstractTestClass
         return if (regions.any()) regions else null
     }
 
+    private fun constructTestSet(testSetIndex: Int, testSet: CgMethodTestSet): List<CgRegion<CgMethod>>? {
+        updateExecutableUnderTest(testSet.executableUnderTest)
+        return withTestSetIdScope(testSetIndex) { constructTestSet(testSet) }
+    }
+
+    /**
+     * Constructs [testSets] concurrently, each of them with its own fork of the context (see [CgContext.fork]).
+     *
+     * Forks are merged in the order of [testSets], so the result is the same as the one of sequential construction.
+     * A test set whose fork cannot be merged because of a name clash is constructed again with the original context.
+     */
+    private fun constructTestSetsInParallel(testSets: List<CgMethodTestSet>): List<CgMethodsCluster> {
+        val forks = testSets.map { context.fork() }
+        val threadsCount = minOf(UtSettings.parallelCodegenTestSetsNumber, testSets.size)
+        // class loader of the classes under test is required to construct test methods
+        val currentUtContext = UtContext.currentContext() ?: EmptyCoroutineContext
+        val forkResults = Executors.newFixedThreadPool(threadsCount).asCoroutineDispatcher().use { dispatcher ->
+            runBlocking(dispatcher + currentUtContext) {
+                testSets.mapIndexed { testSetIndex, testSet ->
+                    async {
+                        val forkConstructor = createForkConstructor(forks[testSetIndex])
+                        forkConstructor to forkConstructor.constructTestSet(testSetIndex, testSet)
+                    }
+                }.awaitAll()
+            }
+        }
+
+        val clusters = mutableListOf<CgMethodsCluster>()
+        for ((testSetIndex, testSet) in testSets.withIndex()) {
+            val fork = forks[testSetIndex]
+            val (forkConstructor, forkRegions) = forkResults[testSetIndex]
+            val regions = if (context.mergeFork(fork)) {
+                testsGenerationReport.merge(forkConstructor.testsGenerationReport)
+                forkRegions
+            } else {
+                constructTestSet(testSetIndex, testSet)
+            }
+            CgComponents.clearContextRelatedStorage(fork)
+
+            if (regions != null) {
+                clusters += CgMethodsCluster("Test suites for executable ${testSet.executableUnderTest}", regions)
+            }
+        }
+        // the last executable under test is current after sequential construction too
+        updateExecutableUnderTest(testSets.last().executableUnderTest)
+
+        return clusters
+    }
+
+    /**
+     * Creates a constructor of test sets for the [fork] of the context.
+     */
+    protected open fun createForkConstructor(fork: CgContext): CgSimpleTestClassConstructor =
+        CgSimpleTestClassConstructor(fork)
+
     private fun collectTestSetsFromInnerClasses(model: SimpleTestClassModel): List<CgMethodTestSet> {
         val testSets = model.methodTestSets.toMutableList()
         for (nestedClass in model.nestedClasses) {
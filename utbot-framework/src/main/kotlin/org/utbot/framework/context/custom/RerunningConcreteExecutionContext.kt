@@ -2,12 +2,13 @@ package org.utbot.framework.context.custom
 
 import kotlinx.coroutines.runBlocking
 import mu.KotlinLogging
-import org.utbot.engine.executeConcretely
+import org.utbot.engine.executeConcretelyBatch
 import org.utbot.framework.UtSettings
 import org.utbot.framework.context.ConcreteExecutionContext
 import org.utbot.framework.plugin.api.ExecutableId
 import org.utbot.framework.plugin.api.UtExecution
 import org.utbot.instrumentation.ConcreteExecutor
+import org.utbot.instrumentation.instrumentation.execution.UtConcreteExecutionData
 import org.utbot.instrumentation.instrumentation.execution.UtConcreteExecutionResult
 import org.utbot.instrumentation.instrumentation.execution.UtExecutionInstrumentation
 
@@ -34,30 +35,39 @@ class RerunningConcreteExecutionContext(
             // it's better to rerun executions with non-empty coverage,
             // because executions with empty coverage are often duplicated
             .sortedBy { it.coverage?.coveredInstructions.isNullOrEmpty() }
-        return executions
-            .take(maxRerunsPerMethod)
-            .map { execution ->
-                runBlocking {
-                    val result = try {
-                        rerunExecutor.executeConcretely(
-                            methodUnderTest = methodUnderTest,
-                            stateBefore = execution.stateBefore,
-                            instrumentation = emptyList(),
-                            timeoutInMillis = rerunTimeoutInMillis,
-                            isRerun = true,
-                        )
-                    } catch (e: Throwable) {
-                        // we can't update execution result if we don't have a result
-                        logger.warn(e) { "Rerun failed, keeping original result for execution [$execution]" }
-                        return@runBlocking execution
-                    }
-                    execution.copy(
-                        stateBefore = result.stateBefore,
-                        stateAfter = result.stateAfter,
-                        result = result.result,
-                        coverage = result.coverage,
-                    )
+        val executionsToRerun = executions.take(maxRerunsPerMethod)
+        val rerunExecutions = executionsToRerun.toMutableList()
+        val executionData = executionsToRerun.map {
+            UtConcreteExecutionData(
+                stateBefore = it.stateBefore,
+                instrumentation = emptyList(),
+                timeout = rerunTimeoutInMillis,
+                isRerun = true,
+            )
+        }
+        // executions are rerun in one request to the instrumented process
+        try {
+            runBlocking {
+                rerunExecutor.executeConcretelyBatch(methodUnderTest, executionData).collect { (index, result) ->
+                    val execution = executionsToRerun[index]
+                    result
+                        .onSuccess {
+                            rerunExecutions[index] = execution.copy(
+                                stateBefore = it.stateBefore,
+                                stateAfter = it.stateAfter,
+                                result = it.result,
+                                coverage = it.coverage,
+                            )
+                        }
+                        .onFailure {
+                            // we can't update execution result if we don't have a result
+                            logger.warn(it) { "Rerun failed, keeping original result for execution [$execution]" }
+                        }
                 }
-            } + executions.drop(maxRerunsPerMethod)
+            }
+        } catch (e: Throwable) {
+            logger.warn(e) { "Rerun failed, keeping original results for the rest of executions" }
+        }
+        return rerunExecutions + executions.drop(maxRerunsPerMethod)
     }
 }
\ No newline at end of file
@@ -1,91 +1,140 @@
 package org.utbot.framework.minimization
 
+import java.util.BitSet
 import java.util.PriorityQueue
 
-private inline class ExecutionNumber(val number: Int)
-
-private inline class LineNumber(val number: Int)
-
 /**
  * [Greedy essential algorithm](CONFLUENCE:Test+Minimization)
+ *
+ * Executions and lines are numbered densely. A line is useful for an execution until some selected execution
+ * covers it, so useful lines are tracked by one bit set of covered lines and a counter per execution.
+ *
+ * Executions are kept in a heap with lazy deletion: an entry is updated only when it reaches the top
+ * with an outdated number of useful lines, and it is dropped when its execution has been removed.
+ *
+ * @param executionNumbers numbers of executions returned as a result, they also break ties between executions.
+ * @param executionToCoveredLines lines covered by each execution, numbered from zero in order of their first appearance.
+ * @param executionToPriority priority of each execution, the smaller is the better.
  */
 class GreedyEssential private constructor(
-    executionToCoveredLines: Map<ExecutionNumber, List<LineNumber>>,
-    executionToPriority: Map<ExecutionNumber, Int>
+    private val executionNumbers: IntArray,
+    private val executionToCoveredLines: Array<IntArray>,
+    linesCount: Int,
+    private val executionToPriority: LongArray,
 ) {
-    private val executionToUsefulLines: Map<ExecutionNumber, MutableSet<LineNumber>> =
-        executionToCoveredLines
-            .mapValues { it.value.toMutableSet() }
-
-    private val lineToUnusedCoveringExecutions: Map<LineNumber, MutableSet<ExecutionNumber>> =
-        executionToCoveredLines
-            .flatMap { (execution, lines) -> lines.map { it to execution } }
-            .groupBy({ it.first }) { it.second }
-            .mapValues { it.value.toMutableSet() }
-
-    private val executionByPriority =
-        PriorityQueue(
-            compareBy<Pair<ExecutionNumber, Int>> { executionToPriority[it.first] }
-                .thenByDescending { it.second }
-                .thenBy { it.first.number }
-        ).apply {
-                addAll(
-                    executionToCoveredLines
-                        .keys
-                        .map { it to executionToUsefulLines[it]!!.size }
-                )
+    private val executionsCount = executionNumbers.size
+
+    /**
+     * Executions covering each line are stored in [lineToCoveringExecutions]
+     * starting from [lineToCoveringExecutionsOffset] of the line up to the offset of the next one.
+     */
+    private val lineToCoveringExecutionsOffset = IntArray(linesCount + 1)
+    private val lineToCoveringExecutions: IntArray
+
+    private val coveredLines = BitSet(linesCount)
+
+    private val usefulLinesCount = IntArray(executionsCount) { executionToCoveredLines[it].size }
+
+    private val isInQueue = BooleanArray(executionsCount) { true }
+    private var queueSize = executionsCount
+
+    private val executionByPriority = PriorityQueue<QueueEntry>(executionsCount.coerceAtLeast(1)) { a, b ->
+        when {
+            executionToPriority[a.execution] != executionToPriority[b.execution] ->
+                executionToPriority[a.execution].compareTo(executionToPriority[b.execution])
+            a.usefulLines != b.usefulLines -> b.usefulLines.compareTo(a.usefulLines)
+            else -> executionNumbers[a.execution].compareTo(executionNumbers[b.execution])
+        }
+    }
+
+    private val essentialExecutions: MutableList<Int> = mutableListOf()
+
+    init {
+        for (lines in executionToCoveredLines) {
+            for (line in lines) {
+                lineToCoveringExecutionsOffset[line + 1]++
             }
+        }
+        for (line in 0 until linesCount) {
+            lineToCoveringExecutionsOffset[line + 1] += lineToCoveringExecutionsOffset[line]
+        }
+        lineToCoveringExecutions = IntArray(lineToCoveringExecutionsOffset[linesCount])
+        val filled = lineToCoveringExecutionsOffset.copyOf(linesCount)
+        executionToCoveredLines.forEachIndexed { execution, lines ->
+            for (line in lines) {
+                lineToCoveringExecutions[filled[line]++] = execution
+            }
+            executionByPriority.add(QueueEntry(execution, lines.size))
+        }
 
-    private val essentialExecutions: MutableList<ExecutionNumber> =
-        lineToUnusedCoveringExecutions
-            .filter { (_, executions) -> executions.size == 1 }
-            .values
-            .flatten()
-            .distinct()
-            .toMutableList()
-
-    private fun removeExecution(execution: ExecutionNumber) {
-        val newlyCoveredLines = executionToUsefulLines[execution]!!.toMutableSet()
-        if (newlyCoveredLines.isEmpty()) {
-            executionByPriority.remove(executionToPriority(execution))
-            return
+        val isEssential = BooleanArray(executionsCount)
+        for (line in 0 until linesCount) {
+            val offset = lineToCoveringExecutionsOffset[line]
+            if (lineToCoveringExecutionsOffset[line + 1] - offset == 1) {
+                val execution = lineToCoveringExecutions[offset]
+                if (!isEssential[execution]) {
+                    isEssential[execution] = true
+                    essentialExecutions += execution
+                }
+            }
         }
-        for (line in newlyCoveredLines) {
-            val unusedCoveringExecutions = lineToUnusedCoveringExecutions[line]!!.toMutableList()
-            for (coveringExecution in unusedCoveringExecutions) {
-                removeLineFromExecution(coveringExecution, line)
+    }
+
+    private fun removeExecution(execution: Int) {
+        for (line in executionToCoveredLines[execution]) {
+            if (coveredLines[line]) {
+                continue
+            }
+            coveredLines.set(line)
+            for (i in lineToCoveringExecutionsOffset[line] until lineToCoveringExecutionsOffset[line + 1]) {
+                val coveringExecution = lineToCoveringExecutions[i]
+                if (--usefulLinesCount[coveringExecution] == 0) {
+                    removeFromQueue(coveringExecution)
+                }
             }
         }
+        removeFromQueue(execution)
     }
 
-    private fun hasMore() = executionByPriority.isNotEmpty()
+    private fun removeFromQueue(execution: Int) {
+        if (isInQueue[execution]) {
+            isInQueue[execution] = false
+            queueSize--
+        }
+    }
 
-    private fun getExecutionAndRemove(): ExecutionNumber {
+    private fun hasMore() = queueSize > 0
 
+    private fun getExecutionAndRemove(): Int {
         val bestExecution = if (essentialExecutions.isNotEmpty()) {
             essentialExecutions.removeLast()
         } else {
-            executionByPriority.peek()?.first
-                ?: error("No new executions could be added. Everything is already covered.")
+            peekBestExecution()
         }
         removeExecution(bestExecution)
         return bestExecution
     }
 
-    private fun executionToPriority(execution: ExecutionNumber) =
-        execution to executionToUsefulLines[execution]!!.size
-
-    private fun removeLineFromExecution(execution: ExecutionNumber, line: LineNumber) {
-        executionByPriority.remove(executionToPriority(execution))
-
-        executionToUsefulLines[execution]!!.remove(line)
-        lineToUnusedCoveringExecutions[line]!!.remove(execution)
-
-        if (executionToUsefulLines[execution]!!.isNotEmpty()) {
-            executionByPriority.add(executionToPriority(execution))
+    private fun peekBestExecution(): Int {
+        while (true) {
+            val entry = executionByPriority.peek()
+                ?: error("No new executions could be added. Everything is already covered.")
+            val execution = entry.execution
+            when {
+                !isInQueue[execution] -> executionByPriority.poll()
+                entry.usefulLines != usefulLinesCount[execution] -> {
+                    // the number of useful lines only decreases, so the outdated entry is moved down
+                    executionByPriority.poll()
+                    entry.usefulLines = usefulLinesCount[execution]
+                    executionByPriority.add(entry)
+                }
+                else -> return execution
+            }
         }
     }
 
+    private class QueueEntry(val execution: Int, var usefulLines: Int)
+
     companion object {
         /**
          * Minimizes the given [executions] assuming the map represents mapping from execution id to covered
@@ -94,22 +143,90 @@ class GreedyEssential private constructor(
          * @return retained execution ids.
          */
         fun minimize(executions: Map<Int, List<Int>>, executionToPriority: Map<Int, Int> = mapOf()): List<Int> {
-            val convertedExecutions = executions
-                .entries
-                .associate { (execution, lines) -> ExecutionNumber(execution) to lines.map { LineNumber(it) } }
-
-            val convertedExecutionToPriority = executionToPriority
-                .entries
-                .associate { (execution, priority) -> ExecutionNumber(execution) to priority }
+            val executionNumbers = executions.keys.toIntArray()
+            val priorities = LongArray(executionNumbers.size) {
+                // executions without priority go first
+                executionToPriority[executionNumbers[it]]?.toLong() ?: Long.MIN_VALUE
+            }
+            return minimize(executionNumbers, executions.values.map { it.toIntArray() }, priorities)
+        }
 
-            val prioritizer = GreedyEssential(convertedExecutions, convertedExecutionToPriority)
-            val list = mutableListOf<ExecutionNumber>()
+        /**
+         * Minimizes executions numbered by their indices in [executionToCoveredLines].
+         *
+         * @return retained execution indices.
+         */
+        internal fun minimize(executionToCoveredLines: List<IntArray>, executionToPriority: IntArray): List<Int> =
+            minimize(
+                IntArray(executionToCoveredLines.size) { it },
+                executionToCoveredLines,
+                LongArray(executionToPriority.size) { executionToPriority[it].toLong() }
+            )
+
+        private fun minimize(
+            executionNumbers: IntArray,
+            executionToCoveredLines: List<IntArray>,
+            executionToPriority: LongArray
+        ): List<Int> {
+            val (denseLines, linesCount) = renumberLines(executionToCoveredLines)
+            val prioritizer = GreedyEssential(executionNumbers, denseLines, linesCount, executionToPriority)
+            val list = mutableListOf<Int>()
             while (prioritizer.hasMore()) {
-                list.add(prioritizer.getExecutionAndRemove())
+                list.add(executionNumbers[prioritizer.getExecutionAndRemove()])
+            }
+            return list
+        }
+
+        /**
+         * Renumbers lines in order of their first appearance and removes duplicated lines of each execution.
+         *
+         * @return renumbered lines of each execution and the number of different lines.
+         */
+        private fun renumberLines(executionToCoveredLines: List<IntArray>): Pair<Array<IntArray>, Int> {
+            var minLine = Int.MAX_VALUE
+            var maxLine = Int.MIN_VALUE
+            var totalSize = 0L
+            for (lines in executionToCoveredLines) {
+                for (line in lines) {
+                    minLine = minOf(minLine, line)
+                    maxLine = maxOf(maxLine, line)
+                }
+                totalSize += lines.size
+            }
+            if (totalSize == 0L) {
+                return Array(executionToCoveredLines.size) { IntArray(0) } to 0
             }
 
-            return list.map { it.number }
+            // line ids are usually small non-negative numbers, so they are mapped with an array instead of a map
+            val arrayIndices = if (minLine >= 0 && maxLine < 4 * totalSize + 1024) IntArray(maxLine + 1) { -1 } else null
+            val mapIndices = if (arrayIndices == null) hashMapOf<Int, Int>() else null
+            var linesCount = 0
+            val lastExecutionOfLine = IntArray(totalSize.toInt()) { -1 }
+
+            val denseLines = Array(executionToCoveredLines.size) { execution ->
+                val lines = executionToCoveredLines[execution]
+                val result = IntArray(lines.size)
+                var size = 0
+                for (line in lines) {
+                    val denseLine = if (arrayIndices != null) {
+                        if (arrayIndices[line] < 0) {
+                            arrayIndices[line] = linesCount
+                        }
+                        arrayIndices[line]
+                    } else {
+                        mapIndices!!.getOrPut(line) { linesCount }
+                    }
+                    if (denseLine == linesCount) {
+                        linesCount++
+                    }
+                    if (lastExecutionOfLine[denseLine] != execution) {
+                        lastExecutionOfLine[denseLine] = execution
+                        result[size++] = denseLine
+                    }
+                }
+                if (size == result.size) result else result.copyOf(size)
+            }
+            return denseLines to linesCount
         }
     }
 }
-
@@ -7,6 +7,7 @@ import org.utbot.framework.plugin.api.UtExecutionFailure
 import org.utbot.framework.plugin.api.UtExecutionResult
 import org.utbot.framework.plugin.api.UtExecutionSuccess
 import org.utbot.framework.plugin.api.UtSymbolicExecution
+import org.utbot.framework.plugin.api.coveredInstructionIds
 import org.utbot.framework.util.calculateSize
 import org.utbot.fuzzer.UtFuzzedExecution
 import org.utbot.instrumentation.instrumentation.execution.constructors.UtModelConstructor
@@ -60,11 +61,19 @@ fun minimizeExecutions(executions: List<UtExecution>): List<UtExecution> {
     // Here we add executions with empty or null coverage, because if concrete execution failed, we don't know actual coverage.
     // The amount of such executions is limited with [UtSettings.maxUnknownCoverageExecutionsPerMethodPerResultType].
 
-    val filteredExecutions = filterOutDuplicateCoverages(executions - unknownCoverageExecutions)
-    val (mapping, executionToPriorityMapping) = buildMapping(filteredExecutions)
+    val knownCoverageExecutions = executions - unknownCoverageExecutions
+    // the mapping is built once and shared by filtering of duplicates and minimization
+    val (executionToCoveredEdges, executionToPriority) = buildMapping(knownCoverageExecutions)
+    val filteredExecutionIndexes = filterOutDuplicateCoverages(knownCoverageExecutions, executionToCoveredEdges)
+        .filter { executionToCoveredEdges[it] != null }
 
-    val usedFilteredExecutionIndexes = GreedyEssential.minimize(mapping, executionToPriorityMapping).toSet()
-    val usedFilteredExecutions = filteredExecutions.filterIndexed { idx, _ -> idx in usedFilteredExecutionIndexes }
+    val usedFilteredExecutionIndexes = GreedyEssential.minimize(
+        filteredExecutionIndexes.map { executionToCoveredEdges[it]!! },
+        IntArray(filteredExecutionIndexes.size) { executionToPriority[filteredExecutionIndexes[it]] }
+    ).toSet()
+    val usedFilteredExecutions = filteredExecutionIndexes
+        .filterIndexed { idx, _ -> idx in usedFilteredExecutionIndexes }
+        .map { knownCoverageExecutions[it] }
 
     val usedMinimizedExecutions = usedFilteredExecutions + unknownCoverageExecutions
 
@@ -75,17 +84,24 @@ fun minimizeExecutions(executions: List<UtExecution>): List<UtExecution> {
     }
 }
 
-private fun filterOutDuplicateCoverages(executions: List<UtExecution>): List<UtExecution> {
-    val (executionIdxToCoveredEdgesMap, _) = buildMapping(executions)
-    return executions
-        .withIndex()
+/**
+ * Chooses one execution from each group of [executions] with equal covered edges.
+ *
+ * @return indexes of the chosen executions.
+ */
+private fun filterOutDuplicateCoverages(
+    executions: List<UtExecution>,
+    executionToCoveredEdges: List<IntArray?>
+): List<Int> =
+    executions
+        .indices
         // we need to group by coveredEdges and not just Coverage to not miss exceptional edges that buildMapping() function adds
-        .groupBy(
-            keySelector = { indexedExecution -> executionIdxToCoveredEdgesMap[indexedExecution.index] },
-            valueTransform = { indexedExecution -> indexedExecution.value }
-        ).values
-        .map { executionsWithEqualCoverage -> executionsWithEqualCoverage.chooseOneExecution() }
-}
+        .groupBy { executionToCoveredEdges[it]?.asList() }
+        .values
+        .map { indexesWithEqualCoverage ->
+            val chosenExecution = indexesWithEqualCoverage.map { executions[it] }.chooseOneExecution()
+            indexesWithEqualCoverage.first { executions[it] === chosenExecution }
+        }
 
 /**
  * Groups the [executions] by their `paths` on `first` [branchInstructionsNumber] `branch` instructions.
@@ -112,7 +128,7 @@ private fun groupByBranchInstructions(
 
     for (execution in executions) {
         execution.coverage?.let { coverage ->
-            val coveredInstructionIds = coverage.coveredInstructions.map { it.id }
+            val coveredInstructionIds = coverage.coveredInstructionIds.asList()
             for (i in coveredInstructionIds.indices) {
                 instructionToPossibleNextInstructions
                     .getOrPut(coveredInstructionIds[i]) { mutableSetOf() }
@@ -141,7 +157,7 @@ private fun groupByBranchInstructions(
     val groupedExecutions = executions.groupBy { execution ->
         execution.coverage?.let { coverage ->
             val branchInstructionToBranch = mutableListOf<Pair<Long, Long>>() // we group executions by this variable
-            val coveredInstructionIds = coverage.coveredInstructions.map { it.id }
+            val coveredInstructionIds = coverage.coveredInstructionIds.asList()
             // collect the behaviour on the branch instructions
             for (i in 0 until coveredInstructionIds.size - 1) {
                 if (coveredInstructionIds[i] in branchInstructions) {
@@ -165,35 +181,32 @@ private fun <T : Any> groupExecutionsByTestSuite(
     executions.groupBy { executionToTestSuite(it) }.values
 
 /**
- * Builds a mapping from execution id to edges id and from execution id to its priority.
+ * Builds a mapping from execution index to covered edges ids (`null` for executions without coverage)
+ * and from execution index to its priority.
  */
-private fun buildMapping(executions: List<UtExecution>): Pair<Map<Int, List<Int>>, Map<Int, Int>> {
+private fun buildMapping(executions: List<UtExecution>): Pair<List<IntArray?>, IntArray> {
     // (inst1, instr2) -> edge id --- edge represents as a pair of instructions, which are connected by this edge
     val allCoveredEdges = mutableMapOf<Pair<Long, Long?>, Int>()
     val thrownExceptions = mutableMapOf<String, Long>()
-    val mapping = mutableMapOf<Int, List<Int>>()
-    val executionToPriorityMapping = mutableMapOf<Int, Int>()
+    val executionToPriority = IntArray(executions.size)
 
-
-    executions.forEachIndexed { idx, execution ->
+    val mapping = executions.mapIndexed { idx, execution ->
         execution.coverage?.let { coverage ->
-            val instructionsWithoutExtra = coverage.coveredInstructions.map { it.id }
+            val instructionsWithoutExtra = coverage.coveredInstructionIds.asList()
             addExtraIfLastInstructionIsException( // here we add one more instruction to represent an exception.
                 instructionsWithoutExtra,
                 execution.result,
                 thrownExceptions
             ).let { instructions ->
-                val edges = instructions.indices.map { i ->
+                executionToPriority[idx] = execution.getExecutionPriority()
+                IntArray(instructions.size) { i ->
                     allCoveredEdges.getOrPut(instructions[i] to instructions.getOrNull(i + 1)) { allCoveredEdges.size }
                 }
-
-                mapping[idx] = edges
-                executionToPriorityMapping[idx] = execution.getExecutionPriority()
             }
         }
     }
 
-    return Pair(mapping, executionToPriorityMapping)
+    return Pair(mapping, executionToPriority)
 }
 
 /**
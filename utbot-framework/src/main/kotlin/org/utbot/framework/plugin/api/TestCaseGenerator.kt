@@ -1,8 +1,13 @@
 package org.utbot.framework.plugin.api
 
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.GlobalScope
+import kotlinx.coroutines.asCoroutineDispatcher
 import kotlinx.coroutines.cancel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.emitAll
@@ -19,6 +24,7 @@ import org.utbot.engine.Mocker
 import org.utbot.engine.UtBotSymbolicEngine
 import org.utbot.engine.util.mockListeners.ForceMockListener
 import org.utbot.engine.util.mockListeners.ForceStaticMockListener
+import org.utbot.engine.util.mockListeners.MockListener
 import org.utbot.framework.TestSelectionStrategyType
 import org.utbot.framework.UtSettings
 import org.utbot.framework.UtSettings.checkSolverTimeoutMillis
@@ -30,21 +36,32 @@ import org.utbot.framework.context.simple.SimpleApplicationContext
 import org.utbot.framework.context.simple.SimpleMockerContext
 import org.utbot.framework.plugin.api.utils.checkFrameworkDependencies
 import org.utbot.framework.minimization.minimizeTestCase
+import org.utbot.framework.plugin.api.util.UtContext
 import org.utbot.framework.plugin.api.util.id
 import org.utbot.framework.plugin.api.util.utContext
+import org.utbot.framework.plugin.api.util.withUtContext
 import org.utbot.framework.plugin.services.JdkInfo
 import org.utbot.framework.util.Conflict
 import org.utbot.framework.util.ConflictTriggers
 import org.utbot.framework.util.SootUtils
 import org.utbot.framework.util.jimpleBody
+import org.utbot.framework.util.sootLock
 import org.utbot.framework.util.toModel
 import org.utbot.instrumentation.ConcreteExecutor
+import org.utbot.instrumentation.ConcreteExecutorPool
 import org.utbot.instrumentation.instrumentation.execution.UtConcreteExecutionResult
 import org.utbot.instrumentation.instrumentation.execution.UtExecutionInstrumentation
 import org.utbot.instrumentation.warmup
 import org.utbot.taint.TaintConfigurationProvider
+import soot.Scene
 import java.io.File
 import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.coroutines.cancellation.CancellationException
 import kotlin.math.min
 
@@ -169,139 +186,324 @@ open class TestCaseGenerator(
         }
     }
 
+    /**
+     * Generates test sets for the [methods].
+     *
+     * @param methodsTraversalParallelism number of the [methods] traversed concurrently,
+     * each of them by its own worker with its own instrumented process.
+     */
     fun generate(
         methods: List<ExecutableId>,
         mockStrategy: MockStrategyApi,
         chosenClassesToMockAlways: Set<ClassId> = Mocker.javaDefaultClasses.mapTo(mutableSetOf()) { it.id },
         methodsGenerationTimeout: Long = utBotGenerationTimeoutInMillis,
         userTaintConfigurationProvider: TaintConfigurationProvider? = null,
-        generate: (engine: UtBotSymbolicEngine) -> Flow<UtResult> = defaultTestFlow(methodsGenerationTimeout)
-    ): List<UtMethodTestSet> = ConcreteExecutor.defaultPool.use { _ -> // TODO: think on appropriate way to close instrumented processes
-        if (isCanceled()) return@use methods.map { UtMethodTestSet(it) }
+        methodsTraversalParallelism: Int = UtSettings.parallelMethodsTraversalNumber,
+        generate: (engine: UtBotSymbolicEngine) -> Flow<UtResult> = defaultTestFlow(methodsGenerationTimeout),
+    ): List<UtMethodTestSet> {
+        val method2testSet = mutableMapOf<ExecutableId, UtMethodTestSet>()
+        generateTestSets(
+            methods,
+            mockStrategy,
+            chosenClassesToMockAlways,
+            methodsGenerationTimeout,
+            userTaintConfigurationProvider,
+            methodsTraversalParallelism,
+            generate,
+        ) { method2testSet[it.method] = it }
+        return methods.map { method2testSet.getValue(it) }
+    }
 
-        val contextLoadingResult = loadConcreteExecutionContext()
+    /**
+     * Generates test sets for the [methods] like [generate], but does not collect them: the test set of each method
+     * is passed to [onTestSetGenerated] as soon as the traversal of the method is finished, and is not kept afterwards.
+     * Test sets of the methods whose traversal was interrupted are passed at the end of generation.
+     *
+     * [onTestSetGenerated] is invoked on a separate thread, one test set at a time, so the test sets are processed
+     * while the next methods are traversed. The function returns when all the test sets are processed.
+     * Soot is not thread-safe, so [onTestSetGenerated] has to get Jimple bodies with [jimpleBody] only.
+     */
+    fun generateTestSets(
+        methods: List<ExecutableId>,
+        mockStrategy: MockStrategyApi,
+        chosenClassesToMockAlways: Set<ClassId> = Mocker.javaDefaultClasses.mapTo(mutableSetOf()) { it.id },
+        methodsGenerationTimeout: Long = utBotGenerationTimeoutInMillis,
+        userTaintConfigurationProvider: TaintConfigurationProvider? = null,
+        methodsTraversalParallelism: Int = UtSettings.parallelMethodsTraversalNumber,
+        generate: (engine: UtBotSymbolicEngine) -> Flow<UtResult> = defaultTestFlow(methodsGenerationTimeout),
+        onTestSetGenerated: (UtMethodTestSet) -> Unit,
+    ): Unit = ConcreteExecutor.defaultPool.use { _ -> // TODO: think on appropriate way to close instrumented processes
+        val currentUtContext = utContext
 
-        val method2errors: Map<ExecutableId, MutableMap<String, Int>> = methods.associateWith {
-            contextLoadingResult.utErrors.associateTo(mutableMapOf()) { it.description to 1 }
-        }
+        TestSetEmitter(currentUtContext, onTestSetGenerated).use { testSetEmitter ->
+            if (isCanceled()) {
+                methods.forEach { testSetEmitter.emit(UtMethodTestSet(it)) }
+                return@use
+            }
 
-        if (!contextLoadingResult.contextLoaded)
-            return@use methods.map { method -> UtMethodTestSet(method, errors = method2errors.getValue(method)) }
+            val contextLoadingResult = loadConcreteExecutionContext()
 
-        val executionStartInMillis = System.currentTimeMillis()
-        val executionTimeEstimator = ExecutionTimeEstimator(methodsGenerationTimeout, methods.size)
+            val method2errors: Map<ExecutableId, MutableMap<String, Int>> = methods.associateWith {
+                contextLoadingResult.utErrors.associateTo(mutableMapOf()) { it.description to 1 }
+            }
 
-        val currentUtContext = utContext
+            if (!contextLoadingResult.contextLoaded) {
+                methods.forEach { method -> testSetEmitter.emit(UtMethodTestSet(method, errors = method2errors.getValue(method))) }
+                return@use
+            }
 
-        val method2controller = methods.associateWith { EngineController() }
-        val method2executions = methods.associateWith { mutableListOf<UtExecution>() }
+            val executionStartInMillis = System.currentTimeMillis()
+            val executionTimeEstimator = ExecutionTimeEstimator(methodsGenerationTimeout, methods.size)
 
-        val conflictTriggers = ConflictTriggers()
-        val forceMockListener = ForceMockListener.create(this, conflictTriggers)
-        val forceStaticMockListener = ForceStaticMockListener.create(this, conflictTriggers)
+            val method2controller = methods.associateWith { EngineController() }
+            val method2executions = methods.associateWithTo(ConcurrentHashMap()) { mutableListOf<UtExecution>() }
 
-        runIgnoringCancellationException {
-            runBlockingWithCancellationPredicate(isCanceled) {
-                for ((method, controller) in method2controller) {
-                    controller.job = launch(currentUtContext) {
-                        if (!isActive) return@launch
+            val parallelism = min(methodsTraversalParallelism, methods.size)
+
+            // concurrently traversed methods get their own triggers and listeners, see the traversal below
+            val conflictTriggers = ConflictTriggers()
+            val mockListeners: List<MockListener> = if (parallelism > 1) {
+                emptyList()
+            } else {
+                listOf(
+                    ForceMockListener.create(this, conflictTriggers),
+                    ForceStaticMockListener.create(this, conflictTriggers),
+                )
+            }
+
+            val minimizationLock = Any()
+
+            // executions of the method are removed, so its test set is emitted once and is not kept afterwards
+            fun emitTestSet(method: ExecutableId) {
+                val executions = method2executions.remove(method) ?: return
+                // test sets are created one at a time, because minimization reruns executions
+                val testSet = synchronized(minimizationLock) {
+                    UtMethodTestSet(
+                        method,
+                        minimizeExecutions(
+                            method,
+                            executions,
+                            rerunExecutor = ConcreteExecutor(concreteExecutionContext.instrumentationFactory, classpathForEngine)
+                        ),
+                        jimpleBody(method),
+                        method2errors.getValue(method)
+                    )
+                }
+                testSetEmitter.emit(testSet)
+            }
+
+            suspend fun traverseMethod(
+                method: ExecutableId,
+                controller: EngineController,
+                concreteExecutorPool: ConcreteExecutorPool,
+                conflictTriggers: ConflictTriggers,
+                onEngineCreated: (UtBotSymbolicEngine) -> Unit = {},
+            ) {
+                try {
+                    val engine: UtBotSymbolicEngine = createSymbolicEngine(
+                        controller,
+                        method,
+                        mockStrategy,
+                        chosenClassesToMockAlways,
+                        applicationContext,
+                        executionTimeEstimator,
+                        userTaintConfigurationProvider,
+                        concreteExecutorPool,
+                    )
+
+                    synchronized(engineActions) {
+                        engineActions.map { engine.apply(it) }
+                        engineActions.clear()
+                    }
+                    onEngineCreated(engine)
+
+                    generate(engine)
+                        .catch {
+                            logger.error(it) { "Error in flow" }
+                        }
+                        .collect {
+                            when (it) {
+                                is UtExecution -> {
+                                    if (it is UtSymbolicExecution &&
+                                        (conflictTriggers.triggered(Conflict.ForceMockHappened) ||
+                                                conflictTriggers.triggered(Conflict.ForceStaticMockHappened))
+                                    ) {
+                                        it.containsMocking = true
+                                    }
+                                    method2executions.getValue(method) += it
+                                }
+                                is UtError -> {
+                                    method2errors.getValue(method).merge(it.description, 1, Int::plus)
+                                    logger.error(it.error) { "UtError occurred" }
+                                }
+                            }
+                        }
+                } catch (e: Exception) {
+                    logger.error(e) {"Error in engine"}
+                    throw e
+                }
+
+                emitTestSet(method)
+            }
+
+            runIgnoringCancellationException {
+                runBlockingWithCancellationPredicate(isCanceled) {
+                    if (parallelism > 1) {
+                        traverseInParallel(
+                            method2controller,
+                            parallelism,
+                            executionStartInMillis,
+                            executionTimeEstimator,
+                            currentUtContext,
+                        ) { method, controller, concreteExecutorPool ->
+                            val methodConflictTriggers = ConflictTriggers()
+                            traverseMethod(method, controller, concreteExecutorPool, methodConflictTriggers) { engine ->
+                                ForceMockListener.create(engine, methodConflictTriggers)
+                                ForceStaticMockListener.create(engine, methodConflictTriggers)
+                            }
+                        }
+                        return@runBlockingWithCancellationPredicate
+                    }
+
+                    for ((method, controller) in method2controller) {
+                        controller.job = launch(currentUtContext) {
+                            if (!isActive) return@launch
 
-                        try {
                             //yield one to
                             yield()
 
-                            val engine: UtBotSymbolicEngine = createSymbolicEngine(
-                                controller,
-                                method,
-                                mockStrategy,
-                                chosenClassesToMockAlways,
-                                applicationContext,
-                                executionTimeEstimator,
-                                userTaintConfigurationProvider,
-                            )
-
-                            engineActions.map { engine.apply(it) }
-                            engineActions.clear()
-
-                            generate(engine)
-                                .catch {
-                                    logger.error(it) { "Error in flow" }
-                                }
-                                .collect {
-                                    when (it) {
-                                        is UtExecution -> {
-                                            if (it is UtSymbolicExecution &&
-                                                (conflictTriggers.triggered(Conflict.ForceMockHappened) ||
-                                                        conflictTriggers.triggered(Conflict.ForceStaticMockHappened))
-                                            ) {
-                                                it.containsMocking = true
-                                            }
-                                            method2executions.getValue(method) += it
-                                        }
-                                        is UtError -> {
-                                            method2errors.getValue(method).merge(it.description, 1, Int::plus)
-                                            logger.error(it.error) { "UtError occurred" }
-                                        }
-                                    }
+                            traverseMethod(method, controller, ConcreteExecutor.defaultPool, conflictTriggers)
+                        }
+                        controller.paused = true
+                        conflictTriggers.reset(Conflict.ForceMockHappened, Conflict.ForceStaticMockHappened)
+                    }
+
+                    // All jobs are in the method2controller now (paused). execute them with timeout
+
+                    GlobalScope.launch {
+                        logger.debug("test generator global scope lifecycle check started")
+                        while (isActive) {
+                            var activeCount = 0
+                            for ((method, controller) in method2controller) {
+                                if (!controller.job!!.isActive) continue
+                                activeCount++
+
+                                method2controller.values.forEach { it.paused = true }
+                                controller.paused = false
+
+                                logger.info { "Resuming method $method" }
+                                val startTime = System.currentTimeMillis()
+                                while (controller.job!!.isActive &&
+                                    (System.currentTimeMillis() - startTime) < executionTimeEstimator.timeslotForOneToplevelMethodTraversalInMillis
+                                ) {
+                                    updateLifecycle(
+                                        executionStartInMillis,
+                                        executionTimeEstimator,
+                                        method2controller.values,
+                                        this
+                                    )
+                                    yield()
                                 }
-                        } catch (e: Exception) {
-                            logger.error(e) {"Error in engine"}
-                            throw e
+                            }
+                            if (activeCount == 0) break
                         }
+                        logger.debug("test generator global scope lifecycle check ended")
                     }
-                    controller.paused = true
-                    conflictTriggers.reset(Conflict.ForceMockHappened, Conflict.ForceStaticMockHappened)
                 }
+            }
+
+            mockListeners.forEach { it.detach(this, it) }
+
+            methods.forEach { method -> emitTestSet(method) }
+        }
+    }
+
+    /**
+     * Traverses the methods from [method2controller] using [parallelism] worker threads.
+     *
+     * Each worker uses its own [ConcreteExecutorPool], so concrete executions of different methods
+     * do not wait for each other. The symbolic execution time that is left is redistributed
+     * between the methods that have not been started yet every time a worker takes the next method,
+     * so the time saved by the methods finished early is given to the rest of them.
+     */
+    private suspend fun traverseInParallel(
+        method2controller: Map<ExecutableId, EngineController>,
+        parallelism: Int,
+        executionStartInMillis: Long,
+        executionTimeEstimator: ExecutionTimeEstimator,
+        currentUtContext: UtContext,
+        traverseMethod: suspend (ExecutableId, EngineController, ConcreteExecutorPool) -> Unit,
+    ) {
+        val methods = method2controller.keys.toList()
+        val nextMethodIndex = AtomicInteger(0)
+        val userDeadlineInMillis = executionStartInMillis + executionTimeEstimator.userTimeout
+
+        resolveSootDataForParallelTraversal(methods)
+
+        Executors.newFixedThreadPool(parallelism).asCoroutineDispatcher().use { dispatcher ->
+            coroutineScope {
+                repeat(parallelism) { workerIndex ->
+                    launch(dispatcher + currentUtContext) {
+                        ConcreteExecutorPool(maxCount = 1).use { concreteExecutorPool ->
+                            // the context, e.g. Spring one, is loaded in the instrumented process of this worker as well
+                            val contextLoadingResult = loadConcreteExecutionContext(concreteExecutorPool)
+                            if (!contextLoadingResult.contextLoaded) {
+                                logger.warn { "Concrete execution context is not loaded by parallel traversal worker #$workerIndex" }
+                            }
+
+                            while (isActive) {
+                                val index = nextMethodIndex.getAndIncrement()
+                                if (index >= methods.size) break
 
-                // All jobs are in the method2controller now (paused). execute them with timeout
-
-                GlobalScope.launch {
-                    logger.debug("test generator global scope lifecycle check started")
-                    while (isActive) {
-                        var activeCount = 0
-                        for ((method, controller) in method2controller) {
-                            if (!controller.job!!.isActive) continue
-                            activeCount++
-
-                            method2controller.values.forEach { it.paused = true }
-                            controller.paused = false
-
-                            logger.info { "Resuming method $method" }
-                            val startTime = System.currentTimeMillis()
-                            while (controller.job!!.isActive &&
-                                (System.currentTimeMillis() - startTime) < executionTimeEstimator.timeslotForOneToplevelMethodTraversalInMillis
-                            ) {
-                                updateLifecycle(
-                                    executionStartInMillis,
-                                    executionTimeEstimator,
-                                    method2controller.values,
-                                    this
+                                val method = methods[index]
+                                val controller = method2controller.getValue(method)
+                                val startTime = System.currentTimeMillis()
+                                if (startTime >= userDeadlineInMillis) break
+
+                                val symbolicTimeslot = executionTimeEstimator.symbolicTimeslotForNextMethodInMillis(
+                                    timePassedInMillis = startTime - executionStartInMillis,
+                                    notStartedMethodsNumber = methods.size - index,
+                                    parallelism = parallelism
+                                )
+                                val methodDeadlineInMillis = min(
+                                    startTime + symbolicTimeslot + executionTimeEstimator.concreteTimeslotForOneToplevelMethodInMillis(parallelism),
+                                    userDeadlineInMillis
                                 )
-                                yield()
+                                controller.executeConcretely = symbolicTimeslot == 0L
+
+                                logger.info { "Starting method $method with symbolic execution timeslot $symbolicTimeslot ms" }
+                                val job = launch(start = CoroutineStart.LAZY) {
+                                    traverseMethod(method, controller, concreteExecutorPool)
+                                }
+                                controller.job = job
+                                job.start()
+
+                                // the worker thread is busy with the traversal, so the timeouts are tracked outside of it
+                                val timeoutChecker = launch(Dispatchers.Default) {
+                                    delay(symbolicTimeslot)
+                                    timeoutLogger.trace { "Out of symbolic execution timeslot for $method. Switching to the concrete execution" }
+                                    controller.executeConcretely = true
+                                    delay(methodDeadlineInMillis - System.currentTimeMillis())
+                                    timeoutLogger.trace { "Out of time for $method. Cancelling coroutine" }
+                                    job.cancel("Timeout")
+                                }
+                                job.join()
+                                timeoutChecker.cancel()
                             }
                         }
-                        if (activeCount == 0) break
                     }
-                    logger.debug("test generator global scope lifecycle check ended")
                 }
             }
         }
+    }
 
-        forceMockListener.detach(this, forceMockListener)
-        forceStaticMockListener.detach(this, forceStaticMockListener)
-
-        return@use methods.map { method ->
-            UtMethodTestSet(
-                method,
-                minimizeExecutions(
-                    method,
-                    method2executions.getValue(method),
-                    rerunExecutor = ConcreteExecutor(concreteExecutionContext.instrumentationFactory, classpathForEngine)
-                ),
-                jimpleBody(method),
-                method2errors.getValue(method)
-            )
-        }
+    /**
+     * Resolves the Soot data that all the engines start with, the rest of the lazy modifications
+     * of the Soot scene made by concurrent engines are guarded by [sootLock].
+     */
+    private fun resolveSootDataForParallelTraversal(methods: List<ExecutableId>) = synchronized(sootLock) {
+        methods.forEach { jimpleBody(it) }
+        Scene.v().activeHierarchy
     }
 
     private fun createSymbolicEngine(
@@ -312,6 +514,7 @@ open class TestCaseGenerator(
         applicationContext: ApplicationContext,
         executionTimeEstimator: ExecutionTimeEstimator,
         userTaintConfigurationProvider: TaintConfigurationProvider? = null,
+        concreteExecutorPool: ConcreteExecutorPool = ConcreteExecutor.defaultPool,
     ): UtBotSymbolicEngine {
         logger.debug("Starting symbolic execution for $method  --$mockStrategyApi--")
         return UtBotSymbolicEngine(
@@ -325,12 +528,13 @@ open class TestCaseGenerator(
             concreteExecutionContext = concreteExecutionContext,
             solverTimeoutInMillis = executionTimeEstimator.updatedSolverCheckTimeoutMillis,
             userTaintConfigurationProvider = userTaintConfigurationProvider,
+            concreteExecutorPool = concreteExecutorPool,
         )
     }
 
     // CONFLUENCE:The+UtBot+Java+timeouts
 
-    class ExecutionTimeEstimator(val userTimeout: Long, methodsUnderTestNumber: Int) {
+    class ExecutionTimeEstimator(val userTimeout: Long, private val methodsUnderTestNumber: Int) {
         // Cut the timeout from the user in two halves
         private val halfTimeUserExpectsToWaitInMillis = userTimeout / 2
 
@@ -350,6 +554,28 @@ open class TestCaseGenerator(
         // Now we calculate the solver timeout. Each method is supposed to get some time in worst-case scenario
         val updatedSolverCheckTimeoutMillis = if (symbolicExecutionTimePerMethod < checkSolverTimeoutMillis)
             symbolicExecutionTimePerMethod else checkSolverTimeoutMillis
+
+        /**
+         * Symbolic execution time for the next top-level method when [parallelism] methods are traversed simultaneously.
+         *
+         * The symbolic execution time left is divided between the methods that have not been started yet.
+         */
+        fun symbolicTimeslotForNextMethodInMillis(timePassedInMillis: Long, notStartedMethodsNumber: Int, parallelism: Int): Long {
+            val symbolicExecutionTimeLeft = symbolicExecutionTimeout - timePassedInMillis
+            if (symbolicExecutionTimeLeft <= 0) return 0L
+
+            return symbolicExecutionTimeLeft / roundsNumber(notStartedMethodsNumber, parallelism)
+        }
+
+        /**
+         * Concrete execution time for one top-level method when [parallelism] methods are traversed simultaneously.
+         */
+        fun concreteTimeslotForOneToplevelMethodInMillis(parallelism: Int): Long =
+            concreteExecutionBudgetInMillis / roundsNumber(methodsUnderTestNumber, parallelism)
+
+        // Number of rounds required to traverse the methods if [parallelism] of them are traversed at the same time
+        private fun roundsNumber(methodsNumber: Int, parallelism: Int): Int =
+            maxOf(1, (methodsNumber + parallelism - 1) / parallelism)
     }
 
     private fun updateLifecycle(
@@ -380,9 +606,39 @@ open class TestCaseGenerator(
         }
     }
 
-    private fun loadConcreteExecutionContext(): ConcreteContextLoadingResult {
+    private fun loadConcreteExecutionContext(
+        concreteExecutorPool: ConcreteExecutorPool = ConcreteExecutor.defaultPool,
+    ): ConcreteContextLoadingResult {
         // force pool to create an appropriate executor
-        val concreteExecutor = ConcreteExecutor(concreteExecutionContext.instrumentationFactory, classpathForEngine)
+        val concreteExecutor = concreteExecutorPool.get(concreteExecutionContext.instrumentationFactory, classpathForEngine)
         return concreteExecutionContext.loadContext(concreteExecutor)
     }
 }
+
+/**
+ * Passes test sets to [onTestSetGenerated] on its own thread one at a time, so that the traversal does not wait for it.
+ *
+ * [close] waits for all the emitted test sets to be passed and rethrows the first exception of [onTestSetGenerated].
+ */
+private class TestSetEmitter(
+    private val utContext: UtContext,
+    private val onTestSetGenerated: (UtMethodTestSet) -> Unit,
+) : AutoCloseable {
+    private val executor = Executors.newSingleThreadExecutor()
+    private val emissions = ConcurrentLinkedQueue<Future<*>>()
+
+    fun emit(testSet: UtMethodTestSet) {
+        emissions += executor.submit { withUtContext(utContext) { onTestSetGenerated(testSet) } }
+    }
+
+    override fun close() {
+        executor.shutdown()
+        emissions.forEach {
+            try {
+                it.get()
+            } catch (e: ExecutionException) {
+                throw e.cause ?: e
+            }
+        }
+    }
+}
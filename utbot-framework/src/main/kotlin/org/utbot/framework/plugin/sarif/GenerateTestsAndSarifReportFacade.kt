@@ -41,7 +41,7 @@ class GenerateTestsAndSarifReportFacade(
          * Prints a message about where the SARIF file is saved if [verbose] is true.
          */
         fun mergeReports(
-            sarifReports: List<String>,
+            sarifReports: Sequence<String>,
             mergedSarifReportFile: File,
             verbose: Boolean = true
         ) {
@@ -36,6 +36,7 @@ import org.utbot.rd.RdSettingsContainerFactory
 import org.utbot.rd.generated.settingsModel
 import org.utbot.sarif.RdSourceFindingStrategyFacade
 import org.utbot.sarif.SarifReport
+import org.utbot.summary.ast.ParsedSourcesCache
 import org.utbot.summary.summarizeAll
 import org.utbot.taint.TaintConfigurationProviderUserRules
 import java.io.File
@@ -124,6 +125,34 @@ private fun EngineProcessModel.setup(kryoHelper: KryoHelper, watchdog: IdleWatch
                     TaintConfigurationProviderUserRules(taintConfigPath)
                 }
 
+                val id = ++idCounter
+                val searchDirectory = Paths.get(params.searchDirectory)
+
+                if (params.streamTestSets) {
+                    // every test set is summarized and sent as soon as its method is processed, while the next
+                    // methods are being traversed, and is not stored, so the memory of the engine process
+                    // does not grow with the number of methods
+                    val sourcesCache = ParsedSourcesCache()
+                    var notEmptyTestSetsCount = 0
+                    testGenerator.generateTestSets(
+                        methods,
+                        MockStrategyApi.valueOf(params.mockStrategy),
+                        kryoHelper.readObject(params.chosenClassesToMockAlways),
+                        params.timeout,
+                        userTaintConfigurationProvider,
+                        generate = generateFlow,
+                    ) { testSet ->
+                        listOf(testSet)
+                            .summarizeAll(searchDirectory, null, sourcesCache)
+                            .filterNot { it.executions.isEmpty() && it.errors.isEmpty() }
+                            .forEach {
+                                notEmptyTestSetsCount++
+                                generatedTestSet.fire(GeneratedTestSet(id, kryoHelper.writeObject(it)))
+                            }
+                    }
+                    return@measureTime GenerateResult(notEmptyTestSetsCount, id)
+                }
+
                 val result = testGenerator.generate(
                     methods,
                     MockStrategyApi.valueOf(params.mockStrategy),
@@ -132,22 +161,33 @@ private fun EngineProcessModel.setup(kryoHelper: KryoHelper, watchdog: IdleWatch
                     userTaintConfigurationProvider,
                     generate = generateFlow,
                 )
-                    .summarizeAll(Paths.get(params.searchDirectory), null)
+                    .summarizeAll(searchDirectory, null)
                     .filterNot { it.executions.isEmpty() && it.errors.isEmpty() }
 
-                val id = ++idCounter
-
-                testSets[id] = result
+                // empty test sets are neither rendered nor reported
+                if (result.isNotEmpty()) testSets[id] = result
                 GenerateResult(result.size, id)
             }
     }
     watchdog.measureTimeForActiveCall(render, "Rendering tests") { params ->
         val codeGenerator = createCodeGenerator(kryoHelper, params, testGenerator.applicationContext)
 
-        codeGenerator.generateAsStringWithTestReport(testSets[params.testSetsId]!!).let {
-            testGenerationReports.add(it.testsGenerationReport)
-            RenderResult(it.generatedCode, it.utilClassKind?.javaClass?.simpleName)
+        val testSetsToRender = storedTestSets(params.testSetsId)
+        // the code written to the file is not sent back, so it is never kept in memory as a whole
+        val result = try {
+            params.outputFilePath?.let { outputFilePath ->
+                File(outputFilePath).bufferedWriter().use { writer ->
+                    codeGenerator.generateToOutputWithTestReport(writer, testSetsToRender)
+                }
+            } ?: codeGenerator.generateAsStringWithTestReport(testSetsToRender)
+        } catch (e: Throwable) {
+            // the SARIF report is not requested for a class that is not rendered
+            testSets.remove(params.testSetsId)
+            throw e
         }
+
+        testGenerationReports.add(result.testsGenerationReport)
+        RenderResult(result.generatedCode, result.utilClassKind?.javaClass?.simpleName)
     }
     watchdog.measureTimeForActiveCall(obtainClassId, "Obtain class id in UtContext") { binaryName ->
         kryoHelper.writeObject(UtContext.currentContext()!!.classLoader.loadClass(binaryName).id)
@@ -173,8 +213,9 @@ private fun EngineProcessModel.setup(kryoHelper: KryoHelper, watchdog: IdleWatch
     watchdog.measureTimeForActiveCall(writeSarifReport, "Writing Sarif report") { params ->
         val reportFilePath = Paths.get(params.reportFilePath)
         reportFilePath.parent.toFile().mkdirs()
+        // the SARIF report is the last one to read the test sets, it is requested after the render
         val sarifReport = SarifReport(
-            testSets[params.testSetsId]!!,
+            testSets.remove(params.testSetsId) ?: error("Test sets ${params.testSetsId} are not stored"),
             params.generatedTestsCode,
             RdSourceFindingStrategyFacade(params.testSetsId, realProtocol.rdSourceFindingStrategy)
         ).createReport().toJson()
@@ -255,6 +296,9 @@ private fun EngineProcessModel.setup(kryoHelper: KryoHelper, watchdog: IdleWatch
     }
 }
 
+private fun storedTestSets(testSetsId: Long): List<UtMethodTestSet> =
+    testSets[testSetsId] ?: error("Test sets $testSetsId are not stored, they may have been streamed by generation")
+
 private fun processInitialWarnings(report: TestsGenerationReport, params: GenerateTestReportArgs) {
     val hasInitialWarnings = params.hasInitialWarnings
 
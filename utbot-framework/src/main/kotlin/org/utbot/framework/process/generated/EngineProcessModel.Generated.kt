@@ -24,6 +24,7 @@ class EngineProcessModel private constructor(
     private val _isCancelled: RdCall<Unit, Boolean>,
     private val _findTestClassName: RdCall<TestClassNameParams, TestClassNameResult>,
     private val _generate: RdCall<GenerateParams, GenerateResult>,
+    private val _generatedTestSet: RdSignal<GeneratedTestSet>,
     private val _render: RdCall<RenderParams, RenderResult>,
     private val _obtainClassId: RdCall<String, ByteArray>,
     private val _findMethodsInClassMatchingSelected: RdCall<FindMethodsInClassMatchingSelectedArguments, FindMethodsInClassMatchingSelectedResult>,
@@ -43,6 +44,7 @@ class EngineProcessModel private constructor(
             serializers.register(TestClassNameResult)
             serializers.register(GenerateParams)
             serializers.register(GenerateResult)
+            serializers.register(GeneratedTestSet)
             serializers.register(RenderParams)
             serializers.register(RenderResult)
             serializers.register(SetupContextParams)
@@ -75,7 +77,7 @@ class EngineProcessModel private constructor(
         }
         
         
-        const val serializationHash = 7072495177628793247L
+        const val serializationHash = -4418807431725062906L
         
     }
     override val serializersOwner: ISerializersOwner get() = EngineProcessModel
@@ -87,6 +89,12 @@ class EngineProcessModel private constructor(
     val isCancelled: RdCall<Unit, Boolean> get() = _isCancelled
     val findTestClassName: RdCall<TestClassNameParams, TestClassNameResult> get() = _findTestClassName
     val generate: RdCall<GenerateParams, GenerateResult> get() = _generate
+    
+    /**
+     * Not empty test set of a method generated by [generate] with [streamTestSets] enabled,
+    it is sent as soon as the method is processed and is not kept by the engine process
+     */
+    val generatedTestSet: IAsyncSignal<GeneratedTestSet> get() = _generatedTestSet
     val render: RdCall<RenderParams, RenderResult> get() = _render
     val obtainClassId: RdCall<String, ByteArray> get() = _obtainClassId
     val findMethodsInClassMatchingSelected: RdCall<FindMethodsInClassMatchingSelectedArguments, FindMethodsInClassMatchingSelectedResult> get() = _findMethodsInClassMatchingSelected
@@ -102,6 +110,7 @@ class EngineProcessModel private constructor(
         _isCancelled.async = true
         _findTestClassName.async = true
         _generate.async = true
+        _generatedTestSet.async = true
         _render.async = true
         _obtainClassId.async = true
         _findMethodsInClassMatchingSelected.async = true
@@ -117,6 +126,7 @@ class EngineProcessModel private constructor(
         bindableChildren.add("isCancelled" to _isCancelled)
         bindableChildren.add("findTestClassName" to _findTestClassName)
         bindableChildren.add("generate" to _generate)
+        bindableChildren.add("generatedTestSet" to _generatedTestSet)
         bindableChildren.add("render" to _render)
         bindableChildren.add("obtainClassId" to _obtainClassId)
         bindableChildren.add("findMethodsInClassMatchingSelected" to _findMethodsInClassMatchingSelected)
@@ -134,6 +144,7 @@ class EngineProcessModel private constructor(
         RdCall<Unit, Boolean>(FrameworkMarshallers.Void, FrameworkMarshallers.Bool),
         RdCall<TestClassNameParams, TestClassNameResult>(TestClassNameParams, TestClassNameResult),
         RdCall<GenerateParams, GenerateResult>(GenerateParams, GenerateResult),
+        RdSignal<GeneratedTestSet>(GeneratedTestSet),
         RdCall<RenderParams, RenderResult>(RenderParams, RenderResult),
         RdCall<String, ByteArray>(FrameworkMarshallers.String, FrameworkMarshallers.ByteArray),
         RdCall<FindMethodsInClassMatchingSelectedArguments, FindMethodsInClassMatchingSelectedResult>(FindMethodsInClassMatchingSelectedArguments, FindMethodsInClassMatchingSelectedResult),
@@ -154,6 +165,7 @@ class EngineProcessModel private constructor(
             print("isCancelled = "); _isCancelled.print(printer); println()
             print("findTestClassName = "); _findTestClassName.print(printer); println()
             print("generate = "); _generate.print(printer); println()
+            print("generatedTestSet = "); _generatedTestSet.print(printer); println()
             print("render = "); _render.print(printer); println()
             print("obtainClassId = "); _obtainClassId.print(printer); println()
             print("findMethodsInClassMatchingSelected = "); _findMethodsInClassMatchingSelected.print(printer); println()
@@ -172,6 +184,7 @@ class EngineProcessModel private constructor(
             _isCancelled.deepClonePolymorphic(),
             _findTestClassName.deepClonePolymorphic(),
             _generate.deepClonePolymorphic(),
+            _generatedTestSet.deepClonePolymorphic(),
             _render.deepClonePolymorphic(),
             _obtainClassId.deepClonePolymorphic(),
             _findMethodsInClassMatchingSelected.deepClonePolymorphic(),
@@ -188,7 +201,7 @@ val IProtocol.engineProcessModel get() = getOrCreateExtension(EngineProcessModel
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:106]
+ * #### Generated from [EngineProcessModel.kt:113]
  */
 data class FindMethodParamNamesArguments (
     val classId: ByteArray,
@@ -251,7 +264,7 @@ data class FindMethodParamNamesArguments (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:110]
+ * #### Generated from [EngineProcessModel.kt:117]
  */
 data class FindMethodParamNamesResult (
     val paramNames: ByteArray
@@ -308,7 +321,7 @@ data class FindMethodParamNamesResult (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:99]
+ * #### Generated from [EngineProcessModel.kt:106]
  */
 data class FindMethodsInClassMatchingSelectedArguments (
     val classId: ByteArray,
@@ -371,7 +384,7 @@ data class FindMethodsInClassMatchingSelectedArguments (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:103]
+ * #### Generated from [EngineProcessModel.kt:110]
  */
 data class FindMethodsInClassMatchingSelectedResult (
     val executableIds: ByteArray
@@ -440,7 +453,8 @@ data class GenerateParams (
     val isFuzzingEnabled: Boolean,
     val fuzzingValue: Double,
     val searchDirectory: String,
-    val taintConfigPath: String?
+    val taintConfigPath: String?,
+    val streamTestSets: Boolean
 ) : IPrintable {
     //companion
     
@@ -459,7 +473,8 @@ data class GenerateParams (
             val fuzzingValue = buffer.readDouble()
             val searchDirectory = buffer.readString()
             val taintConfigPath = buffer.readNullable { buffer.readString() }
-            return GenerateParams(methods, mockStrategy, chosenClassesToMockAlways, timeout, generationTimeout, isSymbolicEngineEnabled, isFuzzingEnabled, fuzzingValue, searchDirectory, taintConfigPath)
+            val streamTestSets = buffer.readBool()
+            return GenerateParams(methods, mockStrategy, chosenClassesToMockAlways, timeout, generationTimeout, isSymbolicEngineEnabled, isFuzzingEnabled, fuzzingValue, searchDirectory, taintConfigPath, streamTestSets)
         }
         
         override fun write(ctx: SerializationCtx, buffer: AbstractBuffer, value: GenerateParams)  {
@@ -473,6 +488,7 @@ data class GenerateParams (
             buffer.writeDouble(value.fuzzingValue)
             buffer.writeString(value.searchDirectory)
             buffer.writeNullable(value.taintConfigPath) { buffer.writeString(it) }
+            buffer.writeBool(value.streamTestSets)
         }
         
         
@@ -498,6 +514,7 @@ data class GenerateParams (
         if (fuzzingValue != other.fuzzingValue) return false
         if (searchDirectory != other.searchDirectory) return false
         if (taintConfigPath != other.taintConfigPath) return false
+        if (streamTestSets != other.streamTestSets) return false
         
         return true
     }
@@ -514,6 +531,7 @@ data class GenerateParams (
         __r = __r*31 + fuzzingValue.hashCode()
         __r = __r*31 + searchDirectory.hashCode()
         __r = __r*31 + if (taintConfigPath != null) taintConfigPath.hashCode() else 0
+        __r = __r*31 + streamTestSets.hashCode()
         return __r
     }
     //pretty print
@@ -530,6 +548,7 @@ data class GenerateParams (
             print("fuzzingValue = "); fuzzingValue.print(printer); println()
             print("searchDirectory = "); searchDirectory.print(printer); println()
             print("taintConfigPath = "); taintConfigPath.print(printer); println()
+            print("streamTestSets = "); streamTestSets.print(printer); println()
         }
         printer.print(")")
     }
@@ -539,7 +558,7 @@ data class GenerateParams (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:65]
+ * #### Generated from [EngineProcessModel.kt:67]
  */
 data class GenerateResult (
     val notEmptyCases: Int,
@@ -602,7 +621,7 @@ data class GenerateResult (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:118]
+ * #### Generated from [EngineProcessModel.kt:125]
  */
 data class GenerateTestReportArgs (
     val eventLogMessage: String?,
@@ -695,7 +714,7 @@ data class GenerateTestReportArgs (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:127]
+ * #### Generated from [EngineProcessModel.kt:134]
  */
 data class GenerateTestReportResult (
     val notifyMessage: String,
@@ -763,6 +782,69 @@ data class GenerateTestReportResult (
 }
 
 
+/**
+ * #### Generated from [EngineProcessModel.kt:71]
+ */
+data class GeneratedTestSet (
+    val testSetsId: Long,
+    val testSet: ByteArray
+) : IPrintable {
+    //companion
+    
+    companion object : IMarshaller<GeneratedTestSet> {
+        override val _type: KClass<GeneratedTestSet> = GeneratedTestSet::class
+        
+        @Suppress("UNCHECKED_CAST")
+        override fun read(ctx: SerializationCtx, buffer: AbstractBuffer): GeneratedTestSet  {
+            val testSetsId = buffer.readLong()
+            val testSet = buffer.readByteArray()
+            return GeneratedTestSet(testSetsId, testSet)
+        }
+        
+        override fun write(ctx: SerializationCtx, buffer: AbstractBuffer, value: GeneratedTestSet)  {
+            buffer.writeLong(value.testSetsId)
+            buffer.writeByteArray(value.testSet)
+        }
+        
+        
+    }
+    //fields
+    //methods
+    //initializer
+    //secondary constructor
+    //equals trait
+    override fun equals(other: Any?): Boolean  {
+        if (this === other) return true
+        if (other == null || other::class != this::class) return false
+        
+        other as GeneratedTestSet
+        
+        if (testSetsId != other.testSetsId) return false
+        if (!(testSet contentEquals other.testSet)) return false
+        
+        return true
+    }
+    //hash code trait
+    override fun hashCode(): Int  {
+        var __r = 0
+        __r = __r*31 + testSetsId.hashCode()
+        __r = __r*31 + testSet.contentHashCode()
+        return __r
+    }
+    //pretty print
+    override fun print(printer: PrettyPrinter)  {
+        printer.println("GeneratedTestSet (")
+        printer.indent {
+            print("testSetsId = "); testSetsId.print(printer); println()
+            print("testSet = "); testSet.print(printer); println()
+        }
+        printer.print(")")
+    }
+    //deepClone
+    //contexts
+}
+
+
 /**
  * #### Generated from [EngineProcessModel.kt:32]
  */
@@ -827,7 +909,7 @@ data class JdkInfo (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:94]
+ * #### Generated from [EngineProcessModel.kt:101]
  */
 data class MethodDescription (
     val name: String,
@@ -896,7 +978,7 @@ data class MethodDescription (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:132]
+ * #### Generated from [EngineProcessModel.kt:139]
  */
 data class PerformParams (
     val engineProcessTask: ByteArray
@@ -953,7 +1035,7 @@ data class PerformParams (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:69]
+ * #### Generated from [EngineProcessModel.kt:75]
  */
 data class RenderParams (
     val testSetsId: Long,
@@ -971,7 +1053,8 @@ data class RenderParams (
     val runtimeExceptionTestsBehaviour: String,
     val hangingTestsTimeout: Long,
     val enableTestsTimeout: Boolean,
-    val testClassPackageName: String
+    val testClassPackageName: String,
+    val outputFilePath: String?
 ) : IPrintable {
     //companion
     
@@ -996,7 +1079,8 @@ data class RenderParams (
             val hangingTestsTimeout = buffer.readLong()
             val enableTestsTimeout = buffer.readBool()
             val testClassPackageName = buffer.readString()
-            return RenderParams(testSetsId, classUnderTest, projectType, paramNames, generateUtilClassFile, testFramework, mockFramework, codegenLanguage, parameterizedTestSource, staticsMocking, forceStaticMocking, generateWarningsForStaticMocking, runtimeExceptionTestsBehaviour, hangingTestsTimeout, enableTestsTimeout, testClassPackageName)
+            val outputFilePath = buffer.readNullable { buffer.readString() }
+            return RenderParams(testSetsId, classUnderTest, projectType, paramNames, generateUtilClassFile, testFramework, mockFramework, codegenLanguage, parameterizedTestSource, staticsMocking, forceStaticMocking, generateWarningsForStaticMocking, runtimeExceptionTestsBehaviour, hangingTestsTimeout, enableTestsTimeout, testClassPackageName, outputFilePath)
         }
         
         override fun write(ctx: SerializationCtx, buffer: AbstractBuffer, value: RenderParams)  {
@@ -1016,6 +1100,7 @@ data class RenderParams (
             buffer.writeLong(value.hangingTestsTimeout)
             buffer.writeBool(value.enableTestsTimeout)
             buffer.writeString(value.testClassPackageName)
+            buffer.writeNullable(value.outputFilePath) { buffer.writeString(it) }
         }
         
         
@@ -1047,6 +1132,7 @@ data class RenderParams (
         if (hangingTestsTimeout != other.hangingTestsTimeout) return false
         if (enableTestsTimeout != other.enableTestsTimeout) return false
         if (testClassPackageName != other.testClassPackageName) return false
+        if (outputFilePath != other.outputFilePath) return false
         
         return true
     }
@@ -1069,6 +1155,7 @@ data class RenderParams (
         __r = __r*31 + hangingTestsTimeout.hashCode()
         __r = __r*31 + enableTestsTimeout.hashCode()
         __r = __r*31 + testClassPackageName.hashCode()
+        __r = __r*31 + if (outputFilePath != null) outputFilePath.hashCode() else 0
         return __r
     }
     //pretty print
@@ -1091,6 +1178,7 @@ data class RenderParams (
             print("hangingTestsTimeout = "); hangingTestsTimeout.print(printer); println()
             print("enableTestsTimeout = "); enableTestsTimeout.print(printer); println()
             print("testClassPackageName = "); testClassPackageName.print(printer); println()
+            print("outputFilePath = "); outputFilePath.print(printer); println()
         }
         printer.print(")")
     }
@@ -1100,7 +1188,7 @@ data class RenderParams (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:87]
+ * #### Generated from [EngineProcessModel.kt:94]
  */
 data class RenderResult (
     val generatedCode: String,
@@ -1163,7 +1251,7 @@ data class RenderResult (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:91]
+ * #### Generated from [EngineProcessModel.kt:98]
  */
 data class SetupContextParams (
     val classpathForUrlsClassloader: List<String>
@@ -1415,7 +1503,7 @@ data class TestGeneratorParams (
 
 
 /**
- * #### Generated from [EngineProcessModel.kt:113]
+ * #### Generated from [EngineProcessModel.kt:120]
  */
 data class WriteSarifReportArguments (
     val testSetsId: Long,
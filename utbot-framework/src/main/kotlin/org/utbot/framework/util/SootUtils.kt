@@ -1,7 +1,7 @@
 package org.utbot.framework.util
 
+import mu.KotlinLogging
 import org.utbot.common.FileUtil
-import org.utbot.engine.jimpleBody
 import org.utbot.engine.pureJavaSignature
 import org.utbot.framework.UtSettings
 import org.utbot.framework.plugin.api.ExecutableId
@@ -11,13 +11,17 @@ import soot.PackManager
 import soot.Scene
 import soot.SootClass
 import soot.SootMethod
+import soot.SourceLocator
 import soot.jimple.JimpleBody
 import soot.options.Options
 import soot.toolkits.graph.ExceptionalUnitGraph
 import java.io.File
 import java.nio.file.Path
+import java.security.MessageDigest
 import java.util.function.Consumer
 
+private val logger = KotlinLogging.logger {}
+
 object SootUtils {
     /**
      * Runs Soot in tests if it hasn't already been done.
@@ -38,20 +42,91 @@ object SootUtils {
      * @param jdkInfo specifies the JRE and the runtime library version used for analysing system classes and user's
      * code.
      * @param forceReload forces to reinitialize Soot even if the [previousBuildDirs] equals to [buildDirPaths] and
-     * [previousClassPath] equals to [classPath].
+     * [previousClassPath] equals to [classPath]. Reinitialization is still skipped if the analysed classes are not
+     * changed and [UtSettings.reuseSootSceneForUnchangedClasspath] is set.
      */
     fun runSoot(buildDirPaths: List<Path>, classPath: String?, forceReload: Boolean, jdkInfo: JdkInfo) {
         synchronized(this) {
             if (buildDirPaths != previousBuildDirs || classPath != previousClassPath || forceReload) {
-                initSoot(buildDirPaths, classPath, jdkInfo)
+                val fingerprint = if (UtSettings.reuseSootSceneForUnchangedClasspath) {
+                    SootInputFingerprint.of(buildDirPaths, classPath, jdkInfo)
+                } else {
+                    null
+                }
+                if (fingerprint == null || fingerprint != previousFingerprint) {
+                    initSoot(buildDirPaths, classPath, jdkInfo)
+                } else {
+                    logger.info { "Soot is not reinitialized: analysed classes are not changed" }
+                }
                 previousBuildDirs = buildDirPaths
                 previousClassPath = classPath
+                previousFingerprint = fingerprint
             }
         }
     }
 
     private var previousBuildDirs: List<Path>? = null
     private var previousClassPath: String? = null
+    private var previousFingerprint: SootInputFingerprint? = null
+}
+
+/**
+ * Everything that determines the Soot scene built by [initSoot].
+ *
+ * Class files from directories and jar files are compared by content: a rebuilt jar may keep its size,
+ * and its modification time may be restored by the build tool. Hashing is still much cheaper than [initSoot].
+ */
+private data class SootInputFingerprint(
+    val buildDirs: List<Path>,
+    val classPath: String?,
+    val jdkPath: Path,
+    val jdkVersion: Int,
+    val optionConfiguration: Consumer<Options>,
+    val removeUtBotClassesFromHierarchy: Boolean,
+    val removeSootClassesFromHierarchy: Boolean,
+    val lazyResolution: Boolean,
+    val contentHash: String,
+) {
+    companion object {
+        fun of(buildDirs: List<Path>, classPath: String?, jdkInfo: JdkInfo): SootInputFingerprint {
+            val digest = MessageDigest.getInstance("MD5")
+            val classPathEntries = classPath?.split(File.pathSeparator)?.filter { it.isNotEmpty() }.orEmpty()
+            (buildDirs.map { it.toFile() } + classPathEntries.map { File(it) }).forEach { digest.updateWith(it) }
+            return SootInputFingerprint(
+                buildDirs,
+                classPath,
+                jdkInfo.path,
+                jdkInfo.version,
+                sootOptionConfiguration,
+                UtSettings.removeUtBotClassesFromHierarchy,
+                UtSettings.removeSootClassesFromHierarchy,
+                UtSettings.lazySootBodyResolution,
+                digest.digest().joinToString("") { "%02x".format(it) }
+            )
+        }
+
+        private fun MessageDigest.updateWith(entry: File) {
+            update(entry.absolutePath.toByteArray())
+            when {
+                entry.isDirectory -> entry.walkTopDown()
+                    .filter { it.isFile && it.extension == "class" }
+                    .sortedBy { it.path }
+                    .forEach {
+                        update(it.relativeTo(entry).path.toByteArray())
+                        update(it.readBytes())
+                    }
+                entry.isFile -> entry.inputStream().use { input ->
+                    val buffer = ByteArray(DEFAULT_BUFFER_SIZE)
+                    while (true) {
+                        val read = input.read(buffer)
+                        if (read < 0) break
+                        update(buffer, 0, read)
+                    }
+                }
+                else -> update(0.toByte())
+            }
+        }
+    }
 }
 
 /**
@@ -64,6 +139,7 @@ var sootOptionConfiguration: Consumer<Options> = Consumer { _ -> }
  */
 private fun initSoot(buildDirs: List<Path>, classpath: String?, jdkInfo: JdkInfo) {
     G.reset()
+    val lazyResolution = UtSettings.lazySootBodyResolution
     val options = Options.v()
 
     G.v().initJdk(G.JreInfo(jdkInfo.path.toString(), jdkInfo.version)) // init Soot with the right jdk
@@ -89,13 +165,18 @@ private fun initSoot(buildDirs: List<Path>, classpath: String?, jdkInfo: JdkInfo
          * To cover that, set_allow_phantom_refs(true) is required
          */
         set_allow_phantom_refs(true) // Java8 related
-        set_full_resolver(true)
+        // in the lazy mode classes are resolved and bodies are built on demand, see [adjustLevel]
+        set_full_resolver(!lazyResolution)
     }
 
     addBasicClasses(*classesToLoad)
 
     Scene.v().loadNecessaryClasses()
-    PackManager.v().runPacks()
+    if (lazyResolution) {
+        resolveClasspathHierarchy(buildDirs, classpath)
+    } else {
+        PackManager.v().runPacks()
+    }
     // these options are moved out from forEach loop because they are slow due to rd communication
     val removeUtBotClassesFromHierarchy = UtSettings.removeUtBotClassesFromHierarchy
     val removeSootClassesFromHierarchy = UtSettings.removeSootClassesFromHierarchy
@@ -123,12 +204,23 @@ private fun initSoot(buildDirs: List<Path>, classpath: String?, jdkInfo: JdkInfo
             return@forEach
         }
 
-        if (it.resolvingLevel() < SootClass.HIERARCHY) {
-            it.setResolvingLevel(SootClass.HIERARCHY)
-        }
+        it.adjustLevel(SootClass.HIERARCHY)
     }
 }
 
+/**
+ * Resolves hierarchy of all the classes in [buildDirs] and [classpath] without the full resolver,
+ * so inheritors of abstract types are known before their bodies are met.
+ * Only JDK classes that are not referenced by the hierarchy of these classes are met later.
+ */
+private fun resolveClasspathHierarchy(buildDirs: List<Path>, classpath: String?) {
+    val locations = buildDirs.map { it.toString() } + classpath.orEmpty().split(File.pathSeparator)
+    locations
+        .filter { it.isNotEmpty() && File(it).exists() }
+        .flatMap { SourceLocator.v().getClassesUnder(it) }
+        .forEach { Scene.v().forceResolve(it, SootClass.HIERARCHY) }
+}
+
 fun JimpleBody.graph() = ExceptionalUnitGraph(this)
 
 val ExecutableId.sootMethod: SootMethod
@@ -29,9 +29,18 @@ class SarifReport(
          * Merges several SARIF reports given as JSON-strings into one
          */
         fun mergeReports(reports: List<String>): String =
-            reports.fold(Sarif.empty()) { sarif: Sarif, report: String ->
-                sarif + Sarif.fromJson(report)
-            }.toJson()
+            mergeReports(reports.asSequence())
+
+        /**
+         * Merges several SARIF reports given as JSON-strings into one.
+         *
+         * The reports are parsed one by one while their runs are collected,
+         * so only the parsed runs are kept in memory, not all the JSON-strings.
+         */
+        fun mergeReports(reports: Sequence<String>): String =
+            Sarif.empty().copy(
+                runs = reports.flatMap { report -> Sarif.fromJson(report).runs }.toList()
+            ).toJson()
 
         /**
          * Minimizes SARIF results between several reports.
@@ -2,8 +2,10 @@
 package org.utbot.fuzzing
 
 import kotlinx.coroutines.*
+import kotlinx.coroutines.channels.Channel
 import mu.KotlinLogging
 import org.utbot.fuzzing.seeds.KnownValue
+import org.utbot.fuzzing.utils.FenwickTree
 import org.utbot.fuzzing.utils.MissedSeed
 import org.utbot.fuzzing.utils.chooseOne
 import org.utbot.fuzzing.utils.flipCoin
@@ -330,8 +332,7 @@ private suspend fun <T, R, D : Description<T>, F : Feedback<T, R>> Fuzzing<T, R,
         state = State(typeCache, statistic.missedTypes),
     )
 
-    while (!fuzzing.isCancelled(description, statistic)) {
-        beforeIteration(description, statistic)
+    fun nextValues(): Node<T, R> {
         val values = if (statistic.isNotEmpty() && random.flipCoin(configuration.probSeedRetrievingInsteadGenerating)) {
             statistic.getRandomSeed(random, configuration).let {
                 mutationFactory.mutate(it, random, configuration)
@@ -347,15 +348,30 @@ private suspend fun <T, R, D : Description<T>, F : Feedback<T, R>> Fuzzing<T, R,
                 }
             }
         }
+        check(values.parameters.size == values.result.size) { "Cannot create value for ${values.parameters}" }
+        return values
+    }
+
+    fun createResult(values: Node<T, R>): List<R> {
+        val valuesCache = mutableMapOf<Result<T, R>, R>()
+        return values.result.map { valuesCache.computeIfAbsent(it) { r -> create(r) } }
+    }
+
+    if (configuration.maxExecutionsInFlight > 1) {
+        fuzzPipelined(description, statistic, ::nextValues, ::createResult)
+        return
+    }
+
+    while (!fuzzing.isCancelled(description, statistic)) {
+        beforeIteration(description, statistic)
+        val values = nextValues()
         afterIteration(description, statistic)
 
         yield()
         statistic.apply {
             totalRuns++
         }
-        check(values.parameters.size == values.result.size) { "Cannot create value for ${values.parameters}" }
-        val valuesCache = mutableMapOf<Result<T, R>, R>()
-        val result = values.result.map { valuesCache.computeIfAbsent(it) { r -> create(r) } }
+        val result = createResult(values)
         val feedback = fuzzing.handle(description, result)
         when (feedback.control) {
             Control.CONTINUE -> {
@@ -369,6 +385,62 @@ private suspend fun <T, R, D : Description<T>, F : Feedback<T, R>> Fuzzing<T, R,
     }
 }
 
+/**
+ * Pipelined variant of the main loop: values are generated while previous values
+ * are still being handled, so that up to [Configuration.maxExecutionsInFlight] calls
+ * of [Fuzzing.handle] run concurrently.
+ *
+ * Feedback is applied to [statistic] in the order results arrive, and only from this coroutine,
+ * therefore [StatisticImpl] is never accessed concurrently. [Fuzzing.handle] must be safe to be called
+ * concurrently in this mode.
+ */
+private suspend fun <T, R, D : Description<T>, F : Feedback<T, R>> Fuzzing<T, R, D, F>.fuzzPipelined(
+    description: D,
+    statistic: StatisticImpl<T, R, F>,
+    nextValues: () -> Node<T, R>,
+    createResult: (Node<T, R>) -> List<R>,
+) = coroutineScope {
+    val random = statistic.random
+    val configuration = statistic.configuration
+    val fuzzing = this@fuzzPipelined
+    val completed = Channel<Pair<Node<T, R>, F>>(Channel.UNLIMITED)
+    var inFlight = 0
+    try {
+        while (true) {
+            while (inFlight < configuration.maxExecutionsInFlight && !fuzzing.isCancelled(description, statistic)) {
+                beforeIteration(description, statistic)
+                val values = nextValues()
+                afterIteration(description, statistic)
+
+                yield()
+                statistic.apply {
+                    totalRuns++
+                }
+                val result = createResult(values)
+                launch {
+                    completed.send(values to fuzzing.handle(description, result))
+                }
+                inFlight++
+            }
+            if (inFlight == 0) {
+                break
+            }
+            val (values, feedback) = completed.receive()
+            inFlight--
+            when (feedback.control) {
+                Control.CONTINUE -> {
+                    statistic.put(random, configuration, feedback, values)
+                }
+                Control.STOP -> {
+                    break
+                }
+                Control.PASS -> {}
+            }
+        }
+    } finally {
+        coroutineContext.cancelChildren()
+    }
+}
 
 ///region Implementation of the fuzzing and non-public functions.
 
@@ -707,6 +779,11 @@ private class StatisticImpl<TYPE, RESULT, FEEDBACK : Feedback<TYPE, RESULT>>(
         get() = System.nanoTime() - startTime
     private val seeds = linkedMapOf<FEEDBACK, Node<TYPE, RESULT>>()
     private val count = linkedMapOf<FEEDBACK, Long>()
+    // feedbacks are never removed, so the index of a feedback in these collections never changes
+    private val indices = hashMapOf<FEEDBACK, Int>()
+    private val feedbacks = arrayListOf<FEEDBACK>()
+    private val energies = FenwickTree()
+    private var energyFunction = configuration.energyFunction
 
     fun put(random: Random, configuration: Configuration, feedback: FEEDBACK, seed: Node<TYPE, RESULT>) {
         if (random.flipCoin(configuration.probUpdateSeedInsteadOfKeepOld)) {
@@ -714,19 +791,27 @@ private class StatisticImpl<TYPE, RESULT, FEEDBACK : Feedback<TYPE, RESULT>>(
         } else {
             seeds.putIfAbsent(feedback, seed)
         }
-        count[feedback] = count.getOrDefault(feedback, 0L) + 1L
+        val newCount = count.getOrDefault(feedback, 0L) + 1L
+        count[feedback] = newCount
+        val index = indices[feedback]
+        if (index == null) {
+            indices[feedback] = energies.add(energyFunction(newCount))
+            feedbacks.add(feedback)
+        } else {
+            energies[index] = energyFunction(newCount)
+        }
     }
 
     fun getRandomSeed(random: Random, configuration: Configuration): Node<TYPE, RESULT> {
         if (seeds.isEmpty()) error("Call `isNotEmpty` before getting the seed")
-        val entries = seeds.entries.toList()
-        val frequencies = DoubleArray(seeds.size).also { f ->
-            entries.forEachIndexed { index, (key, _) ->
-                f[index] = configuration.energyFunction(count.getOrDefault(key, 0L))
+        if (energyFunction !== configuration.energyFunction) {
+            energyFunction = configuration.energyFunction
+            feedbacks.forEachIndexed { index, key ->
+                energies[index] = energyFunction(count.getOrDefault(key, 0L))
             }
         }
-        val index = random.chooseOne(frequencies)
-        return entries[index].value
+        val index = random.chooseOne(energies)
+        return seeds.getValue(feedbacks[index])
     }
 
     fun isNotEmpty() = seeds.isNotEmpty()
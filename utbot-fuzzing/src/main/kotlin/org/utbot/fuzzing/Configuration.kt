@@ -95,4 +95,13 @@ data class Configuration(
      * Limits maximum number of recursive seed modifications
      */
     var maxNumberOfRecursiveSeedModifications: Int = 10,
-)
\ No newline at end of file
+
+    /**
+     * Maximum number of [Fuzzing.handle] calls that can run concurrently.
+     *
+     * When greater than 1, new values are generated while previous ones are still being handled
+     * and feedback is applied as soon as it arrives. In this case [Fuzzing.handle] must be safe
+     * for concurrent calls.
+     */
+    var maxExecutionsInFlight: Int = 1,
+)
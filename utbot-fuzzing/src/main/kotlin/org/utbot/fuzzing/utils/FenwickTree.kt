@@ -0,0 +1,109 @@
+package org.utbot.fuzzing.utils
+
+import kotlin.random.Random
+
+/**
+ * Binary indexed tree of non-negative weights.
+ *
+ * Supports appending and updating weights, and finding an index by a cumulative weight in O(log n),
+ * which is used to choose weighted random values without recalculation of all the weights.
+ */
+class FenwickTree(initialCapacity: Int = 16) {
+
+    private var tree = DoubleArray(initialCapacity.coerceAtLeast(1) + 1)
+    private var weights = DoubleArray(initialCapacity.coerceAtLeast(1))
+
+    var size: Int = 0
+        private set
+
+    /**
+     * Sum of all weights.
+     */
+    val total: Double
+        get() = prefixSum(size)
+
+    operator fun get(index: Int): Double {
+        checkIndex(index)
+        return weights[index]
+    }
+
+    /**
+     * Appends a new weight and returns its index.
+     */
+    fun add(weight: Double): Int {
+        check(weight >= 0) { "Weight must not be negative" }
+        if (size == weights.size) {
+            grow()
+        }
+        val index = size++
+        update(index, weight)
+        return index
+    }
+
+    operator fun set(index: Int, weight: Double) {
+        checkIndex(index)
+        check(weight >= 0) { "Weight must not be negative" }
+        update(index, weight - weights[index])
+    }
+
+    /**
+     * Returns the first index for which cumulative weight of all weights up to it inclusively is greater than [value].
+     */
+    fun find(value: Double): Int {
+        if (size == 0) error("Cannot find index in an empty tree")
+        var position = 0
+        var remaining = value
+        var step = Integer.highestOneBit(size)
+        while (step > 0) {
+            val next = position + step
+            if (next <= size && tree[next] <= remaining) {
+                position = next
+                remaining -= tree[next]
+            }
+            step = step shr 1
+        }
+        // floating point errors can move position past the last element
+        return position.coerceAtMost(size - 1)
+    }
+
+    private fun update(index: Int, delta: Double) {
+        weights[index] += delta
+        var i = index + 1
+        while (i < tree.size) {
+            tree[i] += delta
+            i += i and -i
+        }
+    }
+
+    private fun prefixSum(count: Int): Double {
+        var sum = 0.0
+        var i = count
+        while (i > 0) {
+            sum += tree[i]
+            i -= i and -i
+        }
+        return sum
+    }
+
+    private fun grow() {
+        val oldWeights = weights
+        weights = DoubleArray(oldWeights.size * 2)
+        tree = DoubleArray(weights.size + 1)
+        for (i in 0 until size) {
+            update(i, oldWeights[i])
+        }
+    }
+
+    private fun checkIndex(index: Int) {
+        if (index !in 0 until size) throw IndexOutOfBoundsException("Index $index is out of bounds [0, $size)")
+    }
+}
+
+/**
+ * Chooses an index with probability proportional to its weight in the [tree].
+ *
+ * Consumes random in the same way as [chooseOne] does, therefore gives the same index for the same weights.
+ */
+fun Random.chooseOne(tree: FenwickTree): Int {
+    return tree.find(nextDouble(tree.total))
+}
@@ -49,6 +49,24 @@ open class Trie<T, K>(
         return node
     }
 
+    /**
+     * Adds value into a trie as [add] does, but takes keys of elements from [keyAt]
+     * and gets elements of [values] only when new nodes are created.
+     *
+     * Useful for lazily decoded lists, where creation of an element is more expensive than its key.
+     */
+    fun add(values: List<T>, keyAt: (index: Int) -> K): Node<T> {
+        if (values.isEmpty()) error("Empty list are not allowed")
+        var node = roots.computeIfAbsent(keyAt(0)) { NodeImpl(values[0], null) }
+        for (index in 1 until values.size) {
+            val parent = node
+            node = parent.children.computeIfAbsent(keyAt(index)) { NodeImpl(values[index], parent) }
+        }
+        node.count++
+        implementations[node] = node
+        return node
+    }
+
     /**
      * Decreases node counter value or removes the value completely if `counter == 1`.
      *
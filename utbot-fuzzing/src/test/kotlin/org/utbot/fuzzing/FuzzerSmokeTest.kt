@@ -308,4 +308,26 @@ class FuzzerSmokeTest {
             Assertions.assertTrue(seenAnything) { "Fuzzer hasn't generated any values" }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    fun `fuzzer keeps several executions in flight when pipelined`() {
+        runBlocking {
+            var running = 0
+            var maxRunning = 0
+            var count = 0
+            runFuzzing(
+                { _, _ -> sequenceOf(Seed.Simple(Unit)) },
+                Description(listOf(Unit)),
+                configuration = Configuration(maxExecutionsInFlight = 4)
+            ) { _, _ ->
+                running++
+                maxRunning = maxOf(maxRunning, running)
+                delay(10)
+                running--
+                if (++count >= 20) BaseFeedback(Unit, Control.STOP) else BaseFeedback(Unit, Control.CONTINUE)
+            }
+            Assertions.assertEquals(4, maxRunning)
+            Assertions.assertTrue(count >= 20)
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.utbot.fuzzing.utils
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import kotlin.random.Random
+
+class FenwickTreeTest {
+
+    @Test
+    fun `total is a sum of all weights`() {
+        val tree = FenwickTree(initialCapacity = 2)
+        (1..100).forEach { tree.add(it.toDouble()) }
+        assertEquals(100, tree.size)
+        assertEquals(5050.0, tree.total)
+        tree[99] = 0.0
+        assertEquals(4950.0, tree.total)
+        assertEquals(0.0, tree[99])
+    }
+
+    @Test
+    fun `find skips zero weights`() {
+        val tree = FenwickTree()
+        tree.add(0.0)
+        tree.add(1.0)
+        tree.add(0.0)
+        tree.add(2.0)
+        assertEquals(1, tree.find(0.0))
+        assertEquals(1, tree.find(0.99))
+        assertEquals(3, tree.find(1.0))
+        assertEquals(3, tree.find(2.99))
+    }
+
+    @ParameterizedTest(name = "seed{arguments}")
+    @ValueSource(ints = [0, 100, -123, 99999, 84])
+    fun `choose one returns same indices as array based implementation`(seed: Int) {
+        val weightsRandom = Random(seed)
+        val frequencies = DoubleArray(37) { weightsRandom.nextDouble(10.0) }
+        val tree = FenwickTree()
+        frequencies.forEach { tree.add(it) }
+        val first = Random(seed)
+        val second = Random(seed)
+        repeat(10_000) {
+            assertEquals(first.chooseOne(frequencies), second.chooseOne(tree))
+        }
+    }
+}
@@ -119,19 +119,20 @@ open class GenerateTestsAndSarifReportTask @Inject constructor(
 
     /**
      * Returns SARIF reports created for this [GradleProjectWrapper] and for all its child projects.
+     * The reports are read lazily.
      */
-    private fun GradleProjectWrapper.collectReportsRecursively(): List<String> =
-        this.sourceSets.flatMap { sourceSetWrapper ->
+    private fun GradleProjectWrapper.collectReportsRecursively(): Sequence<String> =
+        this.sourceSets.asSequence().flatMap { sourceSetWrapper ->
             sourceSetWrapper.collectReports()
-        } + this.childProjects.flatMap { childProject ->
+        } + this.childProjects.asSequence().flatMap { childProject ->
             childProject.collectReportsRecursively()
         }
 
     /**
      * Returns SARIF reports created for this [SourceSetWrapper].
      */
-    private fun SourceSetWrapper.collectReports(): List<String> =
-        this.targetClasses.map { targetClass ->
+    private fun SourceSetWrapper.collectReports(): Sequence<String> =
+        this.targetClasses.asSequence().map { targetClass ->
             targetClass.sarifReportFile.readText()
         }
 }
@@ -0,0 +1,80 @@
+package org.utbot.examples
+
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertInstanceOf
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.utbot.examples.samples.ExampleClass
+import org.utbot.framework.plugin.api.util.signature
+import org.utbot.instrumentation.ConcreteExecutor
+import org.utbot.instrumentation.execute
+import org.utbot.instrumentation.instrumentation.InvokeInstrumentation
+import org.utbot.instrumentation.util.InstrumentedProcessError
+import kotlin.reflect.jvm.javaMethod
+
+class TestBatchInvocation {
+    private val classpath = ExampleClass::class.java.protectionDomain.codeSource.location.path
+
+    @Test
+    fun testEveryExecutionIsReportedOnce() {
+        ConcreteExecutor(InvokeInstrumentation.Factory, classpath).use { executor ->
+            val method = ExampleClass::dependsOnFieldReturn.javaMethod!!
+            val batchSize = 10
+
+            val results = runBlocking {
+                executor.executeBatchAsync(
+                    method.declaringClass.name,
+                    method.signature,
+                    arrayOf(ExampleClass()),
+                    List(batchSize) { null }
+                ).toList()
+            }
+
+            assertEquals((0 until batchSize).toList(), results.map { it.index }.sorted())
+            // arguments are deserialized for each execution, so executions do not affect each other
+            assertTrue(results.all { it.value.getOrNull() == Result.success(2) }) { "$results" }
+        }
+    }
+
+    @Test
+    fun testFailedExecutionsDoNotStopBatch() {
+        ConcreteExecutor(InvokeInstrumentation.Factory, classpath).use { executor ->
+            val method = ExampleClass::bar.javaMethod!!
+            val batchSize = 3
+
+            val results = runBlocking {
+                executor.executeBatchAsync(
+                    method.declaringClass.name,
+                    method.signature,
+                    arrayOf(ExampleClass(), 1, 2, 3),
+                    List(batchSize) { null }
+                ).toList()
+            }
+
+            assertEquals((0 until batchSize).toList(), results.map { it.index }.sorted())
+            results.forEach {
+                assertInstanceOf(InstrumentedProcessError::class.java, it.value.exceptionOrNull())
+            }
+
+            // the process is still operating after the batch
+            val res = executor.execute(ExampleClass::dependsOnFieldReturn, arrayOf(ExampleClass()))
+            assertEquals(2, res.getOrNull())
+        }
+    }
+
+    @Test
+    fun testEmptyBatch() {
+        ConcreteExecutor(InvokeInstrumentation.Factory, classpath).use { executor ->
+            val method = ExampleClass::emptyMethod.javaMethod!!
+
+            val results = runBlocking {
+                executor.executeBatchAsync(method.declaringClass.name, method.signature, arrayOf(ExampleClass()), emptyList())
+                    .toList()
+            }
+
+            assertTrue(results.isEmpty())
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.utbot.examples
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.utbot.examples.samples.ExampleClass
+import org.utbot.framework.UtSettings
+import org.utbot.instrumentation.ConcreteExecutor
+import org.utbot.instrumentation.execute
+import org.utbot.instrumentation.instrumentation.InvokeInstrumentation
+import org.utbot.instrumentation.warmup
+
+class TestConcreteExecutorProcesses {
+    private var previousProcessesNumber = 0
+
+    @BeforeEach
+    fun setUp() {
+        previousProcessesNumber = UtSettings.instrumentedProcessesPerConcreteExecutor
+        UtSettings.instrumentedProcessesPerConcreteExecutor = 2
+    }
+
+    @AfterEach
+    fun tearDown() {
+        UtSettings.instrumentedProcessesPerConcreteExecutor = previousProcessesNumber
+    }
+
+    @Test
+    fun testWarmupIsAppliedToEveryProcess() {
+        ConcreteExecutor(
+            InvokeInstrumentation.Factory,
+            ExampleClass::class.java.protectionDomain.codeSource.location.path
+        ).use { executor ->
+            executor.warmup()
+
+            val statistics = executor.processesStatistics
+            assertEquals(2, statistics.size)
+            assertTrue(statistics.all { it.isAlive }) { "$statistics" }
+            assertTrue(statistics.all { it.initializationsCount == 1 }) { "$statistics" }
+        }
+    }
+
+    @Test
+    fun testWarmupIsAppliedOnce() {
+        ConcreteExecutor(
+            InvokeInstrumentation.Factory,
+            ExampleClass::class.java.protectionDomain.codeSource.location.path
+        ).use { executor ->
+            executor.warmup()
+            executor.warmup()
+
+            val testObject = ExampleClass()
+            assertEquals(2, executor.execute(ExampleClass::dependsOnFieldReturn, arrayOf(testObject)).getOrNull())
+
+            val statistics = executor.processesStatistics
+            assertTrue(statistics.all { it.initializationsCount == 1 }) { "$statistics" }
+        }
+    }
+
+    @Test
+    fun testProcessStartedBeforeWarmupIsWarmedUp() {
+        ConcreteExecutor(
+            InvokeInstrumentation.Factory,
+            ExampleClass::class.java.protectionDomain.codeSource.location.path
+        ).use { executor ->
+            val testObject = ExampleClass()
+            executor.execute(ExampleClass::dependsOnFieldReturn, arrayOf(testObject))
+            assertEquals(1, executor.processesStatistics.count { it.isAlive })
+
+            executor.warmup()
+
+            val statistics = executor.processesStatistics
+            assertTrue(statistics.all { it.isAlive && it.initializationsCount == 1 }) { "$statistics" }
+        }
+    }
+}
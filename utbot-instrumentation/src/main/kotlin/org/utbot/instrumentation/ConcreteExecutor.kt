@@ -4,6 +4,9 @@ import com.jetbrains.rd.util.lifetime.LifetimeDefinition
 import com.jetbrains.rd.util.lifetime.isAlive
 import com.jetbrains.rd.util.lifetime.throwIfNotAlive
 import java.io.Closeable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.concurrent.atomic.AtomicLong
 import kotlin.reflect.KCallable
 import kotlin.reflect.KFunction
@@ -12,12 +15,20 @@ import kotlin.reflect.jvm.javaConstructor
 import kotlin.reflect.jvm.javaGetter
 import kotlin.reflect.jvm.javaMethod
 import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
 import mu.KotlinLogging
 import org.utbot.framework.plugin.api.InstrumentedProcessDeathException
 import org.utbot.common.logException
+import org.utbot.framework.UtSettings
 import org.utbot.framework.plugin.api.ClassId
 import org.utbot.framework.plugin.api.FieldId
 import org.utbot.framework.plugin.api.ConcreteContextLoadingResult
@@ -27,6 +38,7 @@ import org.utbot.framework.plugin.api.util.signature
 import org.utbot.instrumentation.instrumentation.Instrumentation
 import org.utbot.instrumentation.process.generated.ComputeStaticFieldParams
 import org.utbot.instrumentation.process.generated.GetSpringRepositoriesParams
+import org.utbot.instrumentation.process.generated.InvokeMethodBatchCommandParams
 import org.utbot.instrumentation.process.generated.InvokeMethodCommandParams
 import org.utbot.instrumentation.rd.InstrumentedProcess
 import org.utbot.instrumentation.util.InstrumentedProcessError
@@ -55,6 +67,12 @@ inline fun <TBlockResult, TIResult, reified T : Instrumentation<TIResult>> withI
     block(it)
 }
 
+/**
+ * Pool of [ConcreteExecutor]s with one executor per instrumentation factory and classpath.
+ *
+ * Each executor may run up to [UtSettings.instrumentedProcessesPerConcreteExecutor] instrumented processes,
+ * so concurrent calls for the same classpath are spread among them instead of waiting for a single process.
+ */
 class ConcreteExecutorPool(val maxCount: Int = Settings.defaultConcreteExecutorPoolSize) : AutoCloseable {
     private val executors = ArrayDeque<ConcreteExecutor<*, *>>(maxCount)
 
@@ -119,6 +137,7 @@ class ConcreteExecutor<out TIResult, out TInstrumentation : Instrumentation<TIRe
         val lastReceiveTimeMs: Long
             get() = receiveTimeStamp.get()
         val defaultPool = ConcreteExecutorPool()
+        private val batchIdGenerator = AtomicLong()
 
         init {
             overrideDefaultRdLoggerFactoryWithKLogger(logger)
@@ -145,37 +164,149 @@ class ConcreteExecutor<out TIResult, out TInstrumentation : Instrumentation<TIRe
     val alive: Boolean
         get() = ldef.isAlive
 
-    private val corMutex = Mutex()
-    private var processInstance: InstrumentedProcess? = null
+    private val processSlots: List<ProcessSlot> = List(
+        if (UtSettings.runInstrumentedProcessWithDebug) 1 else UtSettings.instrumentedProcessesPerConcreteExecutor
+    ) { ProcessSlot(it) }
 
-    // this function is intended to be called under corMutex
-    private suspend fun regenerate(): InstrumentedProcess {
-        ldef.throwIfNotAlive()
+    /**
+     * Current load and health of the instrumented processes of this executor.
+     */
+    val processesStatistics: List<InstrumentedProcessStatistics>
+        get() = processSlots.map { it.statistics }
+
+    /**
+     * Action applied once to every instrumented process of this executor, including the processes started
+     * after it is added, e.g. respawned after death. The [result] of its first application is kept.
+     */
+    private class ProcessInitializer(val key: String, val action: suspend InstrumentedProcess.() -> Any?) {
+        val result = CompletableDeferred<Any?>()
+    }
 
-        var proc: InstrumentedProcess? = processInstance
+    private val processInitializers = CopyOnWriteArrayList<ProcessInitializer>()
 
-        if (proc == null || !proc.lifetime.isAlive) {
-            proc = InstrumentedProcess(
-                ldef,
-                instrumentationFactory,
-                pathsToUserClasses,
-                classLoader
+    /**
+     * One of the instrumented processes of this executor with its own mutex and load counters.
+     */
+    private inner class ProcessSlot(val index: Int) {
+        val mutex = Mutex()
+        var processInstance: InstrumentedProcess? = null
+
+        // number of the [processInitializers] applied to the [processInstance]
+        var initializationsCount = 0
+
+        // number of calls that are waiting for this process or are being executed in it
+        val queueDepth = AtomicInteger()
+        @Volatile var maxQueueDepth = 0
+        val startsCount = AtomicInteger()
+
+        val isProcessAlive: Boolean
+            get() = processInstance?.lifetime?.isAlive == true
+
+        val statistics: InstrumentedProcessStatistics
+            get() = InstrumentedProcessStatistics(
+                index,
+                isProcessAlive,
+                queueDepth.get(),
+                maxQueueDepth,
+                restartsCount = maxOf(0, startsCount.get() - 1),
+                initializationsCount
             )
-            processInstance = proc
+
+        // this function is intended to be called under mutex
+        suspend fun regenerate(): InstrumentedProcess {
+            ldef.throwIfNotAlive()
+
+            var proc: InstrumentedProcess? = processInstance
+
+            if (proc == null || !proc.lifetime.isAlive) {
+                if (startsCount.getAndIncrement() > 0) {
+                    logger.warn { "Instrumented process #$index is dead, respawning it (${statistics})" }
+                }
+                proc = InstrumentedProcess(
+                    ldef,
+                    instrumentationFactory,
+                    pathsToUserClasses,
+                    classLoader
+                )
+                processInstance = proc
+                initializationsCount = 0
+            }
+
+            // the initializers added after the process was started are applied as well
+            while (initializationsCount < processInitializers.size) {
+                val initializer = processInitializers[initializationsCount++]
+                try {
+                    initializer.result.complete(initializer.action(proc))
+                } catch (e: CancellationException) {
+                    initializationsCount--
+                    throw e
+                } catch (e: Throwable) {
+                    initializer.result.completeExceptionally(e)
+                    throw e
+                }
+            }
+
+            return proc
         }
 
-        return proc
+        fun acquire(): ProcessSlot {
+            val depth = queueDepth.incrementAndGet()
+            if (depth > maxQueueDepth) {
+                maxQueueDepth = depth
+                logger.debug { "Max queue depth of instrumented process #$index is $depth" }
+            }
+            return this
+        }
     }
 
+    // The least loaded process is preferred, and among equally loaded ones we prefer already started processes,
+    // so a new process is spawned only if all the started ones are busy.
+    private fun acquireLeastLoadedSlot(): ProcessSlot =
+        processSlots.minWith(
+            compareBy<ProcessSlot>({ it.queueDepth.get() }, { if (it.isProcessAlive) 0 else 1 }, { it.index })
+        ).acquire()
+
     /**
      * Main entry point for communicating with instrumented process.
      * Use this function every time you want to access protocol model.
      * This method prepares instrumented process for execution and ensures it is alive before giving it block
      *
+     * The block is executed in the least loaded instrumented process of this executor.
+     *
      * @param exclusively if true - executes block under mutex.
      * This guarantees that no one can access protocol model - no other calls made before block completes
      */
-    suspend fun <T> withProcess(exclusively: Boolean = false, block: suspend InstrumentedProcess.() -> T): T {
+    suspend fun <T> withProcess(exclusively: Boolean = false, block: suspend InstrumentedProcess.() -> T): T =
+        withProcess(acquireLeastLoadedSlot(), exclusively, block)
+
+    /**
+     * Applies [block] to every instrumented process of this executor, starting the processes that are not started yet,
+     * and to every process started later. The [block] with the same [key] is applied to each process once.
+     *
+     * @return the result of the first application of the [block].
+     */
+    internal suspend fun <T> withEveryProcess(key: String, block: suspend InstrumentedProcess.() -> T): T {
+        val initializer = synchronized(processInitializers) {
+            processInitializers.firstOrNull { it.key == key }
+                ?: ProcessInitializer(key, block).also { processInitializers += it }
+        }
+
+        // a process applies the initializers it has missed when its slot is acquired
+        coroutineScope {
+            processSlots.forEach { slot ->
+                launch { withProcess(slot.acquire(), exclusively = false) { } }
+            }
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        return initializer.result.await() as T
+    }
+
+    private suspend fun <T> withProcess(
+        slot: ProcessSlot,
+        exclusively: Boolean,
+        block: suspend InstrumentedProcess.() -> T
+    ): T {
         fun throwConcreteIfDead(e: Throwable, proc: InstrumentedProcess?) {
             if (proc?.lifetime?.isAlive != true) {
                 throw InstrumentedProcessDeathException(e)
@@ -188,13 +319,13 @@ class ConcreteExecutor<out TIResult, out TInstrumentation : Instrumentation<TIRe
 
         try {
             if (exclusively) {
-                corMutex.withLock {
-                    proc = regenerate()
+                slot.mutex.withLock {
+                    proc = slot.regenerate()
                     return proc!!.block()
                 }
             }
             else {
-                return corMutex.withLock { regenerate().apply { proc = this } }.block()
+                return slot.mutex.withLock { slot.regenerate().apply { proc = this } }.block()
             }
         }
         catch (e: CancellationException) {
@@ -213,6 +344,7 @@ class ConcreteExecutor<out TIResult, out TInstrumentation : Instrumentation<TIRe
             throw InstrumentedProcessError(e)
         }
         finally {
+            slot.queueDepth.decrementAndGet()
             receiveTimeStamp.set(System.currentTimeMillis())
         }
     }
@@ -233,6 +365,94 @@ class ConcreteExecutor<out TIResult, out TInstrumentation : Instrumentation<TIRe
         }
     }
 
+    /**
+     * Executes the method with the given [signature] of the class [className] once for each element of [parametersList]
+     * sending all of them to the instrumented process in one request.
+     *
+     * Results are emitted in the order of completion together with the index of the corresponding parameters,
+     * each index is emitted exactly once. A failed execution is emitted as a failure and does not affect the rest
+     * of the batch. Results are matched with the executions by the batch id and the index in the batch,
+     * results of a finished batch are ignored.
+     *
+     * If the instrumented process dies, the first execution without result is resent alone to the respawned process:
+     * if the process dies again, the execution is reported as failed, otherwise the rest of the batch is resent.
+     */
+    fun executeBatchAsync(
+        className: String,
+        signature: String,
+        arguments: Array<Any?>,
+        parametersList: List<Any?>,
+    ): Flow<IndexedValue<Result<TIResult>>> = channelFlow {
+        val finished = ConcurrentHashMap.newKeySet<Int>()
+        var pending = parametersList.indices.toList()
+        var suspected: Int? = null
+        while (pending.isNotEmpty()) {
+            val batch = suspected?.let { listOf(it) } ?: pending
+            var executed = false
+            try {
+                withProcess {
+                    val batchId = batchIdGenerator.incrementAndGet()
+                    val batchLifetime = lifetime.createNested()
+                    val receivedCount = AtomicInteger()
+                    val allReceived = CompletableDeferred<Unit>()
+                    batchLifetime.onTermination { allReceived.cancel() }
+                    try {
+                        instrumentedProcessModel.invokeMethodBatchItemResult.advise(batchLifetime) { item ->
+                            if (item.batchId != batchId) return@advise
+
+                            val index = batch.getOrNull(item.index) ?: return@advise
+                            if (!finished.add(index)) return@advise
+
+                            val result = when (val error = item.error) {
+                                null -> runCatching { kryoHelper.readObject<TIResult>(item.result) }
+                                else -> Result.failure(InstrumentedProcessError(IllegalStateException(error)))
+                            }
+                            trySend(IndexedValue(index, result))
+                            if (receivedCount.incrementAndGet() == batch.size) {
+                                allReceived.complete(Unit)
+                            }
+                        }
+
+                        val params = InvokeMethodBatchCommandParams(
+                            batchId,
+                            className,
+                            signature,
+                            kryoHelper.writeObject(arguments.asList()),
+                            batch.map { kryoHelper.writeObject(parametersList[it]) }
+                        )
+                        instrumentedProcessModel.invokeMethodBatchCommand.startSuspending(lifetime, params)
+                        executed = true
+                        // results are sent asynchronously, so some of them may arrive after the response
+                        allReceived.await()
+                    } finally {
+                        batchLifetime.terminate()
+                    }
+                }
+            } catch (e: InstrumentedProcessDeathException) {
+                val unfinished = batch.filter { it !in finished }
+                val crashed = when {
+                    // the whole batch was executed, but the process died before all the results were received
+                    executed -> unfinished
+                    // the suspected execution has killed the process once again
+                    suspected != null -> unfinished
+                    else -> {
+                        suspected = unfinished.firstOrNull()
+                        emptyList()
+                    }
+                }
+                for (index in crashed) {
+                    logger.warn { "Instrumented process died during the execution #$index of the batch" }
+                    finished += index
+                    send(IndexedValue(index, Result.failure(e)))
+                }
+            }
+            if (suspected in finished) {
+                suspected = null
+            }
+            pending = pending.filter { it !in finished }
+        }
+    }.buffer(Channel.UNLIMITED)
+
     /**
      * Executes [kCallable] in the instrumented process with the supplied [arguments] and [parameters], e.g. static environment.
      *
@@ -261,24 +481,46 @@ class ConcreteExecutor<out TIResult, out TInstrumentation : Instrumentation<TIRe
 
     fun forceTerminateProcess() {
         runBlocking {
-            corMutex.withLock {
-                if (alive) {
-                    try {
-                        processInstance?.run {
-                            protocol.synchronizationModel.stopProcess.fire(Unit)
-                        }
-                    } catch (_: Exception) {}
-                    processInstance = null
+            for (slot in processSlots) {
+                slot.mutex.withLock {
+                    if (alive) {
+                        try {
+                            slot.processInstance?.run {
+                                protocol.synchronizationModel.stopProcess.fire(Unit)
+                            }
+                        } catch (_: Exception) {}
+                        slot.processInstance = null
+                    }
                 }
-                ldef.terminate()
             }
+            ldef.terminate()
         }
     }
 
 }
 
+/**
+ * Load and health statistics of one instrumented process of [ConcreteExecutor].
+ *
+ * @property queueDepth number of calls that are waiting for the process or are being executed in it.
+ * @property maxQueueDepth maximum observed value of [queueDepth].
+ * @property restartsCount number of times the process was respawned after its death.
+ * @property initializationsCount number of initializations, e.g. warmup, applied to the current process.
+ */
+data class InstrumentedProcessStatistics(
+    val index: Int,
+    val isAlive: Boolean,
+    val queueDepth: Int,
+    val maxQueueDepth: Int,
+    val restartsCount: Int,
+    val initializationsCount: Int,
+)
+
+/**
+ * Warms up every instrumented process of the executor, including the processes started later.
+ */
 fun ConcreteExecutor<*,*>.warmup() = runBlocking {
-    withProcess {
+    withEveryProcess("warmup") {
         instrumentedProcessModel.warmup.start(lifetime, Unit)
     }
 }
@@ -293,8 +535,13 @@ fun ConcreteExecutor<*, *>.getRelevantSpringRepositories(classId: ClassId): Set<
     }
 }
 
+/**
+ * Loads Spring context in every instrumented process of the executor, including the processes started later.
+ *
+ * @return the result of loading the context in the first process.
+ */
 fun ConcreteExecutor<*, *>.tryLoadingSpringContext(): ConcreteContextLoadingResult = runBlocking {
-    withProcess {
+    withEveryProcess("tryLoadingSpringContext") {
         val result = instrumentedProcessModel.tryLoadingSpringContext.startSuspending(lifetime, Unit)
         kryoHelper.readObject(result.springContextLoadingResult)
     }
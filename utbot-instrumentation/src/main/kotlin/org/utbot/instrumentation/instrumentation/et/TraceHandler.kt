@@ -3,7 +3,9 @@ package org.utbot.instrumentation.instrumentation.et
 import com.jetbrains.rd.util.error
 import com.jetbrains.rd.util.getLogger
 import org.utbot.framework.plugin.api.ClassId
+import org.utbot.framework.plugin.api.CoverageHitCounts
 import org.utbot.framework.plugin.api.FieldId
+import org.utbot.framework.plugin.api.PackedInstructions
 import org.utbot.instrumentation.Settings
 import kotlin.reflect.jvm.javaField
 import kotlin.reflect.jvm.javaMethod
@@ -55,6 +57,26 @@ private data class ClassToMethod(
     val methodName: String
 )
 
+/**
+ * Line numbers and method indices of instructions of one class by their local ids.
+ */
+private class ClassInstructionsTable {
+    var lines = IntArray(16)
+        private set
+    var methods = IntArray(16)
+        private set
+
+    fun put(localId: Int, line: Int, method: Int) {
+        if (localId >= lines.size) {
+            val newSize = maxOf(lines.size * 2, localId + 1)
+            lines = lines.copyOf(newSize)
+            methods = methods.copyOf(newSize)
+        }
+        lines[localId] = line
+        methods[localId] = method
+    }
+}
+
 class ProcessingStorage {
     private val classToId = mutableMapOf<String, Int>()
     private val idToClass = mutableMapOf<Int, String>()
@@ -65,9 +87,17 @@ class ProcessingStorage {
     private val instructionsData = mutableMapOf<Long, InstructionData>()
     private val classToInstructionsCount = mutableMapOf<String, Long>()
 
+    private val classInstructionsTables = arrayListOf<ClassInstructionsTable>()
+    private val methodToIndex = mutableMapOf<ClassToMethod, Int>()
+    private val methodOwners = arrayListOf<String>()
+    private val methodSignatures = arrayListOf<String>()
+
     fun addClass(className: String): Int {
         val id = classToId.getOrPut(className) { classToId.size }
         idToClass.putIfAbsent(id, className)
+        while (classInstructionsTables.size <= id) {
+            classInstructionsTables += ClassInstructionsTable()
+        }
         return id
     }
 
@@ -90,12 +120,44 @@ class ProcessingStorage {
 
     fun addInstruction(id: Long, instructionData: InstructionData) {
         instructionsData.computeIfAbsent(id) {
-            val (className, _) = computeClassNameAndLocalId(id)
+            val (className, localId) = computeClassNameAndLocalId(id)
             classToInstructionsCount.merge(className, 1, Long::plus)
+            val method = methodToIndex.getOrPut(ClassToMethod(className, instructionData.methodSignature)) {
+                methodOwners += className
+                methodSignatures += instructionData.methodSignature
+                methodOwners.lastIndex
+            }
+            classInstructionsTables[(id / SHIFT).toInt()].put(localId, instructionData.line, method)
             instructionData
         }
     }
 
+    /**
+     * Packs instructions with [ids] without creation of an object per instruction.
+     */
+    fun packInstructions(ids: LongArray): PackedInstructions {
+        val lines = IntArray(ids.size)
+        val methods = IntArray(ids.size)
+        val localMethodIndices = IntArray(methodOwners.size) { -1 }
+        val owners = arrayListOf<String>()
+        val signatures = arrayListOf<String>()
+        ids.forEachIndexed { index, id ->
+            val table = classInstructionsTables[(id / SHIFT).toInt()]
+            val localId = (id % SHIFT).toInt()
+            val method = table.methods[localId]
+            var localMethod = localMethodIndices[method]
+            if (localMethod < 0) {
+                localMethod = owners.size
+                localMethodIndices[method] = localMethod
+                owners += methodOwners[method]
+                signatures += methodSignatures[method]
+            }
+            lines[index] = table.lines[localId]
+            methods[index] = localMethod
+        }
+        return PackedInstructions(ids, lines, methods, owners.toTypedArray(), signatures.toTypedArray())
+    }
+
     fun getInstructionsCount(className: String): Long? =
         classToInstructionsCount[className]
 
@@ -103,6 +165,45 @@ class ProcessingStorage {
         return instructionsData.getValue(id)
     }
 
+    /**
+     * Creates hit counters of all the instructions of the class with [className] in [RuntimeTraceStorage.`$__hits__`].
+     *
+     * It is called once the class is instrumented and before its code runs, so the counters of a class are never
+     * replaced while instrumented code updates them. Only the table of counters is grown for new classes,
+     * and the grown table refers to the same counters.
+     */
+    fun allocateHits(className: String) {
+        val classId = classToId.getValue(className)
+        val instructionsCount = classToInstructionsCount[className]?.toInt() ?: 0
+        var hits = RuntimeTraceStorage.`$__hits__`
+        if (classId >= hits.size) {
+            val prevHits = hits
+            hits = Array(maxOf(hits.size * 2, classId + 1)) { if (it < prevHits.size) prevHits[it] else NO_HITS }
+            RuntimeTraceStorage.`$__hits__` = hits
+        }
+        if (hits[classId].size < instructionsCount) {
+            hits[classId] = IntArray(instructionsCount)
+        }
+    }
+
+    /**
+     * Invokes [action] for every instruction with a positive hit counter, in the order of classes and instructions.
+     */
+    fun forEachHitInstruction(action: (id: Long, hits: Int) -> Unit) {
+        val hits = RuntimeTraceStorage.`$__hits__`
+        for (classId in 0 until minOf(classesCount, hits.size)) {
+            val classHits = hits[classId]
+            for (localId in classHits.indices) {
+                if (classHits[localId] > 0) {
+                    action(classId.toLong() * SHIFT + localId, classHits[localId])
+                }
+            }
+        }
+    }
+
+    val classesCount: Int
+        get() = classToId.size
+
     companion object {
         private const val SHIFT = 1.toLong().shl(32) // 2 ^ 32
     }
@@ -110,6 +211,8 @@ class ProcessingStorage {
 
 private val logger = getLogger<RuntimeTraceStorage>()
 
+private val NO_HITS = IntArray(0)
+
 /**
  * Storage to which instrumented classes will write execution data.
  */
@@ -148,6 +251,34 @@ object RuntimeTraceStorage {
     var `$__counter_call_id__`: Int = 0
     const val DESC_CALL_ID_COUNTER = "I"
 
+    /**
+     * Contains number of visits for every instruction by class ids and local ids of instructions
+     * when hit counters are collected instead of the trace.
+     * Unlike the trace, the counters are not limited by [Settings.TRACE_ARRAY_SIZE].
+     *
+     * @see ProcessingStorage.allocateHits
+     */
+    @Suppress("Unused")
+    @JvmField
+    var `$__hits__`: Array<IntArray> = Array(16) { NO_HITS }
+    const val DESC_HITS = "[[I"
+
+    /**
+     * Contains id of the last visited instruction when hit counters are collected instead of the trace.
+     */
+    @Suppress("Unused")
+    @JvmField
+    var `$__last_instruction__`: Long = -1
+    const val DESC_LAST_INSTRUCTION = "J"
+
+    /**
+     * Contains call id of the last visited instruction when hit counters are collected instead of the trace.
+     */
+    @Suppress("Unused")
+    @JvmField
+    var `$__last_call_id__`: Int = 0
+    const val DESC_LAST_CALL_ID = "I"
+
     @JvmStatic
     fun visit(callId: Int, id: Long) {
         val current = this.`$__counter__`
@@ -171,6 +302,9 @@ class TraceInstructionBytecodeInserter {
     private val internalName = Type.getInternalName(RuntimeTraceStorage::class.java)
     private val counterCallIdName = RuntimeTraceStorage::`$__counter_call_id__`.javaField!!.name
     private val visitMethodDescriptor = Type.getMethodDescriptor(RuntimeTraceStorage::visit.javaMethod)
+    private val hitsName = RuntimeTraceStorage::`$__hits__`.javaField!!.name
+    private val lastInstructionName = RuntimeTraceStorage::`$__last_instruction__`.javaField!!.name
+    private val lastCallIdName = RuntimeTraceStorage::`$__last_call_id__`.javaField!!.name
 
     fun visitMethodBeginning(mv: MethodVisitor, lvs: LocalVariablesSorter) {
         localVariable = lvs.newLocal(Type.INT_TYPE)
@@ -191,41 +325,143 @@ class TraceInstructionBytecodeInserter {
 
         return mv
     }
+
+    /**
+     * Inserts inline update of the hit counter of the instruction with [id] and of the last visited instruction,
+     * without any method call.
+     */
+    fun insertHitCountInstructions(mv: MethodVisitor, classId: Int, localId: Int, id: Long): MethodVisitor {
+        // $__hits__[classId][localId]++
+        mv.visitFieldInsn(Opcodes.GETSTATIC, internalName, hitsName, RuntimeTraceStorage.DESC_HITS)
+        mv.visitLdcInsn(classId)
+        mv.visitInsn(Opcodes.AALOAD)
+        mv.visitLdcInsn(localId)
+        mv.visitInsn(Opcodes.DUP2)
+        mv.visitInsn(Opcodes.IALOAD)
+        mv.visitInsn(Opcodes.ICONST_1)
+        mv.visitInsn(Opcodes.IADD)
+        mv.visitInsn(Opcodes.IASTORE)
+
+        // $__last_instruction__ = id
+        mv.visitLdcInsn(id)
+        mv.visitFieldInsn(Opcodes.PUTSTATIC, internalName, lastInstructionName, RuntimeTraceStorage.DESC_LAST_INSTRUCTION)
+
+        // $__last_call_id__ = callId
+        mv.visitVarInsn(Opcodes.ILOAD, localVariable)
+        mv.visitFieldInsn(Opcodes.PUTSTATIC, internalName, lastCallIdName, RuntimeTraceStorage.DESC_LAST_CALL_ID)
+
+        return mv
+    }
 }
 
-class TraceHandler {
+/**
+ * Instruments classes and collects executed instructions.
+ *
+ * @param useHitCounts if true, instrumented code updates hit counters of the instructions instead of writing
+ * the trace, see [computeHitCounts]. In this case [computeInstructionList] contains every covered instruction once
+ * in the order of classes and instructions, except for the last visited instruction placed at the end,
+ * and [computeTrace] is not supported.
+ */
+class TraceHandler(
+    private val useHitCounts: Boolean = false
+) {
     val processingStorage = ProcessingStorage()
     private val inserter = TraceInstructionBytecodeInserter()
 
     private var instructionsList: List<EtInstruction>? = null
+    private var coveredInstructionIds: LongArray? = null
+    private var firstCallId = 1
 
     fun registerClass(className: String) {
         processingStorage.addClass(className)
     }
 
     fun computeInstructionVisitor(className: String): TraceListStrategy {
-        return TraceListStrategy(className, processingStorage, inserter)
+        return TraceListStrategy(className, processingStorage, inserter, useHitCounts)
+    }
+
+    /**
+     * Is called when all the instructions of the class are visited by its [computeInstructionVisitor].
+     */
+    fun onClassInstrumented(className: String) {
+        if (useHitCounts) {
+            processingStorage.allocateHits(className)
+        }
     }
 
     fun computeInstructionList(): List<EtInstruction> {
         if (instructionsList == null) {
-            instructionsList = (0 until RuntimeTraceStorage.`$__counter__`).map { ptr ->
-                val instrId = RuntimeTraceStorage.`$__trace__`[ptr]
-                val curInstrData = processingStorage.getInstruction(instrId)
-                val (className, _) = processingStorage.computeClassNameAndLocalId(instrId)
-                val callId = RuntimeTraceStorage.`$__trace_call_id__`[ptr]
-                EtInstruction(className, curInstrData.methodSignature, callId, instrId, curInstrData.line, curInstrData)
+            instructionsList = if (useHitCounts) {
+                val ids = computeCoveredInstructionIds()
+                ids.mapIndexed { index, instrId ->
+                    val callId = if (index == ids.lastIndex) RuntimeTraceStorage.`$__last_call_id__` else firstCallId
+                    createInstruction(instrId, callId)
+                }
+            } else {
+                (0 until RuntimeTraceStorage.`$__counter__`).map { ptr ->
+                    createInstruction(RuntimeTraceStorage.`$__trace__`[ptr], RuntimeTraceStorage.`$__trace_call_id__`[ptr])
+                }
             }
         }
         return instructionsList!!
     }
 
+    private fun createInstruction(instrId: Long, callId: Int): EtInstruction {
+        val curInstrData = processingStorage.getInstruction(instrId)
+        val (className, _) = processingStorage.computeClassNameAndLocalId(instrId)
+        return EtInstruction(className, curInstrData.methodSignature, callId, instrId, curInstrData.line, curInstrData)
+    }
+
+    private fun computeCoveredInstructionIds(): LongArray {
+        if (coveredInstructionIds == null) {
+            val lastInstruction = RuntimeTraceStorage.`$__last_instruction__`
+            val ids = mutableListOf<Long>()
+            processingStorage.forEachHitInstruction { id, _ ->
+                if (id != lastInstruction) ids += id
+            }
+            if (lastInstruction >= 0) {
+                ids += lastInstruction
+            }
+            coveredInstructionIds = ids.toLongArray()
+        }
+        return coveredInstructionIds!!
+    }
+
+    /**
+     * Returns the same instructions as [computeInstructionList] does, but packed into arrays.
+     */
+    fun computePackedInstructions(): PackedInstructions {
+        val ids = if (useHitCounts) {
+            computeCoveredInstructionIds()
+        } else {
+            RuntimeTraceStorage.`$__trace__`.copyOf(RuntimeTraceStorage.`$__counter__`)
+        }
+        return processingStorage.packInstructions(ids)
+    }
+
+    /**
+     * Returns bucketed hit counts of the covered instructions or null if hit counters are not collected.
+     */
+    fun computeHitCounts(): CoverageHitCounts? {
+        if (!useHitCounts) {
+            return null
+        }
+        val ids = mutableListOf<Long>()
+        val buckets = mutableListOf<Byte>()
+        processingStorage.forEachHitInstruction { id, hits ->
+            ids += id
+            buckets += CoverageHitCounts.bucketOf(hits)
+        }
+        return CoverageHitCounts(ids.toLongArray(), buckets.toByteArray())
+    }
+
     fun computePutStatics(): List<FieldId> =
         computeInstructionList().map { it.instructionData }
             .filterIsInstance<PutStaticInstruction>()
             .map { FieldId(ClassId(it.owner.replace("/", ".")), it.name) }
 
     fun computeTrace(): Trace {
+        check(!useHitCounts) { "Trace cannot be computed when only hit counts are collected" }
         val instructionList = computeInstructionList()
 
         val stack = mutableListOf<TraceNode>()
@@ -297,6 +533,13 @@ class TraceHandler {
 
     fun resetTrace() {
         instructionsList = null
+        if (useHitCounts) {
+            coveredInstructionIds = null
+            RuntimeTraceStorage.`$__hits__`.forEach { it.fill(0) }
+            RuntimeTraceStorage.`$__last_instruction__` = -1
+            // the next call of an instrumented method gets the next call id
+            firstCallId = RuntimeTraceStorage.`$__counter_call_id__` + 1
+        }
         RuntimeTraceStorage.`$__counter__` = 0
         RuntimeTraceStorage.alreadyLoggedIncreaseStackSizeTip = false
     }
@@ -11,7 +11,8 @@ import org.objectweb.asm.commons.LocalVariablesSorter
 class TraceListStrategy(
     private val className: String,
     private val storage: ProcessingStorage,
-    private val inserter: TraceInstructionBytecodeInserter
+    private val inserter: TraceInstructionBytecodeInserter,
+    private val useHitCounts: Boolean = false
 ) : IInstructionVisitor {
     var currentLine: Int = 0
         private set
@@ -73,14 +74,17 @@ class TraceListStrategy(
     }
 
     private fun processNewInstruction(mv: MethodVisitor, instructionData: InstructionData): MethodVisitor {
-        val id = nextId()
+        val localId = probeId++
+        val id = storage.computeId(className, localId)
         storage.addInstruction(id, instructionData)
-        return inserter.insertUtilityInstructions(mv, id)
+        return if (useHitCounts) {
+            inserter.insertHitCountInstructions(mv, classId, localId, id)
+        } else {
+            inserter.insertUtilityInstructions(mv, id)
+        }
     }
 
     private var probeId = 0
 
-    private fun nextId(): Long {
-        return storage.computeId(className, probeId++)
-    }
+    private val classId = storage.addClass(className)
 }
\ No newline at end of file
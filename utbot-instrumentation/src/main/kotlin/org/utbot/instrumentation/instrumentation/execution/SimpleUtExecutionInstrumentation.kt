@@ -1,5 +1,6 @@
 package org.utbot.instrumentation.instrumentation.execution
 
+import org.utbot.framework.UtSettings
 import org.utbot.framework.plugin.api.EnvironmentModels
 import org.utbot.framework.plugin.api.FieldId
 import org.utbot.framework.plugin.api.MethodId
@@ -31,7 +32,7 @@ class SimpleUtExecutionInstrumentation(
 ) : UtExecutionInstrumentation {
     private val delegateInstrumentation = InvokeInstrumentation()
 
-    private val traceHandler = TraceHandler()
+    private val traceHandler = TraceHandler(useHitCounts = UtSettings.useCoverageHitCountInstrumentation)
     private val ndDetector = NonDeterministicDetector()
 
     /**
@@ -164,6 +165,7 @@ class SimpleUtExecutionInstrumentation(
 
         traceHandler.registerClass(className)
         instrumenter.visitInstructions(traceHandler.computeInstructionVisitor(className))
+        traceHandler.onClassInstrumented(className)
 
         instrumenter.visitClass { writer ->
             NonDeterministicClassVisitor(writer, ndDetector)
@@ -4,7 +4,6 @@ import org.objectweb.asm.Type
 import org.utbot.framework.plugin.api.*
 import org.utbot.framework.plugin.api.util.id
 import org.utbot.framework.plugin.api.util.utContext
-import org.utbot.instrumentation.instrumentation.et.EtInstruction
 import org.utbot.instrumentation.instrumentation.et.TraceHandler
 import org.utbot.instrumentation.instrumentation.execution.PreliminaryUtConcreteExecutionResult
 import org.utbot.instrumentation.instrumentation.execution.ndd.NonDeterministicResultStorage
@@ -67,21 +66,12 @@ class StatisticsCollectionPhase(
     }
 
     fun getCoverage(clazz: Class<*>): Coverage {
-        return traceHandler
-            .computeInstructionList()
-            .toApiCoverage(
-                traceHandler.processingStorage.getInstructionsCount(
-                    Type.getInternalName(clazz)
-                )
-            )
-    }
-
-    /**
-     * Transforms a list of internal [EtInstruction]s to a list of api [Instruction]s.
-     */
-    private fun List<EtInstruction>.toApiCoverage(instructionsCount: Long? = null): Coverage =
-        Coverage(
-            map { Instruction(it.className, it.methodSignature, it.line, it.id) },
-            instructionsCount
+        return Coverage(
+            traceHandler.computePackedInstructions(),
+            traceHandler.processingStorage.getInstructionsCount(
+                Type.getInternalName(clazz)
+            ),
+            hitCounts = traceHandler.computeHitCounts()
         )
+    }
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import org.utbot.instrumentation.instrumentation.Instrumentation
 import org.utbot.instrumentation.instrumentation.coverage.CoverageInstrumentation
 import org.utbot.instrumentation.process.generated.CollectCoverageResult
 import org.utbot.instrumentation.process.generated.InstrumentedProcessModel
+import org.utbot.instrumentation.process.generated.InvokeMethodBatchItemResult
 import org.utbot.instrumentation.process.generated.InvokeMethodCommandResult
 import org.utbot.instrumentation.process.generated.instrumentedProcessModel
 import org.utbot.rd.IdleWatchdog
@@ -135,6 +136,26 @@ private fun InstrumentedProcessModel.setup(kryoHelper: KryoHelper, watchdog: Idl
             throw it
         }
     }
+    watchdog.measureTimeForActiveCall(invokeMethodBatchCommand, "Invoke method batch request") { params ->
+        val clazz = HandlerClassesLoader.loadClass(params.classname)
+        params.parametersList.forEachIndexed { index, parameters ->
+            // each execution is isolated: its failure is reported for this item only and the batch goes on
+            val res = kotlin.runCatching {
+                instrumentation.invoke(
+                    clazz,
+                    params.signature,
+                    kryoHelper.readObject(params.arguments),
+                    kryoHelper.readObject(parameters)
+                )
+            }.mapCatching { kryoHelper.writeObject(it) }
+            val itemResult = res.fold({
+                InvokeMethodBatchItemResult(params.batchId, index, it, error = null)
+            }) {
+                InvokeMethodBatchItemResult(params.batchId, index, ByteArray(0), it.stackTraceToString())
+            }
+            invokeMethodBatchItemResult.fire(itemResult)
+        }
+    }
     watchdog.measureTimeForActiveCall(setInstrumentation, "Instrumentation setup") { params ->
         logger.debug { "setInstrumentation request" }
         val instrumentationFactory = kryoHelper.readObject<Instrumentation.Factory<*, *>>(params.instrumentation)
@@ -26,7 +26,9 @@ class InstrumentedProcessModel private constructor(
     private val _collectCoverage: RdCall<CollectCoverageParams, CollectCoverageResult>,
     private val _computeStaticField: RdCall<ComputeStaticFieldParams, ComputeStaticFieldResult>,
     private val _getRelevantSpringRepositories: RdCall<GetSpringRepositoriesParams, GetSpringRepositoriesResult>,
-    private val _tryLoadingSpringContext: RdCall<Unit, TryLoadingSpringContextResult>
+    private val _tryLoadingSpringContext: RdCall<Unit, TryLoadingSpringContextResult>,
+    private val _invokeMethodBatchCommand: RdCall<InvokeMethodBatchCommandParams, Unit>,
+    private val _invokeMethodBatchItemResult: RdSignal<InvokeMethodBatchItemResult>
 ) : RdExtBase() {
     //companion
     
@@ -44,6 +46,8 @@ class InstrumentedProcessModel private constructor(
             serializers.register(GetSpringRepositoriesParams)
             serializers.register(GetSpringRepositoriesResult)
             serializers.register(TryLoadingSpringContextResult)
+            serializers.register(InvokeMethodBatchCommandParams)
+            serializers.register(InvokeMethodBatchItemResult)
         }
         
         
@@ -64,7 +68,7 @@ class InstrumentedProcessModel private constructor(
         }
         
         
-        const val serializationHash = 8567129171874407469L
+        const val serializationHash = -3041640431853390637L
         
     }
     override val serializersOwner: ISerializersOwner get() = InstrumentedProcessModel
@@ -116,6 +120,19 @@ class InstrumentedProcessModel private constructor(
     if the user wants to determine whether or not Spring application context can load
      */
     val tryLoadingSpringContext: RdCall<Unit, TryLoadingSpringContextResult> get() = _tryLoadingSpringContext
+    
+    /**
+     * The main process requests the instrumented process to execute a method with the given [signature]
+    once for each element of [parametersList]. Results are sent back one by one
+    via [InvokeMethodBatchItemResult] as soon as each execution completes
+     */
+    val invokeMethodBatchCommand: RdCall<InvokeMethodBatchCommandParams, Unit> get() = _invokeMethodBatchCommand
+    
+    /**
+     * Result of the execution with the given [index] in the batch [batchId].
+    If the execution failed, [error] contains the failure description and [result] is empty
+     */
+    val invokeMethodBatchItemResult: IAsyncSignal<InvokeMethodBatchItemResult> get() = _invokeMethodBatchItemResult
     //methods
     //initializer
     init {
@@ -127,6 +144,8 @@ class InstrumentedProcessModel private constructor(
         _computeStaticField.async = true
         _getRelevantSpringRepositories.async = true
         _tryLoadingSpringContext.async = true
+        _invokeMethodBatchCommand.async = true
+        _invokeMethodBatchItemResult.async = true
     }
     
     init {
@@ -138,6 +157,8 @@ class InstrumentedProcessModel private constructor(
         bindableChildren.add("computeStaticField" to _computeStaticField)
         bindableChildren.add("getRelevantSpringRepositories" to _getRelevantSpringRepositories)
         bindableChildren.add("tryLoadingSpringContext" to _tryLoadingSpringContext)
+        bindableChildren.add("invokeMethodBatchCommand" to _invokeMethodBatchCommand)
+        bindableChildren.add("invokeMethodBatchItemResult" to _invokeMethodBatchItemResult)
     }
     
     //secondary constructor
@@ -150,7 +171,9 @@ class InstrumentedProcessModel private constructor(
         RdCall<CollectCoverageParams, CollectCoverageResult>(CollectCoverageParams, CollectCoverageResult),
         RdCall<ComputeStaticFieldParams, ComputeStaticFieldResult>(ComputeStaticFieldParams, ComputeStaticFieldResult),
         RdCall<GetSpringRepositoriesParams, GetSpringRepositoriesResult>(GetSpringRepositoriesParams, GetSpringRepositoriesResult),
-        RdCall<Unit, TryLoadingSpringContextResult>(FrameworkMarshallers.Void, TryLoadingSpringContextResult)
+        RdCall<Unit, TryLoadingSpringContextResult>(FrameworkMarshallers.Void, TryLoadingSpringContextResult),
+        RdCall<InvokeMethodBatchCommandParams, Unit>(InvokeMethodBatchCommandParams, FrameworkMarshallers.Void),
+        RdSignal<InvokeMethodBatchItemResult>(InvokeMethodBatchItemResult)
     )
     
     //equals trait
@@ -167,6 +190,8 @@ class InstrumentedProcessModel private constructor(
             print("computeStaticField = "); _computeStaticField.print(printer); println()
             print("getRelevantSpringRepositories = "); _getRelevantSpringRepositories.print(printer); println()
             print("tryLoadingSpringContext = "); _tryLoadingSpringContext.print(printer); println()
+            print("invokeMethodBatchCommand = "); _invokeMethodBatchCommand.print(printer); println()
+            print("invokeMethodBatchItemResult = "); _invokeMethodBatchItemResult.print(printer); println()
         }
         printer.print(")")
     }
@@ -180,7 +205,9 @@ class InstrumentedProcessModel private constructor(
             _collectCoverage.deepClonePolymorphic(),
             _computeStaticField.deepClonePolymorphic(),
             _getRelevantSpringRepositories.deepClonePolymorphic(),
-            _tryLoadingSpringContext.deepClonePolymorphic()
+            _tryLoadingSpringContext.deepClonePolymorphic(),
+            _invokeMethodBatchCommand.deepClonePolymorphic(),
+            _invokeMethodBatchItemResult.deepClonePolymorphic()
         )
     }
     //contexts
@@ -588,6 +615,162 @@ data class GetSpringRepositoriesResult (
 }
 
 
+/**
+ * #### Generated from [InstrumentedProcessModel.kt:57]
+ */
+data class InvokeMethodBatchCommandParams (
+    val batchId: Long,
+    val classname: String,
+    val signature: String,
+    val arguments: ByteArray,
+    val parametersList: List<ByteArray>
+) : IPrintable {
+    //companion
+    
+    companion object : IMarshaller<InvokeMethodBatchCommandParams> {
+        override val _type: KClass<InvokeMethodBatchCommandParams> = InvokeMethodBatchCommandParams::class
+        
+        @Suppress("UNCHECKED_CAST")
+        override fun read(ctx: SerializationCtx, buffer: AbstractBuffer): InvokeMethodBatchCommandParams  {
+            val batchId = buffer.readLong()
+            val classname = buffer.readString()
+            val signature = buffer.readString()
+            val arguments = buffer.readByteArray()
+            val parametersList = buffer.readList { buffer.readByteArray() }
+            return InvokeMethodBatchCommandParams(batchId, classname, signature, arguments, parametersList)
+        }
+        
+        override fun write(ctx: SerializationCtx, buffer: AbstractBuffer, value: InvokeMethodBatchCommandParams)  {
+            buffer.writeLong(value.batchId)
+            buffer.writeString(value.classname)
+            buffer.writeString(value.signature)
+            buffer.writeByteArray(value.arguments)
+            buffer.writeList(value.parametersList) { v -> buffer.writeByteArray(v) }
+        }
+        
+        
+    }
+    //fields
+    //methods
+    //initializer
+    //secondary constructor
+    //equals trait
+    override fun equals(other: Any?): Boolean  {
+        if (this === other) return true
+        if (other == null || other::class != this::class) return false
+        
+        other as InvokeMethodBatchCommandParams
+        
+        if (batchId != other.batchId) return false
+        if (classname != other.classname) return false
+        if (signature != other.signature) return false
+        if (!(arguments contentEquals other.arguments)) return false
+        if (parametersList != other.parametersList) return false
+        
+        return true
+    }
+    //hash code trait
+    override fun hashCode(): Int  {
+        var __r = 0
+        __r = __r*31 + batchId.hashCode()
+        __r = __r*31 + classname.hashCode()
+        __r = __r*31 + signature.hashCode()
+        __r = __r*31 + arguments.contentHashCode()
+        __r = __r*31 + parametersList.hashCode()
+        return __r
+    }
+    //pretty print
+    override fun print(printer: PrettyPrinter)  {
+        printer.println("InvokeMethodBatchCommandParams (")
+        printer.indent {
+            print("batchId = "); batchId.print(printer); println()
+            print("classname = "); classname.print(printer); println()
+            print("signature = "); signature.print(printer); println()
+            print("arguments = "); arguments.print(printer); println()
+            print("parametersList = "); parametersList.print(printer); println()
+        }
+        printer.print(")")
+    }
+    //deepClone
+    //contexts
+}
+
+
+/**
+ * #### Generated from [InstrumentedProcessModel.kt:65]
+ */
+data class InvokeMethodBatchItemResult (
+    val batchId: Long,
+    val index: Int,
+    val result: ByteArray,
+    val error: String?
+) : IPrintable {
+    //companion
+    
+    companion object : IMarshaller<InvokeMethodBatchItemResult> {
+        override val _type: KClass<InvokeMethodBatchItemResult> = InvokeMethodBatchItemResult::class
+        
+        @Suppress("UNCHECKED_CAST")
+        override fun read(ctx: SerializationCtx, buffer: AbstractBuffer): InvokeMethodBatchItemResult  {
+            val batchId = buffer.readLong()
+            val index = buffer.readInt()
+            val result = buffer.readByteArray()
+            val error = buffer.readNullable { buffer.readString() }
+            return InvokeMethodBatchItemResult(batchId, index, result, error)
+        }
+        
+        override fun write(ctx: SerializationCtx, buffer: AbstractBuffer, value: InvokeMethodBatchItemResult)  {
+            buffer.writeLong(value.batchId)
+            buffer.writeInt(value.index)
+            buffer.writeByteArray(value.result)
+            buffer.writeNullable(value.error) { buffer.writeString(it) }
+        }
+        
+        
+    }
+    //fields
+    //methods
+    //initializer
+    //secondary constructor
+    //equals trait
+    override fun equals(other: Any?): Boolean  {
+        if (this === other) return true
+        if (other == null || other::class != this::class) return false
+        
+        other as InvokeMethodBatchItemResult
+        
+        if (batchId != other.batchId) return false
+        if (index != other.index) return false
+        if (!(result contentEquals other.result)) return false
+        if (error != other.error) return false
+        
+        return true
+    }
+    //hash code trait
+    override fun hashCode(): Int  {
+        var __r = 0
+        __r = __r*31 + batchId.hashCode()
+        __r = __r*31 + index.hashCode()
+        __r = __r*31 + result.contentHashCode()
+        __r = __r*31 + if (error != null) error.hashCode() else 0
+        return __r
+    }
+    //pretty print
+    override fun print(printer: PrettyPrinter)  {
+        printer.println("InvokeMethodBatchItemResult (")
+        printer.indent {
+            print("batchId = "); batchId.print(printer); println()
+            print("index = "); index.print(printer); println()
+            print("result = "); result.print(printer); println()
+            print("error = "); error.print(printer); println()
+        }
+        printer.print(")")
+    }
+    //deepClone
+    //contexts
+}
+
+
 /**
  * #### Generated from [InstrumentedProcessModel.kt:18]
  */
@@ -0,0 +1,102 @@
+package org.utbot.instrumentation.instrumentation.et
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.utbot.framework.plugin.api.CoverageHitCounts
+
+class TraceHandlerHitCountsTest {
+    private val className = "org/utbot/Sample"
+
+    @BeforeEach
+    fun clearHits() {
+        RuntimeTraceStorage.`$__hits__` = emptyArray()
+        RuntimeTraceStorage.`$__last_instruction__` = -1
+    }
+
+    private fun TraceHandler.instrumentClass(className: String, instructionsCount: Int): List<Long> {
+        registerClass(className)
+        val ids = (0 until instructionsCount).map { localId ->
+            processingStorage.computeId(className, localId).also {
+                processingStorage.addInstruction(it, CommonInstruction(localId, "method()V"))
+            }
+        }
+        onClassInstrumented(className)
+        return ids
+    }
+
+    @Test
+    fun testHitCountsOfCoveredInstructions() {
+        val traceHandler = TraceHandler(useHitCounts = true)
+        val ids = traceHandler.instrumentClass(className, 4)
+        traceHandler.resetTrace()
+
+        val hits = RuntimeTraceStorage.`$__hits__`[0]
+        hits[0] = 1
+        hits[2] = 5
+        hits[3] = 200
+
+        val hitCounts = traceHandler.computeHitCounts()!!
+        assertArrayEquals(longArrayOf(ids[0], ids[2], ids[3]), hitCounts.instructionIds)
+        assertArrayEquals(
+            byteArrayOf(CoverageHitCounts.bucketOf(1), CoverageHitCounts.bucketOf(5), CoverageHitCounts.bucketOf(200)),
+            hitCounts.buckets
+        )
+
+        traceHandler.resetTrace()
+        assertEquals(0, traceHandler.computeHitCounts()!!.instructionIds.size)
+    }
+
+    @Test
+    fun testLastVisitedInstructionIsCoveredLast() {
+        val traceHandler = TraceHandler(useHitCounts = true)
+        val ids = traceHandler.instrumentClass(className, 3)
+        traceHandler.resetTrace()
+
+        val hits = RuntimeTraceStorage.`$__hits__`[0]
+        hits[0] = 1
+        hits[1] = 2
+        hits[2] = 1
+        RuntimeTraceStorage.`$__last_instruction__` = ids[1]
+
+        assertArrayEquals(longArrayOf(ids[0], ids[2], ids[1]), traceHandler.computePackedInstructions().ids)
+        assertEquals(listOf(ids[0], ids[2], ids[1]), traceHandler.computeInstructionList().map { it.id })
+    }
+
+    @Test
+    fun testCountersAreKeptForNewClasses() {
+        val traceHandler = TraceHandler(useHitCounts = true)
+        traceHandler.instrumentClass(className, 2)
+        val hits = RuntimeTraceStorage.`$__hits__`[0]
+        hits[1] = 3
+
+        val ids = (1..20).map { traceHandler.instrumentClass("$className$it", 1).single() }
+
+        // the table of counters is grown, but the counters of the instrumented classes are not replaced
+        assertSame(hits, RuntimeTraceStorage.`$__hits__`[0])
+        RuntimeTraceStorage.`$__hits__`[20][0] = 1
+        val hitCounts = traceHandler.computeHitCounts()!!
+        assertEquals(listOf(traceHandler.processingStorage.computeId(className, 1), ids.last()), hitCounts.instructionIds.toList())
+    }
+
+    @Test
+    fun testNoHitCountsWithoutCounters() {
+        val traceHandler = TraceHandler()
+        traceHandler.registerClass(className)
+        assertNull(traceHandler.computeHitCounts())
+    }
+
+    @Test
+    fun testBuckets() {
+        assertEquals(listOf<Byte>(0, 1, 2, 3, 4, 4, 5, 6, 7, 8), listOf(0, 1, 2, 3, 4, 7, 8, 16, 32, 128).map {
+            CoverageHitCounts.bucketOf(it)
+        })
+        assertEquals(
+            CoverageHitCounts(longArrayOf(1, 2), byteArrayOf(1, 4)),
+            CoverageHitCounts(longArrayOf(1, 2), byteArrayOf(1, 4))
+        )
+    }
+}
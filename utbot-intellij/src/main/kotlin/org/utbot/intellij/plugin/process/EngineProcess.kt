@@ -245,7 +245,9 @@ class EngineProcess private constructor(val project: Project, private val classN
             isFuzzingEnabled,
             fuzzingValue,
             searchDirectory,
-            taintConfigPath
+            taintConfigPath,
+            // test sets are rendered and reported by id afterwards, so they have to be kept by the engine process
+            streamTestSets = false
         )
         val result = engineModel.generate.startBlocking(params)
 
@@ -314,6 +316,8 @@ class EngineProcess private constructor(val project: Project, private val classN
             model.hangingTestsTimeout.timeoutMs,
             enableTestsTimeout,
             testClassPackageName,
+            // the code is inserted into the test class document, so it is returned as a string
+            outputFilePath = null,
         )
 
     private fun getSourceFile(params: SourceStrategyMethodArgs): String? =
@@ -12,6 +12,7 @@ import org.utbot.fuzzing.utils.Trie
 import java.lang.reflect.*
 import java.util.concurrent.CancellationException
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.random.Random
 
 private val logger = KotlinLogging.logger {}
@@ -20,7 +21,7 @@ typealias JavaValueProvider = ValueProvider<FuzzedType, FuzzedValue, FuzzedDescr
 
 class FuzzedDescription(
     val description: FuzzedMethodDescription,
-    val tracer: Trie<Instruction, *>,
+    val tracer: Trie<Instruction, Long>,
     val typeCache: MutableMap<Type, FuzzedType>,
     val random: Random,
     val scope: Scope? = null
@@ -61,6 +62,7 @@ suspend fun runJavaFuzzing(
     constants: Collection<FuzzedConcreteValue>,
     names: List<String>,
     providers: List<JavaValueProvider> = defaultValueProviders(idGenerator),
+    maxExecutionsInFlight: Int = 1,
     exec: suspend (thisInstance: FuzzedValue?, description: FuzzedDescription, values: List<FuzzedValue>) -> BaseFeedback<Trie.Node<Instruction>, FuzzedType, FuzzedValue>
 ) {
     val random = Random(0)
@@ -118,13 +120,13 @@ suspend fun runJavaFuzzing(
         logger.info { "Starting fuzzing for method: $methodUnderTest" }
         logger.info { "\tuse thisInstance = ${thisInstance != null}" }
         logger.info { "\tparameters = $parameters" }
-        var totalExecutionCalled = 0
+        val totalExecutionCalled = AtomicInteger()
         runFuzzing(
             provider = ValueProvider.of(providers),
             description = descriptionWithOptionalThisInstance, random,
-            configuration = Configuration()
+            configuration = Configuration(maxExecutionsInFlight = maxExecutionsInFlight)
         ) { _, t ->
-            totalExecutionCalled++
+            totalExecutionCalled.incrementAndGet()
             if (thisInstance == null) {
                 exec(null, descriptionWithOnlyParameters, t)
             } else {
@@ -133,7 +135,7 @@ suspend fun runJavaFuzzing(
         }
         val totalFuzzingTime = System.nanoTime() - start
         logger.info { "Finishing fuzzing for method: $methodUnderTest in ${TimeUnit.NANOSECONDS.toMillis(totalFuzzingTime)} ms" }
-        logger.info { "\tTotal execution called: $totalExecutionCalled" }
+        logger.info { "\tTotal execution called: ${totalExecutionCalled.get()}" }
     } catch (ce: CancellationException) {
         val totalFuzzingTime = System.nanoTime() - start
         logger.info { "Fuzzing is stopped because of timeout. Total execution time: ${TimeUnit.NANOSECONDS.toMillis(totalFuzzingTime)} ms" }
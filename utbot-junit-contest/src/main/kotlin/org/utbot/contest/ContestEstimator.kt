@@ -36,6 +36,7 @@ import org.utbot.framework.plugin.api.util.id
 import org.utbot.framework.plugin.api.util.withUtContext
 import org.utbot.framework.plugin.services.JdkInfoService
 import org.utbot.instrumentation.ConcreteExecutor
+import org.utbot.monitoring.toTargetReports
 import org.utbot.predictors.MLPredictorFactoryImpl
 import org.utbot.usvm.jc.JcContainer
 import kotlin.math.min
@@ -48,7 +49,7 @@ private val classPathSeparator = System.getProperty("path.separator")
 private val javaHome = System.getenv("JAVA_HOME")
 
 private val javacCmd = "$javaHome/bin/javac"
-private val javaCmd = "$javaHome/bin/java"
+internal val javaCmd = "$javaHome/bin/java"
 
 val mainTool: Tool.UtBotBasedTool = Tool.UtBot
 
@@ -423,6 +424,7 @@ fun main(args: Array<String>) {
     val projectFilter: List<String>?
     val processedClassesThreshold: Int
     val tools: List<Tool>
+    val options: EstimatorOptions
 
     // very special case when you run your project directly from IntellijIDEA omitting command line arguments
     if (args.isEmpty()) {
@@ -450,6 +452,7 @@ fun main(args: Array<String>) {
         methodFilter = "com.alibaba.fastjson.asm.ByteVector.*"
         projectFilter = listOf("fastjson-1.2.50")
         tools = listOf(mainTool)
+        options = EstimatorOptions()
 
         estimatorArgs = arrayOf(
             classesLists,
@@ -460,12 +463,15 @@ fun main(args: Array<String>) {
             moduleTestDir
         )
     } else {
-        require(args.size == 7) {
-            "Wrong arguments: <classes dir> <classpath_dir> <time limit (s)> <fuzzing ratio> <output dir> <test dir> <junit jar path> expected, but got: ${args.toText()}"
+        val (positionalArgs, parsedOptions) = EstimatorOptions.parse(args)
+        require(positionalArgs.size == 7) {
+            "Wrong arguments: <classes dir> <classpath_dir> <time limit (s)> <fuzzing ratio> <output dir> <test dir> <junit jar path> " +
+                    "[--shard <index>/<count>] [--workers <count>] [--stats-file <path>] expected, but got: ${args.toText()}"
         }
         logger.info { "Command line: [${args.joinToString(" ")}]" }
 
-        estimatorArgs = args
+        estimatorArgs = positionalArgs
+        options = parsedOptions
         processedClassesThreshold = 9999
         methodFilter = null
         projectFilter = null
@@ -473,7 +479,12 @@ fun main(args: Array<String>) {
     }
 
     JdkInfoService.jdkInfoProvider = ContestEstimatorJdkInfoProvider(javaHome)
-    runEstimator(estimatorArgs, methodFilter, projectFilter, processedClassesThreshold, tools)
+    if (options.workers > 1) {
+        runEstimatorWorkers(estimatorArgs, options)
+        return
+    }
+    val globalStats = runEstimator(estimatorArgs, methodFilter, projectFilter, processedClassesThreshold, tools, options.shard)
+    options.statsFile?.let { writeStats(it, globalStats.toTargetReports()) }
 }
 
 
@@ -482,7 +493,8 @@ fun runEstimator(
     methodFilter: String?,
     projectFilter: List<String>?,
     processedClassesThreshold: Int,
-    tools: List<Tool>
+    tools: List<Tool>,
+    shard: Shard = Shard.all,
 ): GlobalStats {
 
     val classesLists = File(args[0])
@@ -525,6 +537,9 @@ fun runEstimator(
     if (updatedMethodFilter != null)
         logger.info { "Filtering: class='$classFqnFilter', method ='$methodNameFilter'" }
 
+    if (shard != Shard.all)
+        logger.info { "Processing shard $shard of the classes" }
+
     val projectDirs = classesLists.listFiles()!!
     val projectToClassFQNs = projectDirs.associate {
         it.name to File(it, "list").readLines()
@@ -586,6 +601,8 @@ fun runEstimator(
                             logger.info { "Reached limit of $processedClassesThreshold classes" }
                             break@outer
                         }
+                        // classes are assigned to shards by their index, so all the shards skip the same classes
+                        if (classIndex - 1 !in shard) continue
 
                         try {
                             val cut =
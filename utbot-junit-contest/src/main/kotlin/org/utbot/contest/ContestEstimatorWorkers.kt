@@ -0,0 +1,150 @@
+package org.utbot.contest
+
+import java.io.File
+import java.lang.management.ManagementFactory
+import kotlinx.serialization.decodeFromString
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+import mu.KotlinLogging
+import org.utbot.monitoring.TargetReport
+import org.utbot.monitoring.mergeTargetReports
+
+private val logger = KotlinLogging.logger {}
+
+private const val estimatorMainClass = "org.utbot.contest.ContestEstimatorKt"
+private const val statsFileName = "stats.json"
+
+private val statsFormat = Json { prettyPrint = true }
+
+/**
+ * Part of the classes processed by [runEstimator]: the classes whose zero-based index among all the processed
+ * classes gives [index] modulo [count]. Shards of one run may be processed on different machines,
+ * together they process the same classes as the run without sharding.
+ */
+data class Shard(val index: Int, val count: Int) {
+    init {
+        require(count > 0 && index in 0 until count) { "Wrong shard: $index/$count" }
+    }
+
+    operator fun contains(classIndex: Int): Boolean = classIndex % count == index
+
+    /**
+     * Splits this shard into [parts] shards containing the same classes.
+     */
+    fun split(parts: Int): List<Shard> = (0 until parts).map { Shard(index + count * it, count * parts) }
+
+    override fun toString(): String = "$index/$count"
+
+    companion object {
+        val all = Shard(0, 1)
+
+        /**
+         * Parses the shard given in the `<index>/<count>` form.
+         */
+        fun parse(text: String): Shard {
+            val parts = text.split('/')
+            require(parts.size == 2) { "Shard should be given as <index>/<count>, but got: $text" }
+            return Shard(parts[0].trim().toInt(), parts[1].trim().toInt())
+        }
+    }
+}
+
+/**
+ * Options of the estimator given after its positional arguments.
+ *
+ * @property shard the classes processed by this run, `--shard <index>/<count>`.
+ * @property workers number of JVMs the [shard] is processed by, `--workers <count>`, see [runEstimatorWorkers].
+ * @property statsFile file the statistics are written to as a list of [TargetReport]s, `--stats-file <path>`.
+ */
+class EstimatorOptions(
+    val shard: Shard = Shard.all,
+    val workers: Int = 1,
+    val statsFile: File? = null,
+) {
+    init {
+        require(workers > 0) { "Number of workers should be positive: $workers" }
+    }
+
+    companion object {
+        /**
+         * Splits [args] into the positional arguments and the options.
+         */
+        fun parse(args: Array<String>): Pair<Array<String>, EstimatorOptions> {
+            val positional = mutableListOf<String>()
+            val options = mutableMapOf<String, String>()
+            var i = 0
+            while (i < args.size) {
+                val arg = args[i]
+                if (arg.startsWith("--")) {
+                    require(i + 1 < args.size) { "No value of the option $arg" }
+                    options[arg] = args[i + 1]
+                    i += 2
+                } else {
+                    positional += arg
+                    i++
+                }
+            }
+
+            val unknownOptions = options.keys - setOf("--shard", "--workers", "--stats-file")
+            require(unknownOptions.isEmpty()) { "Unknown options: ${unknownOptions.joinToString()}" }
+
+            return positional.toTypedArray() to EstimatorOptions(
+                shard = options["--shard"]?.let { Shard.parse(it) } ?: Shard.all,
+                workers = options["--workers"]?.toInt() ?: 1,
+                statsFile = options["--stats-file"]?.let { File(it) },
+            )
+        }
+    }
+}
+
+/**
+ * Runs the estimator with the arguments [args] in [EstimatorOptions.workers] forked JVMs, each of them processes
+ * its part of [EstimatorOptions.shard] and uses its own `worker-<i>` directory inside the output directory.
+ *
+ * The statistics of the workers are merged and written to the output directory and to [EstimatorOptions.statsFile].
+ */
+fun runEstimatorWorkers(args: Array<String>, options: EstimatorOptions): List<TargetReport> {
+    val outputDir = File(args[4])
+    val jvmArguments = ManagementFactory.getRuntimeMXBean().inputArguments
+        .filterNot { it.startsWith("-agentlib:jdwp") } // the debugger port can not be shared
+
+    val workers = options.shard.split(options.workers).mapIndexed { worker, shard ->
+        val workerOutputDir = File(outputDir, "worker-$worker").apply { mkdirs() }
+        val statsFile = File(workerOutputDir, statsFileName).apply { delete() }
+        val workerArgs = args.copyOf().apply { this[4] = workerOutputDir.path }
+        val cmd = listOf(javaCmd) + jvmArguments + listOf("-cp", System.getProperty("java.class.path"), estimatorMainClass) +
+                workerArgs + listOf("--shard", "$shard", "--stats-file", statsFile.path)
+
+        logger.info { "Starting worker $worker for shard $shard" }
+        logger.debug { cmd.joinToString(" ") }
+        val process = ProcessBuilder(cmd)
+            .redirectErrorStream(true)
+            .redirectOutput(File(workerOutputDir, "worker.log"))
+            .start()
+        statsFile to process
+    }
+
+    val workerReports = workers.mapIndexedNotNull { worker, (statsFile, process) ->
+        val exitCode = process.waitFor()
+        if (exitCode != 0 || !statsFile.exists()) {
+            logger.error { "Worker $worker failed with exit code $exitCode, its statistics are skipped" }
+            null
+        } else {
+            readStats(statsFile)
+        }
+    }
+
+    val reports = mergeTargetReports(workerReports)
+    logger.info { reports.printMultiline { "${it.target}: ${it.summarised_metrics}" } }
+    writeStats(File(outputDir, statsFileName), reports)
+    options.statsFile?.let { writeStats(it, reports) }
+    return reports
+}
+
+fun writeStats(statsFile: File, reports: List<TargetReport>) {
+    statsFile.parentFile?.mkdirs()
+    statsFile.writeText(statsFormat.encodeToString(reports))
+}
+
+fun readStats(statsFile: File): List<TargetReport> =
+    statsFormat.decodeFromString(statsFile.readText())
@@ -10,19 +10,28 @@ data class MonitoringReport(
     val targets: List<TargetReport>,
 ) {
 
-    constructor(parameters: MonitoringParameters, stats: GlobalStats) : this(
-        parameters,
-        stats.projectStats.map { projectStats ->
-            TargetReport(
-                projectStats.project,
-                projectStats.statsForClasses.map {
-                    ClassReport(it.className, ClassMetricsReport(it))
-                }
-            )
-        }
-    )
+    constructor(parameters: MonitoringParameters, stats: GlobalStats) : this(parameters, stats.toTargetReports())
 }
 
+fun GlobalStats.toTargetReports(): List<TargetReport> =
+    projectStats.map { projectStats ->
+        TargetReport(
+            projectStats.project,
+            projectStats.statsForClasses.map {
+                ClassReport(it.className, ClassMetricsReport(it))
+            }
+        )
+    }
+
+/**
+ * Merges reports of the same targets collected by several runs, e.g. by shards of one run.
+ * Summarised metrics are recalculated from the metrics of the classes.
+ */
+fun mergeTargetReports(reports: List<List<TargetReport>>): List<TargetReport> =
+    reports.flatten()
+        .groupBy { it.target }
+        .map { (target, targetReports) -> TargetReport(target, targetReports.flatMap { it.metrics_by_class }) }
+
 @Serializable
 data class MonitoringParameters(
     val fuzzing_ratio: Double,
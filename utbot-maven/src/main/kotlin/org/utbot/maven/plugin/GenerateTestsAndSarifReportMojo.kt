@@ -218,17 +218,18 @@ class GenerateTestsAndSarifReportMojo : AbstractMojo() {
 
     /**
      * Returns SARIF reports created for this [MavenProjectWrapper] and for all its child projects.
+     * The reports are read lazily.
      */
-    private fun MavenProjectWrapper.collectReportsRecursively(): List<String> =
-        this.childProjects.flatMap { childProject ->
+    private fun MavenProjectWrapper.collectReportsRecursively(): Sequence<String> =
+        this.childProjects.asSequence().flatMap { childProject ->
             childProject.collectReportsRecursively()
         } + this.collectReports()
 
     /**
      * Returns SARIF reports created for this [MavenProjectWrapper].
      */
-    private fun MavenProjectWrapper.collectReports(): List<String> =
-        this.targetClasses.map { targetClass ->
+    private fun MavenProjectWrapper.collectReports(): Sequence<String> =
+        this.targetClasses.asSequence().map { targetClass ->
             targetClass.sarifReportFile.readText()
         }
 }
@@ -1,6 +1,7 @@
 package org.utbot.modifications.util
 
-import soot.SootClass
+import org.utbot.framework.util.canRetrieveBody
+import org.utbot.framework.util.jimpleBody
 import soot.SootMethod
 import soot.jimple.JimpleBody
 
@@ -9,17 +10,3 @@ import soot.jimple.JimpleBody
  */
 fun retrieveJimpleBody(sootMethod: SootMethod): JimpleBody? =
     if (sootMethod.canRetrieveBody()) sootMethod.jimpleBody() else null
-
-private fun SootMethod.canRetrieveBody() =
-    runCatching { retrieveActiveBody() }.isSuccess
-
-private fun SootMethod.jimpleBody(): JimpleBody {
-    declaringClass.adjustLevel(SootClass.BODIES)
-    return retrieveActiveBody() as JimpleBody
-}
-
-private fun SootClass.adjustLevel(level: Int) {
-    if (resolvingLevel() < level) {
-        setResolvingLevel(level)
-    }
-}
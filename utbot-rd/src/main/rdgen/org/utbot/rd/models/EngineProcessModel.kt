@@ -61,11 +61,17 @@ object EngineProcessModel : Ext(EngineProcessRoot) {
         field("searchDirectory", PredefinedType.string)
         // taint analysis
         field("taintConfigPath", PredefinedType.string.nullable)
+        // streaming of test sets
+        field("streamTestSets", PredefinedType.bool)
     }
     val generateResult = structdef {
         field("notEmptyCases", PredefinedType.int)
         field("testSetsId", PredefinedType.long)
     }
+    val generatedTestSet = structdef {
+        field("testSetsId", PredefinedType.long)
+        field("testSet", array(PredefinedType.byte))
+    }
     val renderParams = structdef {
         field("testSetsId", PredefinedType.long)
         field("classUnderTest", array(PredefinedType.byte))
@@ -83,6 +89,7 @@ object EngineProcessModel : Ext(EngineProcessRoot) {
         field("hangingTestsTimeout", PredefinedType.long)
         field("enableTestsTimeout", PredefinedType.bool)
         field("testClassPackageName", PredefinedType.string)
+        field("outputFilePath", PredefinedType.string.nullable)
     }
     val renderResult = structdef {
         field("generatedCode", PredefinedType.string)
@@ -139,6 +146,12 @@ object EngineProcessModel : Ext(EngineProcessRoot) {
         call("isCancelled", PredefinedType.void, PredefinedType.bool).async
         call("findTestClassName", testClassNameParams, testClassNameResult).async
         call("generate", generateParams, generateResult).async
+        signal("generatedTestSet", generatedTestSet).apply {
+            async
+            documentation =
+                "Not empty test set of a method generated by [generate] with [streamTestSets] enabled,\n" +
+                        "it is sent as soon as the method is processed and is not kept by the engine process"
+        }
         call("render", renderParams, renderResult).async
         call("obtainClassId", PredefinedType.string, array(PredefinedType.byte)).async
         call("findMethodsInClassMatchingSelected", findMethodsInClassMatchingSelectedArguments, findMethodsInClassMatchingSelectedResult).async
@@ -54,6 +54,21 @@ object InstrumentedProcessModel : Ext(InstrumentedProcessRoot) {
         field("springContextLoadingResult", array(PredefinedType.byte))
     }
 
+    val InvokeMethodBatchCommandParams = structdef {
+        field("batchId", PredefinedType.long)
+        field("classname", PredefinedType.string)
+        field("signature", PredefinedType.string)
+        field("arguments", array(PredefinedType.byte))
+        field("parametersList", immutableList(array(PredefinedType.byte)))
+    }
+
+    val InvokeMethodBatchItemResult = structdef {
+        field("batchId", PredefinedType.long)
+        field("index", PredefinedType.int)
+        field("result", array(PredefinedType.byte))
+        field("error", PredefinedType.string.nullable)
+    }
+
     init {
         call("AddPaths", AddPathsParams, PredefinedType.void).apply {
             async
@@ -99,5 +114,18 @@ object InstrumentedProcessModel : Ext(InstrumentedProcessRoot) {
             documentation = "This command is sent to the instrumented process from the [ConcreteExecutor]\n" +
                     "if the user wants to determine whether or not Spring application context can load"
         }
+        call("InvokeMethodBatchCommand", InvokeMethodBatchCommandParams, PredefinedType.void).apply {
+            async
+            documentation =
+                "The main process requests the instrumented process to execute a method with the given [signature]\n" +
+                        "once for each element of [parametersList]. Results are sent back one by one\n" +
+                        "via [InvokeMethodBatchItemResult] as soon as each execution completes"
+        }
+        signal("InvokeMethodBatchItemResult", InvokeMethodBatchItemResult).apply {
+            async
+            documentation =
+                "Result of the execution with the given [index] in the batch [batchId].\n" +
+                        "If the execution failed, [error] contains the failure description and [result] is empty"
+        }
     }
 }
\ No newline at end of file
@@ -44,8 +44,11 @@ class SpringIntegrationTestConcreteExecutionContext(
         concreteExecutor: ConcreteExecutor<UtConcreteExecutionResult, UtExecutionInstrumentation>,
     ): ConcreteContextLoadingResult =
         delegateContext.loadContext(concreteExecutor).andThen {
-            springApplicationContext.concreteContextLoadingResult ?: concreteExecutor.tryLoadingSpringContext().also {
-                springApplicationContext.concreteContextLoadingResult = it
+            // every executor loads the context in its own instrumented processes, e.g. the executors of parallel
+            // traversal workers, while the instrumented process that has already loaded the context just reports it
+            concreteExecutor.tryLoadingSpringContext().also {
+                if (springApplicationContext.concreteContextLoadingResult == null)
+                    springApplicationContext.concreteContextLoadingResult = it
             }
         }
 
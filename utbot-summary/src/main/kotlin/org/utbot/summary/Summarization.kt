@@ -5,16 +5,23 @@ import org.utbot.framework.plugin.api.UtClusterInfo
 import org.utbot.framework.plugin.api.UtSymbolicExecution
 import org.utbot.framework.plugin.api.UtExecutionCluster
 import org.utbot.framework.plugin.api.UtMethodTestSet
-import org.utbot.instrumentation.instrumentation.instrumenter.Instrumenter
+import org.utbot.framework.util.jimpleBody
 import org.utbot.summary.SummarySentenceConstants.NEW_LINE
 import org.utbot.summary.analysis.ExecutionStructureAnalysis
 import org.utbot.summary.ast.JimpleToASTMap
+import org.utbot.summary.ast.ParsedSourcesCache
 import org.utbot.summary.ast.SourceCodeParser
 import org.utbot.summary.comment.cluster.SymbolicExecutionClusterCommentBuilder
 import org.utbot.summary.comment.classic.symbolic.SimpleCommentBuilder
 import org.utbot.summary.name.SimpleNameBuilder
 import java.io.File
 import java.nio.file.Path
+import java.util.concurrent.Executors
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlinx.coroutines.async
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.runBlocking
 import mu.KotlinLogging
 import org.utbot.common.measureTime
 import org.utbot.common.info
@@ -24,9 +31,11 @@ import org.utbot.framework.UtSettings.enableJavaDocGeneration
 import org.utbot.framework.UtSettings.useDisplayNameArrowStyle
 import org.utbot.framework.UtSettings.enableDisplayNameGeneration
 import org.utbot.framework.UtSettings.enableTestNamesGeneration
+import org.utbot.framework.UtSettings.summarizationThreadsCount
 import org.utbot.framework.UtSettings.summaryGenerationType
 import org.utbot.framework.UtSettings.useCustomJavaDocTags
 import org.utbot.framework.plugin.api.util.isConstructor
+import org.utbot.framework.plugin.api.util.UtContext
 import org.utbot.framework.plugin.api.util.jClass
 import org.utbot.fuzzer.FuzzedMethodDescription
 import org.utbot.fuzzer.FuzzedValue
@@ -38,22 +47,46 @@ import soot.SootMethod
 
 private val logger = KotlinLogging.logger {}
 
-fun Collection<UtMethodTestSet>.summarizeAll(searchDirectory: Path, sourceFile: File?): List<UtMethodTestSet> = logger.info().measureTime({
+/**
+ * Summarizes the test sets, the [sourcesCache] can be shared by several calls for test sets of the same classes.
+ */
+fun Collection<UtMethodTestSet>.summarizeAll(
+    searchDirectory: Path,
+    sourceFile: File?,
+    sourcesCache: ParsedSourcesCache = ParsedSourcesCache(),
+): List<UtMethodTestSet> = logger.info().measureTime({
     "----------------------------------------------------------------------------------------\n" +
     "-------------------Summarization started for ${this.size} test cases--------------------\n" +
     "----------------------------------------------------------------------------------------"
     }) {
-    this.map {
-        it.summarizeOne(searchDirectory, sourceFile)
+    val threadsCount = summarizationThreadsCount.coerceAtMost(this.size)
+    if (threadsCount <= 1) {
+        this.map {
+            it.summarizeOne(searchDirectory, sourceFile, sourcesCache)
+        }
+    } else {
+        // class loader of the classes under test is required to find their source files
+        val currentUtContext = UtContext.currentContext() ?: EmptyCoroutineContext
+        Executors.newFixedThreadPool(threadsCount).asCoroutineDispatcher().use { dispatcher ->
+            runBlocking(dispatcher + currentUtContext) {
+                this@summarizeAll.map {
+                    async { it.summarizeOne(searchDirectory, sourceFile, sourcesCache) }
+                }.awaitAll()
+            }
+        }
     }
 }
 
-private fun UtMethodTestSet.summarizeOne(searchDirectory: Path, sourceFile: File?): UtMethodTestSet = logger.info().measureTime({ "Summarization for ${this.method}"} ){
+private fun UtMethodTestSet.summarizeOne(
+    searchDirectory: Path,
+    sourceFile: File?,
+    sourcesCache: ParsedSourcesCache
+): UtMethodTestSet = logger.info().measureTime({ "Summarization for ${this.method}"} ){
     if (summaryGenerationType == NONE) return this
 
     val sourceFileToAnalyze = sourceFile
         ?: when (summaryGenerationType) {
-            FULL -> Instrumenter.adapter.computeSourceFileByClass(this.method.classId.jClass, searchDirectory)
+            FULL -> sourcesCache.findSourceFile(this.method.classId.jClass, searchDirectory)
             LIGHT,
             NONE -> null
         }
@@ -62,13 +95,13 @@ private fun UtMethodTestSet.summarizeOne(searchDirectory: Path, sourceFile: File
 
     // HACK: we avoid calling [invokeDescriptions] method to save time, it is useless in Contest
     val invokeDescriptions = when (summaryGenerationType) {
-        FULL -> invokeDescriptions(this, searchDirectory)
+        FULL -> invokeDescriptions(this, searchDirectory, sourcesCache)
         LIGHT,
         NONE -> emptyList()
     }
 
     // every cluster has summary and list of executions
-    val executionClusters = Summarization(sourceFileToAnalyze, invokeDescriptions).fillSummaries(this)
+    val executionClusters = Summarization(sourceFileToAnalyze, invokeDescriptions, sourcesCache).fillSummaries(this)
     val updatedExecutions = executionClusters.flatMap { it.executions }
     var pos = 0
     val clustersInfo = executionClusters.map {
@@ -83,7 +116,11 @@ private fun UtMethodTestSet.summarizeOne(searchDirectory: Path, sourceFile: File
         ) // TODO: looks weird and don't create the real copy
 }
 
-open class Summarization(val sourceFile: File?, val invokeDescriptions: List<InvokeDescription>) {
+open class Summarization(
+    val sourceFile: File?,
+    val invokeDescriptions: List<InvokeDescription>,
+    private val sourcesCache: ParsedSourcesCache? = null
+) {
     private val tagGenerator = TagGenerator()
     private val jimpleBodyAnalysis = ExecutionStructureAnalysis()
 
@@ -372,7 +409,7 @@ open class Summarization(val sourceFile: File?, val invokeDescriptions: List<Inv
         }
 
         if (sourceFile != null && sourceFile.exists()) {
-            val methodUnderTestAST = SourceCodeParser(sourceFile, testSet).methodAST
+            val methodUnderTestAST = SourceCodeParser(sourceFile, testSet, sourcesCache).methodAST
 
             if (methodUnderTestAST == null) {
                 logger.debug { "Couldn't parse source file with path ${sourceFile.absolutePath} of method under test ${testSet.method.name}." }
@@ -419,7 +456,11 @@ private fun makeDiverseExecutions(testSet: UtMethodTestSet) {
     }
 }
 
-private fun invokeDescriptions(testSet: UtMethodTestSet, searchDirectory: Path): List<InvokeDescription> {
+private fun invokeDescriptions(
+    testSet: UtMethodTestSet,
+    searchDirectory: Path,
+    sourcesCache: ParsedSourcesCache
+): List<InvokeDescription> {
     val sootInvokes =
         testSet.executions.filterIsInstance<UtSymbolicExecution>().flatMap { it.path.invokeJimpleMethods() }.toSet()
 
@@ -427,7 +468,7 @@ private fun invokeDescriptions(testSet: UtMethodTestSet, searchDirectory: Path):
         //TODO(SAT-1170)
         .filterNot { "\$lambda" in it.declaringClass.name }
         .mapNotNull { sootMethod ->
-            val methodFile = Instrumenter.adapter.computeSourceFileByNameAndPackage(
+            val methodFile = sourcesCache.findSourceFile(
                 sootMethod.declaringClass.name,
                 sootMethod.declaringClass.javaPackageName.replace(".", File.separator),
                 searchDirectory
@@ -435,7 +476,7 @@ private fun invokeDescriptions(testSet: UtMethodTestSet, searchDirectory: Path):
 
             if (methodFile != null && methodFile.exists()) {
                 val ast = methodFile.let {
-                    SourceCodeParser(sootMethod, it).methodAST
+                    SourceCodeParser(sootMethod, it, sourcesCache).methodAST
                 }
                 if (ast != null) InvokeDescription(sootMethod, ast) else null
             } else {
@@ -4,9 +4,7 @@ import org.utbot.framework.plugin.api.Step
 import org.utbot.framework.plugin.api.UtSymbolicExecution
 import org.utbot.summary.tag.BasicTypeTag
 import org.utbot.summary.tag.getBasicTypeTag
-import soot.SootClass
 import soot.SootMethod
-import soot.jimple.JimpleBody
 import soot.jimple.internal.JAssignStmt
 import soot.jimple.internal.JInvokeStmt
 
@@ -50,17 +48,3 @@ fun numberDiverseExecutionsBasedOnPaths(executions: List<UtSymbolicExecution>) =
         current.path.isEqualPath(other.path)
     }.not()
 }
-
-/*
- * Copy from framework -> Extensions.kt
- */
-fun SootClass.adjustLevel(level: Int) {
-    if (resolvingLevel() < level) {
-        setResolvingLevel(level)
-    }
-}
-
-fun SootMethod.jimpleBody(): JimpleBody {
-    declaringClass.adjustLevel(SootClass.BODIES)
-    return retrieveActiveBody() as JimpleBody
-}
\ No newline at end of file
@@ -2,7 +2,7 @@ package org.utbot.summary.analysis
 
 import org.utbot.summary.InvokeDescription
 import org.utbot.summary.TraceTagCluster
-import org.utbot.summary.jimpleBody
+import org.utbot.framework.util.jimpleBody
 import org.utbot.summary.tag.BasicTypeTag
 import org.utbot.summary.tag.StatementTag
 import org.utbot.summary.tag.TraceTag
@@ -0,0 +1,64 @@
+package org.utbot.summary.ast
+
+import com.github.javaparser.JavaParser
+import com.github.javaparser.ParseResult
+import com.github.javaparser.ParserConfiguration
+import com.github.javaparser.ast.CompilationUnit
+import org.utbot.instrumentation.instrumentation.instrumenter.Instrumenter
+import java.io.File
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Source files found and parsed during summarization of a group of test sets.
+ *
+ * The same source files are searched for and parsed for many test sets: the file of the class under test
+ * and the files of the methods invoked from it, so they are cached per summarization run.
+ *
+ * Files are parsed without comments, so the parsed trees are not modified by [JimpleToASTMap]
+ * and can be read by several test sets concurrently.
+ */
+class ParsedSourcesCache {
+    private class ParsedFile(val lastModified: Long, val result: ParseResult<CompilationUnit>)
+
+    private val parsedFiles = ConcurrentHashMap<File, ParsedFile>()
+    private val foundFiles = ConcurrentHashMap<Triple<String, String?, Path>, FoundFile>()
+
+    private class FoundFile(val file: File?)
+
+    /**
+     * Returns the result of parsing of the [sourceFile], it is parsed again if the file has been modified.
+     */
+    fun parse(sourceFile: File): ParseResult<CompilationUnit> {
+        val lastModified = sourceFile.lastModified()
+        return parsedFiles.compute(sourceFile.absoluteFile) { _, parsed ->
+            parsed?.takeIf { it.lastModified == lastModified }
+                ?: ParsedFile(lastModified, JavaParser(parserConfiguration).parse(sourceFile))
+        }!!.result
+    }
+
+    /**
+     * Finds the source file of the class like [Instrumenter.adapter] does.
+     */
+    fun findSourceFile(className: String, packageName: String?, searchDirectory: Path): File? =
+        foundFiles.computeIfAbsent(Triple(className, packageName, searchDirectory)) {
+            FoundFile(Instrumenter.adapter.computeSourceFileByNameAndPackage(className, packageName, searchDirectory))
+        }.file
+
+    /**
+     * Finds the source file of the [clazz] like [Instrumenter.adapter] does.
+     */
+    fun findSourceFile(clazz: Class<*>, searchDirectory: Path): File? =
+        foundFiles.computeIfAbsent(Triple(clazz.name, CLASS_KEY, searchDirectory)) {
+            FoundFile(Instrumenter.adapter.computeSourceFileByClass(clazz, searchDirectory))
+        }.file
+
+    companion object {
+        private val parserConfiguration = ParserConfiguration().setAttributeComments(false)
+
+        /**
+         * Separates files found by class from files found by name and package, because adapters can find them differently.
+         */
+        private const val CLASS_KEY = "\$class"
+    }
+}
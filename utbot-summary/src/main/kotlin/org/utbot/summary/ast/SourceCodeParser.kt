@@ -8,6 +8,7 @@ import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration
 import com.github.javaparser.ast.body.MethodDeclaration
 import com.github.javaparser.ast.body.TypeDeclaration
 import org.utbot.framework.plugin.api.UtMethodTestSet
+import org.utbot.framework.util.jimpleBody
 import java.io.File
 import kotlin.math.abs
 import soot.SootMethod
@@ -21,9 +22,8 @@ class SourceCodeParser {
     private val cu: ParseResult<CompilationUnit>
     var methodAST: MethodDeclaration? = null
 
-    constructor(sourceFile: File, testSet: UtMethodTestSet) {
-        val parser = JavaParser()
-        cu = parser.parse(sourceFile)
+    constructor(sourceFile: File, testSet: UtMethodTestSet, sourcesCache: ParsedSourcesCache? = null) {
+        cu = sourcesCache?.parse(sourceFile) ?: JavaParser().parse(sourceFile)
         val className = testSet.method.classId.simpleName
         val methodName = testSet.method.name
 
@@ -32,16 +32,15 @@ class SourceCodeParser {
         if (className != null && maxLineNumber != null) findMethod(className, methodName, maxLineNumber)
     }
 
-    constructor(sootMethod: SootMethod, sourceFile: File) {
+    constructor(sootMethod: SootMethod, sourceFile: File, sourcesCache: ParsedSourcesCache? = null) {
         val methodName = sootMethod.name
         val className = sootMethod.declaredClassName
 
         val maxLineNumber =
             if (sootMethod.hasActiveBody())
-                sootMethod.retrieveActiveBody()?.units?.maxOfOrNull { it.javaSourceStartLineNumber }
+                sootMethod.jimpleBody().units.maxOfOrNull { it.javaSourceStartLineNumber }
             else null
-        val parser = JavaParser()
-        cu = parser.parse(sourceFile)
+        cu = sourcesCache?.parse(sourceFile) ?: JavaParser().parse(sourceFile)
         if (maxLineNumber != null) findMethod(className, methodName, maxLineNumber)
     }
 
@@ -2,40 +2,69 @@ package org.utbot.summary.clustering
 
 import org.utbot.framework.plugin.api.Step
 import org.utbot.summary.clustering.dbscan.Metric
+import kotlin.math.abs
+import kotlin.math.floor
 
 /** The existing implementation of [Metric] for the space of [Step]. */
 class ExecutionMetric : Metric<Iterable<Step>> {
     /**
      * Minimum Edit Distance
+     *
+     * Only the cells of the distance matrix within [limit] from the diagonal are computed, because the distance
+     * is not less than the difference of indices. Two rows of the matrix are kept and the computation stops
+     * when all the cells of a row exceed [limit], then `limit + 1` is returned.
      */
-    private fun compareTwoPaths(path1: Iterable<Step>, path2: Iterable<Step>): Double {
-        require(path1.count() > 0) { "Two paths can not be compared: path1 is empty!"}
-        require(path2.count() > 0) { "Two paths can not be compared: path2 is empty!"}
+    private fun compareTwoPaths(path1: Iterable<Step>, path2: Iterable<Step>, limit: Int): Int {
+        val steps1 = path1 as? List<Step> ?: path1.toList()
+        val steps2 = path2 as? List<Step> ?: path2.toList()
+        require(steps1.isNotEmpty()) { "Two paths can not be compared: path1 is empty!"}
+        require(steps2.isNotEmpty()) { "Two paths can not be compared: path2 is empty!"}
 
-        val distances = Array(path1.count()) { i -> Array(path2.count()) { j -> i + j } }
+        val rows = steps1.size
+        val columns = steps2.size
+        val exceeded = limit + 1
+        if (abs(rows - columns) > limit) {
+            return exceeded
+        }
 
-        for (i in 1 until path1.count()) {
-            for (j in 1 until path2.count()) {
-                val stmt1 = path1.elementAt(i)
-                val stmt2 = path2.elementAt(j)
+        var previous = IntArray(columns) { if (it <= limit) it else exceeded }
+        var current = IntArray(columns)
 
-                val d1 = distances[i - 1][j] + 1 // path 1 insert ->  diff stmt from path2
-                val d2 = distances[i][j - 1] + 1 // path 2 insert -> diff stmt from path1
-                val d3 = distances[i - 1][j - 1] + distance(stmt1, stmt2) // aligned or diff
-                distances[i][j] = minOf(d1, d2, d3)
+        for (i in 1 until rows) {
+            val from = maxOf(1, i - limit)
+            val to = minOf(columns - 1, i + limit)
+            current[0] = if (i <= limit) i else exceeded
+            if (from > 1) {
+                // the cell is outside the band and is read as the left one by the first computed cell
+                current[from - 1] = exceeded
             }
-        }
+            var rowMinimum = current[from - 1]
+
+            val stmt1 = steps1[i]
+            for (j in from..to) {
+                val stmt2 = steps2[j]
 
-        if (distances.isNotEmpty()) {
-            val last = distances.last()
-            if (last.isNotEmpty()) {
-                return last.last().toDouble()
-            } else {
-                throw IllegalStateException("Last row in the distance matrix has 0 columns. It should contain more or equal 1 column.")
+                val d1 = previous[j] + 1 // path 1 insert ->  diff stmt from path2
+                val d2 = current[j - 1] + 1 // path 2 insert -> diff stmt from path1
+                val d3 = previous[j - 1] + distance(stmt1, stmt2) // aligned or diff
+                val d = minOf(d1, d2, d3, exceeded)
+                current[j] = d
+                rowMinimum = minOf(rowMinimum, d)
+            }
+            if (to + 1 < columns) {
+                // the cell is outside the band and is read as the upper one by the next row
+                current[to + 1] = exceeded
+            }
+            if (rowMinimum > limit) {
+                return exceeded
             }
-        } else {
-            throw IllegalStateException("Distance matrix has 0 rows. It should contain more or equal 1 row.")
+
+            val swap = previous
+            previous = current
+            current = swap
         }
+
+        return previous[columns - 1]
     }
 
     private fun distance(stmt1: Step, stmt2: Step): Int {
@@ -43,6 +72,11 @@ class ExecutionMetric : Metric<Iterable<Step>> {
     }
 
     override fun compute(object1: Iterable<Step>, object2: Iterable<Step>): Double {
-        return compareTwoPaths(object1, object2)
+        return compareTwoPaths(object1, object2, Int.MAX_VALUE - 2).toDouble()
+    }
+
+    override fun computeWithin(object1: Iterable<Step>, object2: Iterable<Step>, limit: Double): Double {
+        val intLimit = if (limit >= Int.MAX_VALUE - 2) Int.MAX_VALUE - 2 else floor(limit).toInt()
+        return compareTwoPaths(object1, object2, intLimit).toDouble()
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,7 @@ import org.utbot.framework.plugin.api.Step
 import org.utbot.framework.plugin.api.UtSymbolicExecution
 import org.utbot.summary.DBSCANClusteringConstants
 import org.utbot.summary.clustering.dbscan.DBSCANTrainer
-import org.utbot.summary.clustering.dbscan.neighbor.LinearRangeQuery
+import org.utbot.summary.clustering.dbscan.neighbor.VantagePointTreeRangeQuery
 
 class MatrixUniqueness(executions: List<UtSymbolicExecution>) {
 
@@ -91,7 +91,7 @@ class MatrixUniqueness(executions: List<UtSymbolicExecution>) {
                 eps = radius,
                 minSamples = minPts,
                 metric = ExecutionMetric(),
-                rangeQuery = LinearRangeQuery()
+                rangeQuery = VantagePointTreeRangeQuery()
             )
             val dbscanModel = dbscan.fit(executionPaths)
             val clusterLabels = dbscanModel.clusterLabels
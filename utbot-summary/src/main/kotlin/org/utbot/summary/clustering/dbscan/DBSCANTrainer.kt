@@ -3,6 +3,7 @@ package org.utbot.summary.clustering.dbscan
 import org.utbot.summary.clustering.dbscan.neighbor.LinearRangeQuery
 import org.utbot.summary.clustering.dbscan.neighbor.Neighbor
 import org.utbot.summary.clustering.dbscan.neighbor.RangeQuery
+import org.utbot.summary.clustering.dbscan.neighbor.VantagePointTreeRangeQuery
 
 private const val NOISE = Int.MIN_VALUE
 private const val CLUSTER_PART = -2
@@ -11,7 +12,8 @@ private const val UNDEFINED = -1
 /**
  * DBSCAN algorithm implementation.
  *
- * NOTE: The existing implementation with the [LinearRangeQuery] has a complexity O(n^2) in the worst case.
+ * NOTE: The implementation with the [LinearRangeQuery] has a complexity O(n^2) in the worst case,
+ * the [VantagePointTreeRangeQuery] computes fewer distances if the data is not concentrated in one dense cluster.
  *
  * @property [eps] The radius of search. Should be more than 0.0.
  * @property [minSamples] The minimum number of samples to form the cluster. Should be more than 0.
@@ -31,10 +33,7 @@ class DBSCANTrainer<T>(val eps: Float, val minSamples: Int, val metric: Metric<T
     fun fit(data: Array<T>): DBSCANModel {
         require(data.isNotEmpty()) { "Nothing to learn, data is empty." }
 
-        if (rangeQuery is LinearRangeQuery) {
-            rangeQuery.data = data
-            rangeQuery.metric = metric
-        } // TODO: could be refactored if we add some new variants of RangeQuery
+        rangeQuery.index(data, metric)
 
         val labels = IntArray(data.size) { UNDEFINED }
 
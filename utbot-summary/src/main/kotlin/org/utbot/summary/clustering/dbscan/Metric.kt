@@ -3,4 +3,12 @@ package org.utbot.summary.clustering.dbscan
 interface Metric<T> {
     /** Computes the distance between [object1] and [object2] according the given metric. */
     fun compute(object1: T, object2: T): Double
+
+    /**
+     * Computes the distance between [object1] and [object2] if it does not exceed [limit],
+     * otherwise returns any value greater than [limit].
+     *
+     * Implementations can stop the computation as soon as the [limit] is exceeded.
+     */
+    fun computeWithin(object1: T, object2: T, limit: Double): Double = compute(object1, object2)
 }
@@ -12,10 +12,15 @@ class LinearRangeQuery<K> : RangeQuery<K> {
     lateinit var data: Array<K>
     lateinit var metric: Metric<K>
 
+    override fun index(data: Array<K>, metric: Metric<K>) {
+        this.data = data
+        this.metric = metric
+    }
+
     override fun findNeighbors(queryKey: K, radius: Float): List<Neighbor<K>> {
         val neighbors = mutableListOf<Neighbor<K>>()
         data.forEachIndexed { index, point ->
-            val distance = metric.compute(queryKey, point)
+            val distance = metric.computeWithin(queryKey, point, radius.toDouble())
             if (distance <= radius && queryKey != point) {
                 neighbors.add(Neighbor(point, index, distance))
             }
@@ -1,7 +1,12 @@
 package org.utbot.summary.clustering.dbscan.neighbor
 
+import org.utbot.summary.clustering.dbscan.Metric
+
 /** This is a basic interface for our approaches to ask the set of all points return the subset of the closest neighbors. */
 interface RangeQuery<K> {
+    /** Prepares the search among the points of [data] with distances computed by [metric]. */
+    fun index(data: Array<K>, metric: Metric<K>)
+
     /** Returns the list of the closest neighbors in the [radius] from the [queryKey]. */
     fun findNeighbors(queryKey: K, radius: Float): List<Neighbor<K>>
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package org.utbot.summary.clustering.dbscan.neighbor
+
+import org.utbot.summary.clustering.dbscan.Metric
+
+/**
+ * This approach implements search in a vantage-point tree.
+ *
+ * Every node of the tree splits its points by the distance to the vantage point into the inner and the outer halves,
+ * so a query skips the half that cannot contain points in the radius according to the triangle inequality.
+ * The tree is built with O(n log n) distance computations, and a query computes O(log n) of them
+ * if the radius is small comparing to the distances between points, but O(n) in the worst case.
+ *
+ * The tree is stored in arrays: the segment of [points] of every node starts with its vantage point,
+ * followed by the inner and the outer halves.
+ *
+ * The neighbors are returned in the same order as [LinearRangeQuery] does.
+ *
+ * @property [leafSize] The maximum number of points checked one by one without further splitting.
+ */
+class VantagePointTreeRangeQuery<K>(private val leafSize: Int = 8) : RangeQuery<K> {
+    private lateinit var data: Array<K>
+    private lateinit var metric: Metric<K>
+
+    /** Indices of the points in [data] in the order of the tree segments. */
+    private var points = IntArray(0)
+
+    /** The maximum distance from a vantage point to the points of its inner half. */
+    private var innerRadii = DoubleArray(0)
+
+    /** The minimum distance from a vantage point to the points of its outer half. */
+    private var outerRadii = DoubleArray(0)
+
+    init {
+        require(leafSize >= 2) { "Leaf size should be at least 2: $leafSize" }
+    }
+
+    override fun index(data: Array<K>, metric: Metric<K>) {
+        this.data = data
+        this.metric = metric
+        points = IntArray(data.size) { it }
+        innerRadii = DoubleArray(data.size)
+        outerRadii = DoubleArray(data.size)
+        build(0, data.size)
+    }
+
+    override fun findNeighbors(queryKey: K, radius: Float): List<Neighbor<K>> {
+        val neighbors = mutableListOf<Neighbor<K>>()
+        search(0, points.size, queryKey, radius.toDouble(), neighbors)
+        neighbors.sortBy { it.index }
+        return neighbors
+    }
+
+    private fun build(from: Int, to: Int) {
+        if (to - from <= leafSize) {
+            return
+        }
+
+        val vantagePoint = data[points[from]]
+        val sorted = (from + 1 until to)
+            .map { points[it] to metric.compute(vantagePoint, data[points[it]]) }
+            .sortedBy { it.second }
+        sorted.forEachIndexed { i, (point, _) -> points[from + 1 + i] = point }
+
+        val middle = middle(from, to)
+        innerRadii[from] = sorted[middle - from - 2].second
+        outerRadii[from] = sorted[middle - from - 1].second
+
+        build(from + 1, middle)
+        build(middle, to)
+    }
+
+    private fun search(from: Int, to: Int, queryKey: K, radius: Double, neighbors: MutableList<Neighbor<K>>) {
+        if (to - from <= leafSize) {
+            for (i in from until to) {
+                val distance = metric.computeWithin(queryKey, data[points[i]], radius)
+                addIfNeighbor(points[i], queryKey, distance, radius, neighbors)
+            }
+            return
+        }
+
+        val innerRadius = innerRadii[from]
+        val outerRadius = outerRadii[from]
+        // the exact distance is required only to decide which halves should be searched
+        val limit = maxOf(innerRadius + radius, outerRadius - radius)
+        val distance = metric.computeWithin(queryKey, data[points[from]], limit)
+        addIfNeighbor(points[from], queryKey, distance, radius, neighbors)
+
+        val middle = middle(from, to)
+        if (distance - radius <= innerRadius) {
+            search(from + 1, middle, queryKey, radius, neighbors)
+        }
+        if (distance + radius >= outerRadius) {
+            search(middle, to, queryKey, radius, neighbors)
+        }
+    }
+
+    private fun addIfNeighbor(index: Int, queryKey: K, distance: Double, radius: Double, neighbors: MutableList<Neighbor<K>>) {
+        val point = data[index]
+        if (distance <= radius && queryKey != point) {
+            neighbors.add(Neighbor(point, index, distance))
+        }
+    }
+
+    /** Returns the start of the outer half of the node segment, the inner half is never empty. */
+    private fun middle(from: Int, to: Int): Int = from + 1 + (to - from) / 2
+}
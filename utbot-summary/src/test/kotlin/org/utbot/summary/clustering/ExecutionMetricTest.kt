@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Test
 
 import org.utbot.framework.plugin.api.Step
+import soot.jimple.Jimple
 import java.lang.IllegalArgumentException
 
 internal class ExecutionMetricTest {
@@ -23,4 +24,17 @@ internal class ExecutionMetricTest {
             exception.message
         )
     }
-}
\ No newline at end of file
+
+    @Test
+    fun computeWithinLimit() {
+        val executionMetric = ExecutionMetric()
+        val stmts = List(4) { Jimple.v().newNopStmt() }
+        val object1 = listOf(0, 1, 2, 3, 1, 2).map { Step(stmts[it], depth = 0, decision = 0) }
+        val object2 = listOf(0, 2, 3, 1, 2, 2, 3).map { Step(stmts[it], depth = 0, decision = 0) }
+
+        Assertions.assertEquals(3.0, executionMetric.compute(object1, object2))
+        Assertions.assertEquals(3.0, executionMetric.computeWithin(object1, object2, 3.0))
+        Assertions.assertTrue(executionMetric.computeWithin(object1, object2, 2.5) > 2.5)
+        Assertions.assertTrue(executionMetric.computeWithin(object1, object2, 0.0) > 0.0)
+    }
+}
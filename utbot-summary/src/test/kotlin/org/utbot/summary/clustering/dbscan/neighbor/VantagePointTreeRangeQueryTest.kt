@@ -0,0 +1,37 @@
+package org.utbot.summary.clustering.dbscan.neighbor
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import org.utbot.summary.clustering.dbscan.Metric
+import kotlin.math.abs
+import kotlin.random.Random
+
+internal class VantagePointTreeRangeQueryTest {
+    /** Helper [Metric] interface implementation, emulates the Manhattan distance on a grid. */
+    class TestManhattanMetric : Metric<Pair<Int, Int>> {
+        override fun compute(object1: Pair<Int, Int>, object2: Pair<Int, Int>): Double =
+            (abs(object1.first - object2.first) + abs(object1.second - object2.second)).toDouble()
+    }
+
+    @ParameterizedTest(name = "seed{arguments}")
+    @ValueSource(ints = [0, 7, 42, 1234])
+    fun `finds the same neighbors as linear search`(seed: Int) {
+        val random = Random(seed)
+        // duplicated points are expected, they are not neighbors of each other
+        val data = Array(300) { random.nextInt(20) to random.nextInt(20) }
+        val metric = TestManhattanMetric()
+
+        val linear = LinearRangeQuery<Pair<Int, Int>>().apply { index(data, metric) }
+        val tree = VantagePointTreeRangeQuery<Pair<Int, Int>>(leafSize = 4).apply { index(data, metric) }
+
+        for (radius in listOf(0.5f, 1f, 3f, 10f, 40f)) {
+            for (point in data) {
+                assertEquals(
+                    linear.findNeighbors(point, radius).map { it.index },
+                    tree.findNeighbors(point, radius).map { it.index }
+                )
+            }
+        }
+    }
+}